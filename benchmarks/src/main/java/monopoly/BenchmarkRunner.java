@@ -0,0 +1,26 @@
+package monopoly;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * This class runs the benchmarks with JMH's GC profiler turned on, so every result also shows how much memory was
+ * allocated per operation. Any normal JMH command line arguments can be given, for example a regular expression to
+ * only run some of the benchmarks, or "-rf json" to save the results for comparing against a later run.
+ *
+ * @author Timothy Blamires
+ * @version 10/17/26
+ */
+public class BenchmarkRunner {
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        new Runner(new OptionsBuilder()
+                .parent(commandLine)
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,60 @@
+package monopoly;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This benchmark measures the cost of drawing a card from the Chance and Community Chest decks, including the cost of
+ * reshuffling the deck every time it runs out. The get out of jail free cards are used as soon as they are drawn so
+ * that the decks always cycle through all 16 cards.
+ *
+ * @author Timothy Blamires
+ * @version 10/17/26
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CardBenchmark {
+
+    private ChanceBoardObject chance;
+    private CommunityChestBoardObject communityChest;
+
+    @Setup
+    public void setup() {
+        RandomSource rng = new RandomSource(RandomSource.DEFAULT_ALGORITHM, 42);
+        chance = new ChanceBoardObject(rng);
+        communityChest = new CommunityChestBoardObject(rng);
+        JailBoardObject jail = new JailBoardObject(false, chance, communityChest);
+        chance.setJail(jail);
+        communityChest.setJail(jail);
+    }
+
+    @Benchmark
+    public int chanceDraw() {
+        int position = chance.move(3, 4, 7);
+        if(chance.hasGetOutOfJailCard())
+            chance.useGetOutOfJailCard();
+        return position;
+    }
+
+    @Benchmark
+    public int communityChestDraw() {
+        int position = communityChest.move(1, 1, 2);
+        if(communityChest.hasGetOutOfJailCard())
+            communityChest.useGetOutOfJailCard();
+        return position;
+    }
+}
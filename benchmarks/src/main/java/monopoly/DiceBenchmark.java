@@ -0,0 +1,75 @@
+package monopoly;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This benchmark measures the cost of rolling both dice for one turn, for each of the random number generators, and
+ * compares it against the two calls to java.util.Random that the simulation originally made. The DiceTable benchmarks
+ * measure a roll through the table as the simulation makes it, for fair dice, fair dice with a speed die, and loaded
+ * dice drawn with the alias method.
+ *
+ * @author Timothy Blamires
+ * @version 10/17/26
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DiceBenchmark {
+
+    @Param({"L64X128MixRandom", "Xoshiro256PlusPlus", "SplittableRandom", "Random"})
+    public String algorithm;
+
+    private RandomSource rng;
+    private Random random;
+    private DiceTable speedDie;
+    private DiceTable loaded;
+
+    @Setup
+    public void setup() {
+        rng = new RandomSource(algorithm, 42);
+        random = new Random(42);
+        speedDie = new DiceTable(new int[]{1, 1, 1, 1, 1, 1}, new int[]{1, 2, 3, 0, 0, 0});
+        loaded = new DiceTable(new int[]{1, 1, 1, 1, 1, 2}, new int[0]);
+    }
+
+    @Benchmark
+    public int rollDice() {
+        return rng.rollDice();
+    }
+
+    @Benchmark
+    public int standardTable() {
+        return DiceTable.STANDARD.roll(rng);
+    }
+
+    @Benchmark
+    public int speedDieTable() {
+        return speedDie.roll(rng);
+    }
+
+    @Benchmark
+    public int loadedTable() {
+        return loaded.roll(rng);
+    }
+
+    @Benchmark
+    public int twoNextIntCalls() {
+        return random.nextInt(1, 7) * 8 + random.nextInt(1, 7);
+    }
+}
@@ -0,0 +1,78 @@
+package monopoly;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This benchmark measures the cost of finding out what kind of space the player landed on, using the flat action table
+ * of the Board, and compares it against the HashMap lookup that the simulation originally used.
+ *
+ * @author Timothy Blamires
+ * @version 10/17/26
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DispatchBenchmark {
+
+    //The number of landings looked up by each call of the benchmark
+    private static final int LANDINGS = 1024;
+
+    private int[] positions;
+    private byte[] actions;
+    private Map<Integer, Byte> map;
+
+    @Setup
+    public void setup() {
+        //Landing positions spread over the whole board, like a player moving around it
+        RandomSource rng = new RandomSource(RandomSource.DEFAULT_ALGORITHM, 42);
+        positions = new int[LANDINGS];
+        for (int i = 0; i < LANDINGS; i++) {
+            positions[i] = rng.nextInt(40);
+        }
+
+        actions = Board.STANDARD.actions;
+        map = new HashMap<>();
+        for (int i = 0; i < actions.length; i++) {
+            if(actions[i] != Board.NONE)
+                map.put(i, actions[i]);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LANDINGS)
+    public int actionTable() {
+        int sum = 0;
+        for (int position : positions) {
+            sum += actions[position];
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LANDINGS)
+    public int hashMap() {
+        int sum = 0;
+        for (int position : positions) {
+            if(map.containsKey(position))
+                sum += map.get(position);
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,55 @@
+package monopoly;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This benchmark measures the cost of a turn in jail. The player is sent back to jail whenever they get out, and the
+ * dice are taken from a table of every possible roll so that doubles are rolled as often as in a real game.
+ *
+ * @author Timothy Blamires
+ * @version 10/17/26
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JailBenchmark {
+
+    //"a" or "b"
+    @Param({"a", "b"})
+    public String strategy;
+
+    private JailBoardObject jail;
+    private int roll;
+
+    @Setup
+    public void setup() {
+        RandomSource rng = new RandomSource(RandomSource.DEFAULT_ALGORITHM, 42);
+        jail = new JailBoardObject(strategy.equals("b"), new ChanceBoardObject(rng), new CommunityChestBoardObject(rng));
+        roll = 0;
+    }
+
+    @Benchmark
+    public int jailTurn() {
+        if(!jail.isInJail())
+            jail.sentToJail();
+
+        //Going through the 36 rolls in an order that does not repeat every 6 turns
+        roll = (roll + 7) % 36;
+        return jail.move(roll / 6 + 1, roll % 6 + 1, 10);
+    }
+}
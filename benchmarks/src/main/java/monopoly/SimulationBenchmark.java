@@ -0,0 +1,54 @@
+package monopoly;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This benchmark measures the number of turns per second of the whole turn loop, for both jail strategies.
+ *
+ * @author Timothy Blamires
+ * @version 10/17/26
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SimulationBenchmark {
+
+    //The number of turns played by each call of the benchmark
+    private static final int TURNS = 10_000;
+
+    //"a" or "b"
+    @Param({"a", "b"})
+    public String strategy;
+
+    private MonopolySimulation simulation;
+    private long turns;
+
+    @Setup
+    public void setup() {
+        simulation = new MonopolySimulation(strategy.equals("b"), new RandomSource(RandomSource.DEFAULT_ALGORITHM, 42));
+        turns = 0;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TURNS)
+    public void turns() {
+        turns += TURNS;
+        simulation.playUntil(turns);
+    }
+}
@@ -0,0 +1,81 @@
+package monopoly;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class passes results on to another ResultSink using a background thread, so that writing the results never
+ * stalls the simulation. Results are handed over in the order they arrive, and closing this sink waits until all of
+ * them have been written before closing the sink it wraps.
+ *
+ * @author Timothy Blamires
+ * @version 10/17/26
+ */
+public class AsyncResultSink implements ResultSink {
+
+    //The sink that actually handles the results
+    private final ResultSink sink;
+
+    //A single thread so that the results are handled in order
+    private final ExecutorService writer;
+
+    //The first error thrown by the wrapped sink, reported when this sink is closed
+    private volatile RuntimeException error;
+
+    /**
+     * This method builds an AsyncResultSink.
+     * @param sink - the sink that the results are passed to on the background thread
+     */
+    public AsyncResultSink(ResultSink sink) {
+        this.sink = sink;
+        writer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "result-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void accept(Snapshot snapshot) {
+        writer.execute(() -> {
+            try {
+                sink.accept(snapshot);
+            } catch (RuntimeException e) {
+                if(error == null)
+                    error = e;
+            }
+        });
+    }
+
+    @Override
+    public void summary(String text) {
+        writer.execute(() -> {
+            try {
+                sink.summary(text);
+            } catch (RuntimeException e) {
+                if(error == null)
+                    error = e;
+            }
+        });
+    }
+
+    /**
+     * This method waits for all the results to be written, then closes the wrapped sink. If the wrapped sink failed to
+     * handle any of the results the error is thrown here.
+     */
+    @Override
+    public void close() {
+        writer.shutdown();
+        try {
+            writer.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } finally {
+            sink.close();
+        }
+        if(error != null)
+            throw error;
+    }
+}
@@ -0,0 +1,113 @@
+package monopoly;
+
+/**
+ * This class estimates how accurate the landing frequencies of a simulation are. Turns in a game are not independent
+ * (where you end one turn depends on where you ended the last), so the turns are split into batches that are long
+ * enough to be close to independent of each other. The fraction of turns ending on each space is worked out for every
+ * batch, and the spread of those fractions gives the standard error of the overall fraction. This is the batch means
+ * method.
+ *
+ * @author Timothy Blamires
+ * @version 10/17/26
+ */
+public class BatchMeans {
+
+    //The number of turns in each batch
+    private final long batchSize;
+
+    //Sum and sum of squares of the fraction of turns ending on each space, one entry per batch added
+    private final double[] sum;
+    private final double[] sumOfSquares;
+
+    //The number of batches added so far
+    private long batches;
+
+    /**
+     * This method builds an empty BatchMeans.
+     * @param squares - the number of spaces on the board
+     * @param batchSize - the number of turns in each batch
+     */
+    public BatchMeans(int squares, long batchSize) {
+        this.batchSize = batchSize;
+        sum = new double[squares];
+        sumOfSquares = new double[squares];
+    }
+
+    /**
+     * This method adds the results of one batch.
+     * @param counts - the number of turns in the batch that ended on each space
+     */
+    void addBatch(long[] counts) {
+        for (int i = 0; i < sum.length; i++) {
+            double fraction = (double) counts[i] / batchSize;
+            sum[i] += fraction;
+            sumOfSquares[i] += fraction * fraction;
+        }
+        batches++;
+    }
+
+    /**
+     * @return - the number of spaces on the board
+     */
+    public int squares() {
+        return sum.length;
+    }
+
+    /**
+     * @return - the number of batches added so far
+     */
+    public long batches() {
+        return batches;
+    }
+
+    /**
+     * @return - the number of turns covered by the batches
+     */
+    public long turns() {
+        return batches * batchSize;
+    }
+
+    /**
+     * @param square - a position on the board
+     * @return - the estimated long run fraction of turns ending on the space
+     */
+    public double mean(int square) {
+        return batches == 0 ? 0 : sum[square] / batches;
+    }
+
+    /**
+     * This method finds the half width of the confidence interval of a space, meaning the true fraction is within
+     * mean +- halfWidth with the given confidence.
+     * @param square - a position on the board
+     * @param confidence - the confidence level, between 0 and 1 (such as 0.95)
+     * @return - the half width of the confidence interval, or infinity if fewer than 2 batches have been added
+     */
+    public double halfWidth(int square, double confidence) {
+        return Statistics.z(confidence) * standardError(square);
+    }
+
+    /**
+     * This method finds the largest confidence interval half width over all the spaces.
+     * @param confidence - the confidence level, between 0 and 1 (such as 0.95)
+     * @return - the largest half width
+     */
+    public double maxHalfWidth(double confidence) {
+        double max = 0;
+        for (int i = 0; i < sum.length; i++) {
+            max = Math.max(max, halfWidth(i, confidence));
+        }
+        return max;
+    }
+
+    /**
+     * This method finds the standard error of the fraction of turns ending on a space, using the sample variance of
+     * the batch fractions.
+     */
+    private double standardError(int square) {
+        if(batches < 2)
+            return Double.POSITIVE_INFINITY;
+        double mean = sum[square] / batches;
+        double variance = Math.max(0, (sumOfSquares[square] - batches * mean * mean) / (batches - 1));
+        return Math.sqrt(variance / batches);
+    }
+}
@@ -0,0 +1,388 @@
+package monopoly;
+
+import java.util.Arrays;
+
+/**
+ * This class simulates thousands of independent single player games at the same time, all moving one turn forward
+ * together. Instead of one set of objects per game, the state of every game (position, doubles rolled in a row, turns
+ * in jail, get out of jail free cards held, and both card decks) is stored in parallel primitive arrays indexed by game
+ * number. Each turn is played in passes over all the games
+ * - the dice for every game are rolled into one array
+ * - every game moves, and games that need more work (in jail, 3 doubles, or landing on a special space) are listed
+ * - the listed games are finished one at a time using the same rules as the MonopolySimulation
+ * - the final position of every game is counted
+ * Most turns only need the second pass, which is a short loop without calls or branches that the JIT can compile
+ * tightly.
+ *
+ * The landing frequencies are added up over all the games, and every game's turn counts as one turn.
+ *
+ * @author Timothy Blamires
+ * @version 10/17/26
+ */
+public class BatchSimulation {
+
+    //Bits used to keep track of which get out of jail free cards each game's player holds
+    private static final int CHANCE_CARD = 1;
+    private static final int COMMUNITY_CHEST_CARD = 2;
+
+    //Decides how every game's player tries to get out of jail
+    private final JailPolicy policy;
+
+    //used as the dice of every game, and to shuffle the card decks
+    private final RandomSource rng;
+
+    //The number of games played together
+    private final int games;
+
+    //The state of every game, indexed by game number. turnsInJail is -1 for games where the player is not in jail
+    private final int[] position;
+    private final int[] doublesInARow;
+    private final int[] turnsInJail;
+    private final int[] cardsHeld;
+
+    //The card decks of every game
+    private final Decks chance;
+    private final Decks communityChest;
+
+    //The dice rolled for every game this turn, and the games that need more than a simple move
+    private final int[] rolls;
+    private final int[] pending;
+
+    //The action code of every board position
+    private final byte[] squareActions;
+
+    //The board and its rules
+    private final Board board;
+    private final int size;
+    private final int jail;
+    private final int doublesToJail;
+
+    //The dice, with the number of spaces moved and 1 if the roll is doubles (0 if not) for every outcome
+    private final DiceTable dice;
+    private final int[] steps;
+    private final int[] doubleRolls;
+
+    //used to keep track of which spots are landed on most frequently, by all games together
+    private final long[] freq;
+    private long turns;
+
+    //Where the results are sent, and when
+    private ResultSink sink;
+    private CheckpointSchedule schedule;
+
+    /**
+     * This method builds a BatchSimulation. Every game starts on GO with freshly shuffled decks.
+     * @param games - the number of games played together
+     * @param policy - Decides how the player of every game tries to get out of jail
+     * @param rng - The random source used as the dice and to shuffle the card decks of every game
+     */
+    public BatchSimulation(int games, JailPolicy policy, RandomSource rng) {
+        this(Board.STANDARD, games, policy, rng);
+    }
+
+    /**
+     * This method builds a BatchSimulation where every game is played on the given board.
+     * @param board - The board, such as Board.STANDARD or a board read with Board.load
+     * @param games - the number of games played together
+     * @param policy - Decides how the player of every game tries to get out of jail
+     * @param rng - The random source used as the dice and to shuffle the card decks of every game
+     */
+    public BatchSimulation(Board board, int games, JailPolicy policy, RandomSource rng) {
+        if(games < 1)
+            throw new IllegalArgumentException("Must play at least one game");
+
+        this.games = games;
+        this.policy = policy;
+        this.rng = rng;
+        this.board = board;
+        size = board.size;
+        jail = board.jail;
+        doublesToJail = board.doublesToJail;
+        dice = board.dice;
+        steps = dice.steps;
+        doubleRolls = dice.doubles;
+
+        position = new int[games];
+        doublesInARow = new int[games];
+        turnsInJail = new int[games];
+        Arrays.fill(turnsInJail, -1);
+        cardsHeld = new int[games];
+
+        chance = new Decks(board.chance, games, rng);
+        communityChest = new Decks(board.communityChest, games, rng);
+
+        rolls = new int[games];
+        pending = new int[games];
+        squareActions = board.actions;
+        freq = new long[size];
+
+        //By default the results are printed and copied to the clipboard at the standard checkpoints
+        sink = ResultSink.clipboard();
+        schedule = CheckpointSchedule.STANDARD;
+    }
+
+    /**
+     * This method starts the simulation. The turns are played until the end of the checkpoint schedule, and the results
+     * are sent to the result sink at every checkpoint. Since every game moves at once, the turns reported can be past
+     * the checkpoint by up to one turn per game. Checkpoints that were passed on the way to an earlier one are skipped,
+     * so the same turns are never reported twice.
+     */
+    public void run() {
+        while(turns < schedule.total()){
+            long checkpoint = schedule.next(turns);
+            CheckpointEvent event = CheckpointEvent.start();
+            playUntil(checkpoint);
+            String name = policy.name() + ", " + games + " games";
+            event.reached(name, turns);
+            sink.accept(new Snapshot(name, turns, freq.clone()));
+        }
+    }
+
+    /**
+     * This method moves every game forward one turn at a time until the total number of turns reaches the target.
+     * @param targetTurns - the total number of turns that should have been played once this method returns
+     */
+    void playUntil(long targetTurns) {
+        while(turns < targetTurns){
+            step();
+            turns += games;
+        }
+    }
+
+    /**
+     * This method moves every game forward one turn.
+     */
+    private void step() {
+        int[] rolls = this.rolls;
+        int[] position = this.position;
+        int[] doublesInARow = this.doublesInARow;
+        int[] turnsInJail = this.turnsInJail;
+        byte[] squareActions = this.squareActions;
+        int[] steps = this.steps;
+        int[] doubleRolls = this.doubleRolls;
+        int size = this.size;
+        int lastDoubles = doublesToJail - 1;
+
+        //Rolling the dice for every game
+        for (int g = 0; g < games; g++) {
+            rolls[g] = dice.roll(rng);
+        }
+
+        //Moving every game as if it was a simple move. Games that need more work (in jail, 3 doubles, or landing on a
+        //special space) are also added to the pending list, which is done without branches so that the unpredictable
+        //games do not stall the loop
+        int waiting = 0;
+        for (int g = 0; g < games; g++) {
+            int roll = rolls[g];
+            int doubles = (doublesInARow[g] + 1) * doubleRolls[roll];
+            int square = position[g] + steps[roll];
+            if(square >= size)
+                square -= size;
+            position[g] = square;
+            doublesInARow[g] = doubles;
+
+            //turnsInJail + 1 is 0 out of jail, and (lastDoubles - doubles) is negative only for 3 doubles (or as many as
+            //the board says)
+            int needsWork = (turnsInJail[g] + 1) | squareActions[square] | ((lastDoubles - doubles) >>> 31);
+            pending[waiting] = g;
+            waiting += (needsWork | -needsWork) >>> 31;
+        }
+
+        //Finishing the turns of the games that were set aside
+        for (int i = 0; i < waiting; i++) {
+            finishTurn(pending[i]);
+        }
+
+        //Counting where every game ended its turn
+        long[] freq = this.freq;
+        for (int g = 0; g < games; g++) {
+            freq[position[g]]++;
+        }
+    }
+
+    /**
+     * This method finishes the turn of a game that needs more than a simple move. The game has already been moved, so
+     * the position is where the dice took the player and doublesInARow includes this roll. This follows the same logic
+     * as the MonopolySimulation.
+     */
+    private void finishTurn(int g) {
+        int roll = rolls[g];
+        int d1 = dice.die1[roll];
+        int d2 = dice.die2[roll];
+
+        //if in jail do not move forward, doubles do not count in jail
+        if(turnsInJail[g] >= 0){
+            doublesInARow[g] = 0;
+            position[g] = jailTurn(g, d1, d2);
+            return;
+        }
+
+        //3 doubles in a row sends you to jail
+        if(doublesInARow[g] == doublesToJail){
+            doublesInARow[g] = 0;
+            turnsInJail[g] = 0;
+            position[g] = jail;
+            return;
+        }
+
+        int square = position[g];
+        switch (squareActions[square]) {
+            case Board.CHANCE:
+                square = draw(g, chance, CHANCE_CARD, square);
+                break;
+            case Board.COMMUNITY_CHEST:
+                square = draw(g, communityChest, COMMUNITY_CHEST_CARD, square);
+                break;
+            case Board.GO_TO_JAIL:
+                turnsInJail[g] = 0;
+                square = jail;
+                break;
+            default:
+                //Landing on jail is just visiting
+                break;
+        }
+        position[g] = square;
+    }
+
+    /**
+     * This method draws a card from one of the decks of a game and returns where the player ends up.
+     */
+    private int draw(int g, Decks decks, int cardBit, int square) {
+        int card = decks.draw(g);
+        switch (decks.table.effects[card]) {
+            case CardTable.KEEP:
+                cardsHeld[g] |= cardBit;
+                break;
+            case CardTable.JAIL:
+                turnsInJail[g] = 0;
+                break;
+        }
+        return decks.table.destination(card, square);
+    }
+
+    /**
+     * This method plays a turn for a game where the player is in jail. This follows the same logic as the
+     * JailBoardObject.
+     */
+    private int jailTurn(int g, int d1, int d2) {
+        turnsInJail[g]++;
+
+        //Every game has played the same number of turns
+        switch (policy.decide(turnsInJail[g], cardsHeld[g] != 0, turns / games)) {
+            //If you get out of jail use your turn as normal, the chance card is used first
+            case USE_CARD:
+                if((cardsHeld[g] & CHANCE_CARD) != 0){
+                    cardsHeld[g] &= ~CHANCE_CARD;
+                    chance.returnGetOutOfJailCard(g);
+                }
+                else if((cardsHeld[g] & COMMUNITY_CHEST_CARD) != 0){
+                    cardsHeld[g] &= ~COMMUNITY_CHEST_CARD;
+                    communityChest.returnGetOutOfJailCard(g);
+                }
+                else
+                    throw new IllegalStateException(policy.name() + " used a get out of jail free card it does not hold");
+                return leaveJail(g, d1, d2);
+            case PAY:
+                return leaveJail(g, d1, d2);
+            default:
+                //Once you roll doubles, or wait the most turns allowed you will get out of jail and move forward
+                if(turnsInJail[g] == board.turnsInJail || d1 == d2)
+                    return leaveJail(g, d1, d2);
+                return jail;
+        }
+    }
+
+    /**
+     * This method takes the player of a game out of jail and moves them forward by the dice.
+     */
+    private int leaveJail(int g, int d1, int d2) {
+        turnsInJail[g] = -1;
+        int square = jail + d1 + d2;
+        return square >= size ? square - size : square;
+    }
+
+    /**
+     * This method sets where the results of the simulation are sent at each checkpoint.
+     * @param sink - the sink that receives the results
+     */
+    public void setResultSink(ResultSink sink) {
+        this.sink = sink;
+    }
+
+    /**
+     * This method sets how many turns are played (counting every game's turn), and at which points the results are
+     * sent to the sink.
+     * @param schedule - the checkpoint schedule
+     */
+    public void setSchedule(CheckpointSchedule schedule) {
+        this.schedule = schedule;
+    }
+
+    /**
+     * This class holds one kind of card deck for every game. It works the same way as the CardDeck class, with the
+     * cards of all the games stored back to back in one array and the deck sizes stored in arrays indexed by game.
+     */
+    private static final class Decks {
+
+        //What every card does
+        private final CardTable table;
+
+        //The cards of game g are cards[g * size] to cards[g * size + size - 1]
+        private final int[] cards;
+        private final int size;
+
+        //Number of cards left in each deck, and number of cards in each deck and discard pile
+        private final int[] remaining;
+        private final int[] count;
+
+        private final RandomSource rng;
+
+        private Decks(CardTable table, int games, RandomSource rng) {
+            this.table = table;
+            size = table.cards();
+            cards = new int[games * size];
+            remaining = new int[games];
+            count = new int[games];
+            this.rng = rng;
+            for (int g = 0; g < games; g++) {
+                for (int card = 0; card < size; card++) {
+                    cards[g * size + card] = card;
+                }
+                count[g] = size;
+                shuffle(g);
+            }
+        }
+
+        private int draw(int g) {
+            if(remaining[g] == 0)
+                shuffle(g);
+
+            int base = g * size;
+            int top = base + --remaining[g];
+            int card = cards[top];
+
+            //The get out of jail free card is swapped to the end of the discard pile, then left out of it
+            if(card == table.getOutOfJailCard){
+                int last = base + --count[g];
+                cards[top] = cards[last];
+                cards[last] = card;
+            }
+            return card;
+        }
+
+        private void returnGetOutOfJailCard(int g) {
+            count[g]++;
+        }
+
+        private void shuffle(int g) {
+            int base = g * size;
+            for (int i = count[g] - 1; i > 0; i--) {
+                int j = rng.nextInt(i + 1);
+                int swap = cards[base + i];
+                cards[base + i] = cards[base + j];
+                cards[base + j] = swap;
+            }
+            remaining[g] = count[g];
+        }
+    }
+}
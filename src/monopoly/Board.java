@@ -0,0 +1,367 @@
+package monopoly;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class is a compiled version of the monopoly board and its rules. Every space on the board is given an action
+ * code that says which BoardObject (if any) handles the space, and the codes are stored in a flat array indexed by
+ * position. This lets the simulation find out what to do with a space using a single array lookup instead of searching
+ * a map, and lets it call the right BoardObject directly instead of going through the BoardObjects interface. The card
+ * decks are compiled into CardTables the same way, using lookup arrays of the nearest railroad and utility to every
+ * space, so a board read from a file plays exactly as fast as the standard board.
+ *
+ * Other editions, house rules and larger boards are read from a board file, with one setting per line written as
+ * key = value. Lines starting with # are ignored. The keys are
+ * - name, the name of the board (the name of the file if it is not given)
+ * - size, the number of spaces, 12 - 127
+ * - jail, the position of the jail space
+ * - go-to-jail, chance, community-chest, railroads, utilities, the positions of those spaces separated by commas
+ * - chance-cards, community-chest-cards, the cards of each deck separated by commas, see Cards.parse for how each card
+ *   is written. A card followed by xN is repeated N times, such as "nothing x5"
+ * - doubles-to-jail, the number of doubles in a row that sends the player to jail, 0 to never send them (default 3)
+ * - turns-in-jail, the most turns a player can spend in jail (default 3)
+ * - dice, the weight of each face of both dice separated by commas, face 1 first, so loaded dice can be played
+ *   (default 1, 1, 1, 1, 1, 1 for fair six sided dice)
+ * - speed-die, the number of spaces each face of a third speed die adds to the move, such as 1, 2, 3, 0, 0, 0 (default
+ *   no speed die), see DiceTable
+ * Every value is checked when the board is built, so a board that is not valid is reported before anything is played.
+ *
+ * @author Timothy Blamires
+ * @version 10/17/26
+ */
+public final class Board {
+
+    //Action codes for the spaces on the board
+    static final byte NONE = 0;
+    static final byte CHANCE = 1;
+    static final byte COMMUNITY_CHEST = 2;
+    static final byte JAIL = 3;
+    static final byte GO_TO_JAIL = 4;
+
+    //The smallest board where one roll of the dice can not go around it twice, and the largest board whose spaces fit
+    //in the bytes of an EventLog
+    public static final int MIN_SIZE = 12;
+    public static final int MAX_SIZE = 127;
+
+    //The standard monopoly board
+    public static final Board STANDARD = new Board("Standard", 40, 10, new int[]{30}, new int[]{7, 22, 36},
+            new int[]{2, 17, 33}, new int[]{5, 15, 25, 35}, new int[]{12, 28}, Cards.CHANCE, Cards.COMMUNITY_CHEST,
+            3, 3, DiceTable.STANDARD);
+
+    //The action code of every space on the board, indexed by position
+    final byte[] actions;
+
+    //The number of spaces on the board
+    final int size;
+
+    //The position of the jail space
+    final int jail;
+
+    //The number of doubles in a row that sends the player to jail, Integer.MAX_VALUE if doubles never do so the turn
+    //loops can compare against it without checking for the rule being off
+    final int doublesToJail;
+
+    //The most turns a player can spend in jail, they must leave on this turn
+    final int turnsInJail;
+
+    //The compiled decks
+    final CardTable chance;
+    final CardTable communityChest;
+
+    //The compiled dice
+    final DiceTable dice;
+
+    //The name of the board, and the spaces it was built from
+    private final String name;
+    private final int[] goToJail;
+    private final int[] chanceSpaces;
+    private final int[] communityChestSpaces;
+    private final int[] railroads;
+    private final int[] utilities;
+
+    /**
+     * This method builds a Board, checks it, and compiles the action code of every space and both decks.
+     * @param name - the name of the board
+     * @param size - the number of spaces on the board
+     * @param jail - the position of the jail space
+     * @param goToJail - the positions of the go-to jail spaces
+     * @param chance - the positions of the chance spaces
+     * @param communityChest - the positions of the community chest spaces
+     * @param railroads - the positions of the railroads
+     * @param utilities - the positions of the utilities
+     * @param chanceCards - the chance cards, see the Cards class for what each number means
+     * @param communityChestCards - the community chest cards
+     * @param doublesToJail - the number of doubles in a row that sends the player to jail, 0 to never send them
+     * @param turnsInJail - the most turns a player can spend in jail
+     * @param dice - the dice
+     */
+    Board(String name, int size, int jail, int[] goToJail, int[] chance, int[] communityChest, int[] railroads,
+          int[] utilities, int[] chanceCards, int[] communityChestCards, int doublesToJail, int turnsInJail,
+          DiceTable dice) {
+        if(size < MIN_SIZE || size > MAX_SIZE)
+            throw new IllegalArgumentException("Board must have " + MIN_SIZE + " - " + MAX_SIZE + " spaces");
+        if(doublesToJail < 0)
+            throw new IllegalArgumentException("Doubles to jail must not be negative");
+        if(turnsInJail < 1)
+            throw new IllegalArgumentException("Turns in jail must be at least 1");
+        if(chance.length > 0 && chanceCards.length == 0)
+            throw new IllegalArgumentException("Board has chance spaces but no chance cards");
+        if(communityChest.length > 0 && communityChestCards.length == 0)
+            throw new IllegalArgumentException("Board has community chest spaces but no community chest cards");
+        if(dice.maxSteps > size)
+            throw new IllegalArgumentException("Dice can move the player " + dice.maxSteps
+                    + " spaces, more than once around the board");
+
+        this.name = name;
+        this.size = size;
+        this.jail = jail;
+        this.doublesToJail = doublesToJail == 0 ? Integer.MAX_VALUE : doublesToJail;
+        this.turnsInJail = turnsInJail;
+        this.dice = dice;
+        this.goToJail = goToJail.clone();
+        this.chanceSpaces = chance.clone();
+        this.communityChestSpaces = communityChest.clone();
+        this.railroads = railroads.clone();
+        this.utilities = utilities.clone();
+        actions = new byte[size];
+
+        setAction(jail, JAIL);
+        for (int position : goToJail) {
+            setAction(position, GO_TO_JAIL);
+        }
+        for (int position : chance) {
+            setAction(position, CHANCE);
+        }
+        for (int position : communityChest) {
+            setAction(position, COMMUNITY_CHEST);
+        }
+
+        int[] nearestRailroad = nearest(railroads, "Railroad");
+        int[] nearestUtility = nearest(utilities, "Utility");
+        this.chance = new CardTable("Chance", chanceCards, size, jail, nearestRailroad, nearestUtility);
+        this.communityChest = new CardTable("Community Chest", communityChestCards, size, jail, nearestRailroad,
+                nearestUtility);
+    }
+
+    /**
+     * This method sets the action code of a space, making sure that no space is given two actions.
+     */
+    private void setAction(int position, byte action) {
+        if(position < 0 || position >= size)
+            throw new IllegalArgumentException("Space " + position + " is not on the board");
+        if(actions[position] != NONE)
+            throw new IllegalArgumentException("Space " + position + " already has an action");
+        actions[position] = action;
+    }
+
+    /**
+     * This method builds the lookup array of the next of the given spaces ahead of every space, which is where an
+     * advance to the nearest card takes the player. A player already on one of the spaces goes on to the next one.
+     * @return - the lookup array, or null if there are no such spaces
+     */
+    private int[] nearest(int[] spaces, String kind) {
+        if(spaces.length == 0)
+            return null;
+        boolean[] marked = new boolean[size];
+        for (int position : spaces) {
+            if(position < 0 || position >= size)
+                throw new IllegalArgumentException(kind + " " + position + " is not on the board");
+            if(marked[position])
+                throw new IllegalArgumentException(kind + " " + position + " is listed twice");
+            marked[position] = true;
+        }
+
+        //Walking backwards twice around the board, so every space has seen the next marked space ahead of it
+        int[] nearest = new int[size];
+        int next = -1;
+        for (int i = 2 * size - 1; i >= 0; i--) {
+            int position = i % size;
+            nearest[position] = next;
+            if(marked[position])
+                next = position;
+        }
+        return nearest;
+    }
+
+    /**
+     * This method reads a board from a file, see the class description for the format.
+     * @param path - the file to read
+     * @return - the board
+     * @throws IOException - if the file can not be read
+     */
+    public static Board load(Path path) throws IOException {
+        String file = path.getFileName().toString();
+        return parse(file.contains(".") ? file.substring(0, file.lastIndexOf('.')) : file, Files.readAllLines(path));
+    }
+
+    /**
+     * This method reads a board from the lines of a board file, see the class description for the format.
+     * @param name - the name of the board, used if the lines do not give one
+     * @param lines - the lines of the file
+     * @return - the board
+     */
+    public static Board parse(String name, List<String> lines) {
+        Map<String, String> values = new LinkedHashMap<>();
+        for (String line : lines) {
+            line = line.trim();
+            if(line.isEmpty() || line.startsWith("#"))
+                continue;
+            int equals = line.indexOf('=');
+            if(equals < 0)
+                throw new IllegalArgumentException("Board setting not valid: " + line);
+            String key = line.substring(0, equals).trim();
+            if(values.put(key, line.substring(equals + 1).trim()) != null)
+                throw new IllegalArgumentException("Board setting given twice: " + key);
+        }
+
+        String boardName = values.remove("name");
+        Board board = new Board(boardName == null ? name : boardName,
+                number(values, "size", null), number(values, "jail", null),
+                list(values, "go-to-jail"), list(values, "chance"), list(values, "community-chest"),
+                list(values, "railroads"), list(values, "utilities"),
+                cards(values, "chance-cards"), cards(values, "community-chest-cards"),
+                number(values, "doubles-to-jail", 3), number(values, "turns-in-jail", 3), dice(values));
+        if(!values.isEmpty())
+            throw new IllegalArgumentException("Unknown board settings: " + values.keySet());
+        return board;
+    }
+
+    /**
+     * This method takes a whole number setting out of the settings, using the default if it is not there.
+     */
+    private static int number(Map<String, String> values, String key, Integer defaultValue) {
+        String value = values.remove(key);
+        if(value == null && defaultValue == null)
+            throw new IllegalArgumentException("Board must set " + key);
+        return value == null ? defaultValue : Integer.parseInt(value);
+    }
+
+    /**
+     * This method takes a list of numbers (such as spaces) out of the settings, an empty list if it is not there.
+     */
+    private static int[] list(Map<String, String> values, String key) {
+        String value = values.remove(key);
+        if(value == null || value.isEmpty())
+            return new int[0];
+        return Arrays.stream(value.split(",")).mapToInt(s -> Integer.parseInt(s.trim())).toArray();
+    }
+
+    /**
+     * This method takes the dice out of the settings, fair six sided dice without a speed die if they are not there.
+     */
+    private static DiceTable dice(Map<String, String> values) {
+        int[] weights = list(values, "dice");
+        int[] speedDie = list(values, "speed-die");
+        if(weights.length == 0 && speedDie.length == 0)
+            return DiceTable.STANDARD;
+        return new DiceTable(weights.length == 0 ? DiceTable.STANDARD.weights : weights, speedDie);
+    }
+
+    /**
+     * This method takes a list of cards out of the settings, an empty list if it is not there.
+     */
+    private static int[] cards(Map<String, String> values, String key) {
+        String value = values.remove(key);
+        if(value == null || value.isEmpty())
+            return new int[0];
+        return Arrays.stream(value.split(",")).map(String::trim).flatMapToInt(word -> {
+            //A card followed by xN is repeated N times
+            int repeat = 1;
+            int x = word.lastIndexOf(" x");
+            if(x > 0 && word.length() > x + 2 && word.substring(x + 2).chars().allMatch(Character::isDigit)){
+                repeat = Integer.parseInt(word.substring(x + 2));
+                word = word.substring(0, x).trim();
+            }
+            int[] repeated = new int[repeat];
+            Arrays.fill(repeated, Cards.parse(word));
+            return Arrays.stream(repeated);
+        }).toArray();
+    }
+
+    /**
+     * This method writes this board to a file in the format read by load, so that it can be edited.
+     * @param path - the file to write
+     * @throws IOException - if the file can not be written
+     */
+    public void save(Path path) throws IOException {
+        Files.writeString(path, "name = " + name + "\n" + definition());
+    }
+
+    /**
+     * This method writes every setting of the board that decides how it plays, in the format read by parse. Two boards
+     * with the same definition always give the same results. The dice are only written when they are not two fair six
+     * sided dice.
+     * @return - the settings, one per line
+     */
+    public String definition() {
+        String dice = this.dice.isStandard() ? "" : "dice = " + spaces(this.dice.weights) + "\n"
+                + (this.dice.speedDie.length == 0 ? "" : "speed-die = " + spaces(this.dice.speedDie) + "\n");
+        return "size = " + size + "\n"
+                + "jail = " + jail + "\n"
+                + "go-to-jail = " + spaces(goToJail) + "\n"
+                + "chance = " + spaces(chanceSpaces) + "\n"
+                + "community-chest = " + spaces(communityChestSpaces) + "\n"
+                + "railroads = " + spaces(railroads) + "\n"
+                + "utilities = " + spaces(utilities) + "\n"
+                + "chance-cards = " + cards(chance.definition) + "\n"
+                + "community-chest-cards = " + cards(communityChest.definition) + "\n"
+                + "doubles-to-jail = " + (doublesToJail == Integer.MAX_VALUE ? 0 : doublesToJail) + "\n"
+                + "turns-in-jail = " + turnsInJail + "\n"
+                + dice;
+    }
+
+    /**
+     * This method writes a list of numbers (such as spaces) separated by commas.
+     */
+    private static String spaces(int[] spaces) {
+        StringBuilder sb = new StringBuilder();
+        for (int position : spaces) {
+            sb.append(sb.length() == 0 ? "" : ", ").append(position);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * This method writes a list of cards separated by commas, with cards that repeat written once followed by xN.
+     */
+    private static String cards(int[] cards) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < cards.length; ) {
+            int repeat = 1;
+            while(i + repeat < cards.length && cards[i + repeat] == cards[i]){
+                repeat++;
+            }
+            sb.append(sb.length() == 0 ? "" : ", ").append(Cards.format(cards[i]))
+                    .append(repeat == 1 ? "" : " x" + repeat);
+            i += repeat;
+        }
+        return sb.toString();
+    }
+
+    /**
+     * @return - the name of the board, such as "Standard"
+     */
+    public String name() {
+        return name;
+    }
+
+    /**
+     * @return - the number of spaces on the board
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return - the position of the jail space
+     */
+    public int jail() {
+        return jail;
+    }
+}
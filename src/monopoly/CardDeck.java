@@ -0,0 +1,163 @@
+package monopoly;
+
+import java.nio.ByteBuffer;
+
+/**
+ * This class represents a deck of Chance or Community Chest cards along with its discard pile. The cards are the
+ * numbers of the cards in a CardTable, which says what each of them does. Both piles are stored in one int array so
+ * that drawing a card never creates any garbage. The front of the array holds the cards left in the deck, with the top
+ * card last, and the cards after that are the discard pile. Once the deck runs out the discard pile is shuffled in
+ * place (using Fisher-Yates and the random number generator of the simulation) and becomes the new deck. The get out of
+ * jail free card is moved just past the end of the discard pile while a player is holding it, so that it is not
+ * shuffled back into the deck until it is used.
+ *
+ * The deck counts the cards drawn and the times it was shuffled for the SimulationMetrics, and every shuffle is sent to
+ * the Java Flight Recorder as a DeckReshuffleEvent when that event is turned on.
+ *
+ * @author Timothy Blamires
+ * @version 10/17/26
+ */
+class CardDeck {
+
+    //The deck is cards[0] to cards[remaining - 1], the discard pile is cards[remaining] to cards[count - 1]
+    private final int[] cards;
+
+    //Number of cards left in the deck
+    private int remaining;
+
+    //Number of cards in the deck and discard pile, the held get out of jail free card (if any) is at cards[count]
+    private int count;
+
+    //Used to shuffle the deck, this is the same source that the simulation uses for the dice
+    private final RandomSource rng;
+
+    //The name of the deck, such as "Chance"
+    private final String name;
+
+    //The number of the get out of jail free card, or -1 if the deck does not have one
+    private final int getOutOfJailCard;
+
+    //The number of cards drawn and the number of times the deck was shuffled, for the metrics
+    private long draws;
+    private long reshuffles;
+
+    /**
+     * This method builds a CardDeck holding every card of a compiled deck, and shuffles it.
+     * @param table - the compiled deck
+     * @param rng - the random source used to shuffle the deck
+     */
+    CardDeck(CardTable table, RandomSource rng) {
+        cards = new int[table.cards()];
+        for (int card = 0; card < cards.length; card++) {
+            cards[card] = card;
+        }
+        count = cards.length;
+        getOutOfJailCard = table.getOutOfJailCard;
+        this.rng = rng;
+        this.name = table.name;
+
+        //Shuffle the deck
+        shuffle();
+    }
+
+    /**
+     * This method draws the top card of the deck and places it in the discard pile. If the deck is empty the discard
+     * pile is shuffled to make a new deck first. The get out of jail free card does not go to the discard pile, it stays
+     * out of the deck until returnGetOutOfJailCard is called.
+     * @return - the number of the card drawn in its CardTable
+     */
+    int draw() {
+
+        //if deck is empty, shuffle the discard pile to make a new deck
+        if(remaining == 0)
+            shuffle();
+
+        //Taking the top card, it is now the first card of the discard pile
+        draws++;
+        int card = cards[--remaining];
+
+        //The get out of jail free card is swapped to the end of the discard pile, then left out of it
+        if(card == getOutOfJailCard){
+            count--;
+            cards[remaining] = cards[count];
+            cards[count] = card;
+        }
+        return card;
+    }
+
+    /**
+     * This method places the get out of jail free card on the discard pile once the player has used it.
+     */
+    void returnGetOutOfJailCard() {
+        if(count == cards.length || cards[count] != getOutOfJailCard)
+            throw new IllegalStateException("The get out of jail free card is not being held");
+        count++;
+    }
+
+    /**
+     * @return - the number of cards drawn from this deck
+     */
+    long draws() {
+        return draws;
+    }
+
+    /**
+     * @return - the number of times this deck was shuffled, including the first shuffle
+     */
+    long reshuffles() {
+        return reshuffles;
+    }
+
+    /**
+     * This method writes the order of the deck and discard pile, so that it can be restored with readState.
+     * @param out - where the state is written
+     */
+    void writeState(ByteBuffer out) {
+        out.putInt(cards.length).putInt(remaining).putInt(count);
+        for (int card : cards) {
+            out.putInt(card);
+        }
+    }
+
+    /**
+     * This method restores the order of the deck and discard pile written by writeState.
+     * @param in - where the state is read from
+     */
+    void readState(ByteBuffer in) {
+        if(in.getInt() != cards.length)
+            throw new IllegalArgumentException("Saved deck has a different number of cards");
+        int remaining = in.getInt();
+        int count = in.getInt();
+        if(remaining < 0 || remaining > count || count < cards.length - 1 || count > cards.length)
+            throw new IllegalArgumentException("Saved deck is not valid");
+        this.remaining = remaining;
+        this.count = count;
+        for (int i = 0; i < cards.length; i++) {
+            cards[i] = in.getInt();
+            if(cards[i] < 0 || cards[i] >= cards.length)
+                throw new IllegalArgumentException("Saved deck is not valid");
+        }
+    }
+
+    /**
+     * This method shuffles the deck and discard pile together in place with Fisher-Yates.
+     */
+    private void shuffle() {
+        for (int i = count - 1; i > 0; i--) {
+            int j = rng.nextInt(i + 1);
+            int swap = cards[i];
+            cards[i] = cards[j];
+            cards[j] = swap;
+        }
+        remaining = count;
+        reshuffles++;
+
+        DeckReshuffleEvent event = new DeckReshuffleEvent();
+        if(event.shouldCommit()){
+            event.deck = name;
+            event.cards = count;
+            event.reshuffles = reshuffles;
+            event.commit();
+        }
+    }
+}
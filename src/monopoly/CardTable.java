@@ -0,0 +1,130 @@
+package monopoly;
+
+/**
+ * This class is a compiled version of a deck of cards, built by a Board from the definition of the deck (see the Cards
+ * class). The cards of a deck are numbered 0 to cards() - 1 in the order of the definition, and a CardDeck shuffles
+ * these numbers. For every card and every space the table holds where the player ends up, so drawing a card costs a
+ * single array lookup no matter how the card was defined, and cards that do more than move the player are marked
+ * with an effect.
+ *
+ * @author Timothy Blamires
+ * @version 10/17/26
+ */
+final class CardTable {
+
+    //The effects of a card, other than moving the player
+    static final byte MOVE = 0;
+    static final byte KEEP = 1;
+    static final byte JAIL = 2;
+
+    //The name of the deck, such as "Chance"
+    final String name;
+
+    //The number of each card, as written in the definition
+    final int[] definition;
+
+    //The space the player ends up on after drawing each card from each space, at card * size + position
+    private final int[] destinations;
+
+    //The effect of each card, MOVE, KEEP for the get out of jail free card, or JAIL for the go-to jail card
+    final byte[] effects;
+
+    //The number of the get out of jail free card in the deck, or -1 if the deck does not have one
+    final int getOutOfJailCard;
+
+    //The number of spaces on the board
+    private final int size;
+
+    /**
+     * This method compiles the definition of a deck.
+     * @param name - the name of the deck, such as "Chance"
+     * @param definition - the cards in the deck, see the Cards class for what each number means
+     * @param size - the number of spaces on the board
+     * @param jail - the position of the jail space
+     * @param nearestRailroad - the railroad each space advances to, or null if the board has no railroads
+     * @param nearestUtility - the utility each space advances to, or null if the board has no utilities
+     */
+    CardTable(String name, int[] definition, int size, int jail, int[] nearestRailroad, int[] nearestUtility) {
+        this.name = name;
+        this.definition = definition.clone();
+        this.size = size;
+        destinations = new int[definition.length * size];
+        effects = new byte[definition.length];
+
+        int getOutOfJailCard = -1;
+        for (int card = 0; card < definition.length; card++) {
+            int code = definition[card];
+            if(code == Cards.GET_OUT_OF_JAIL_FREE){
+                if(getOutOfJailCard >= 0)
+                    throw new IllegalArgumentException(name + " can only have one get out of jail free card");
+                getOutOfJailCard = card;
+                effects[card] = KEEP;
+            }
+            else if(code == Cards.GO_TO_JAIL)
+                effects[card] = JAIL;
+
+            for (int position = 0; position < size; position++) {
+                destinations[card * size + position] = destination(code, position, jail, nearestRailroad,
+                        nearestUtility);
+            }
+        }
+        //The deck must still have a card to draw while the get out of jail free card is held
+        if(getOutOfJailCard >= 0 && definition.length == 1)
+            throw new IllegalArgumentException(name + " needs a card besides the get out of jail free card");
+        this.getOutOfJailCard = getOutOfJailCard;
+    }
+
+    /**
+     * This method works out where the player ends up after drawing a card, while the table is compiled.
+     */
+    private int destination(int code, int position, int jail, int[] nearestRailroad, int[] nearestUtility) {
+        //A card number >= 0 means that we move the player to that position on the board
+        if(code >= 0){
+            if(code >= size)
+                throw new IllegalArgumentException(name + " has a card that moves to space " + code
+                        + ", which is not on the board");
+            return code;
+        }
+
+        switch (code) {
+            //These cards do not affect the position of the player
+            case Cards.NO_MOVE:
+            case Cards.GET_OUT_OF_JAIL_FREE:
+                return position;
+            case Cards.GO_TO_JAIL:
+                return jail;
+            case Cards.NEAREST_RAILROAD:
+                if(nearestRailroad == null)
+                    throw new IllegalArgumentException(name + " has a nearest railroad card, but there are no railroads");
+                return nearestRailroad[position];
+            case Cards.NEAREST_UTILITY:
+                if(nearestUtility == null)
+                    throw new IllegalArgumentException(name + " has a nearest utility card, but there are no utilities");
+                return nearestUtility[position];
+        }
+
+        //Moving back n spaces is the same as moving forward size - n spaces
+        int back = Cards.BACK - code;
+        if(back < 1 || back >= size)
+            throw new IllegalArgumentException(name + " has a card that is not valid: " + code);
+        return (position + size - back) % size;
+    }
+
+    /**
+     * @return - the number of cards in the deck
+     */
+    int cards() {
+        return effects.length;
+    }
+
+    /**
+     * This method finds where the player ends up after drawing a card. It does not handle the side effects of the get
+     * out of jail free card and the go-to jail card, those are given by the effects of the card.
+     * @param card - the number of the card that was drawn, 0 to cards() - 1
+     * @param position - the position of the player when they drew the card
+     * @return - The position of the player after the card has been used
+     */
+    int destination(int card, int position) {
+        return destinations[card * size + position];
+    }
+}
@@ -0,0 +1,114 @@
+package monopoly;
+
+/**
+ * This class holds the definitions of the Chance and Community Chest cards. The cards are written as integers, and a
+ * Board compiles the definition of each deck into a CardTable, so that the card spaces of the simulation and the
+ * MarkovChainSolver always agree on what every card does.
+ *  a number >= 0 has the effect of moving the player to that position on the board.
+ * -1 means the card does nothing
+ * -2 is the get out of jail free card
+ * -3 is the go-to jail card
+ * -4 is the advance to nearest railroad card
+ * -5 is the advance to the nearest utility card
+ * -100 - n is the move n spaces backwards card, so the go back 3 spaces card is -103
+ *
+ * In a board file the cards are written as words, see the parse method.
+ *
+ * @author Timothy Blamires
+ * @version 10/17/26
+ */
+final class Cards {
+
+    //Numbers used for the cards that do not simply move the player to a space
+    static final int NO_MOVE = -1;
+    static final int GET_OUT_OF_JAIL_FREE = -2;
+    static final int GO_TO_JAIL = -3;
+    static final int NEAREST_RAILROAD = -4;
+    static final int NEAREST_UTILITY = -5;
+    static final int BACK = -100;
+    static final int BACK_THREE = BACK - 3;
+
+    //The 16 chance cards, 5 do nothing, 5 move to a space, and there are 2 advance to nearest railroad cards
+    static final int[] CHANCE = {
+            NO_MOVE, NO_MOVE, NO_MOVE, NO_MOVE, NO_MOVE,
+            0, 5, 11, 24, 39,
+            GET_OUT_OF_JAIL_FREE, GO_TO_JAIL, BACK_THREE, NEAREST_RAILROAD, NEAREST_RAILROAD, NEAREST_UTILITY
+    };
+
+    //The 16 community chest cards, 13 do nothing, and one moves the player to GO
+    static final int[] COMMUNITY_CHEST = {
+            NO_MOVE, NO_MOVE, NO_MOVE, NO_MOVE, NO_MOVE, NO_MOVE, NO_MOVE,
+            NO_MOVE, NO_MOVE, NO_MOVE, NO_MOVE, NO_MOVE, NO_MOVE,
+            0, GET_OUT_OF_JAIL_FREE, GO_TO_JAIL
+    };
+
+    private Cards() {
+    }
+
+    /**
+     * This method finds the number of the card that moves the player backwards.
+     * @param spaces - the number of spaces the player moves back, at least 1
+     * @return - the number of the card
+     */
+    static int back(int spaces) {
+        if(spaces < 1)
+            throw new IllegalArgumentException("A card must move the player back at least one space");
+        return BACK - spaces;
+    }
+
+    /**
+     * This method reads a card written as a word. The words are "nothing", "get-out-of-jail", "go-to-jail",
+     * "railroad" (advance to the nearest railroad), "utility" (advance to the nearest utility), "back n" (go back n
+     * spaces), or the number of the space the card moves the player to.
+     * @param word - the card, as a word
+     * @return - the number of the card
+     */
+    static int parse(String word) {
+        switch (word) {
+            case "nothing":
+                return NO_MOVE;
+            case "get-out-of-jail":
+                return GET_OUT_OF_JAIL_FREE;
+            case "go-to-jail":
+                return GO_TO_JAIL;
+            case "railroad":
+                return NEAREST_RAILROAD;
+            case "utility":
+                return NEAREST_UTILITY;
+        }
+        try {
+            if(word.startsWith("back "))
+                return back(Integer.parseInt(word.substring(5).trim()));
+            int square = Integer.parseInt(word);
+            if(square >= 0)
+                return square;
+        } catch (NumberFormatException e) {
+            //Reported below along with every other card that is not valid
+        }
+        throw new IllegalArgumentException("Card not valid: " + word);
+    }
+
+    /**
+     * This method writes a card as the word read by parse.
+     * @param card - the number of the card
+     * @return - the card, as a word
+     */
+    static String format(int card) {
+        if(card >= 0)
+            return Integer.toString(card);
+        switch (card) {
+            case NO_MOVE:
+                return "nothing";
+            case GET_OUT_OF_JAIL_FREE:
+                return "get-out-of-jail";
+            case GO_TO_JAIL:
+                return "go-to-jail";
+            case NEAREST_RAILROAD:
+                return "railroad";
+            case NEAREST_UTILITY:
+                return "utility";
+            default:
+                return "back " + (BACK - card);
+        }
+    }
+}
@@ -1,8 +1,6 @@
 package monopoly;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
+import java.nio.ByteBuffer;
 
 /**
  * This Class represents the Chance cards in the game of monopoly. Cards will be used then placed in a discard pile
@@ -16,11 +14,11 @@ import java.util.List;
 
 public class ChanceBoardObject implements BoardObjects {
 
-    //This list keeps track chance cards in the deck
-    private List<Integer> deck;
+    //The deck and discard pile of chance cards
+    private final CardDeck deck;
 
-    //This is the list cards get added to once they have been used
-    private List<Integer> discard;
+    //What every card in the deck does
+    private final CardTable table;
 
     //boolean to keep track if the player has the get out of jail free card
     private boolean hasGetOutOfJailCard;
@@ -30,44 +28,22 @@ public class ChanceBoardObject implements BoardObjects {
 
     /**
      * This method Builds a ChanceBoardObject for the monopoly simulation. This method will build the deck array and
-     * populate it with the correct  integers. These integers represent cards in the deck. It will also shuffle the deck.
-     *  a number >= 0 has the effect of moving the player to that position on the board.
-     * -1 means the card  does nothing
-     * -2 is the get out of jail free card
-     * -3 is the go-to jail card
-     * -4 is the move 3 spaces backwards card
-     * -5 is the advance to nearest railroad card (There are 2 of these in the deck)
-     * -6 is the advance to the nearest utility card
+     * populate it with the chance cards defined in the Cards class, then shuffle the deck.
+     * @param rng - The random source of the simulation, used to shuffle the deck
      */
-    public ChanceBoardObject() {
-        deck = new ArrayList<>(16);
-        discard = new ArrayList<>(16);
-        hasGetOutOfJailCard = false;
-
-
-        //add 5 cards that do not affect position
-        for (int i = 0; i < 5; i++) {
-            deck.add(-1);
-        }
-
-        //These cards move the spots indicated by the number
-        deck.add(0);
-        deck.add(5);
-        deck.add(11);
-        deck.add(24);
-        deck.add(39);
-
-        //These are special cards that require more logic to determine their effect on player position
-        deck.add(-2);
-        deck.add(-3);
-        deck.add(-4);
-        deck.add(-5);   //There are 2 of these cards
-        deck.add(-5);
-        deck.add(-6);
-
-        //Shuffle the deck
-        Collections.shuffle(deck);
+    public ChanceBoardObject(RandomSource rng) {
+        this(Board.STANDARD, rng);
+    }
 
+    /**
+     * This method Builds a ChanceBoardObject for a board read from a board file, using the chance cards of that board.
+     * @param board - The board, which holds the compiled chance cards
+     * @param rng - The random source of the simulation, used to shuffle the deck
+     */
+    public ChanceBoardObject(Board board, RandomSource rng) {
+        table = board.chance;
+        deck = new CardDeck(table, rng);
+        hasGetOutOfJailCard = false;
     }
     /**
      * This method is called when the player lands on any of the Chance spaces on the board. The player will
@@ -80,61 +56,22 @@ public class ChanceBoardObject implements BoardObjects {
     @Override
     public int move(int die1, int die2, int position) {
 
-        //if deck is empty, fill it up and shuffle cards
-        if(deck.size() == 0){
-            deck.addAll(discard);
-            Collections.shuffle(deck);
-            discard.clear();
+        //Draw the top card of the deck, the deck reshuffles itself once it runs out
+        int card = deck.draw();
+
+        //All cards go to the discard pile immediately except the get out of jail free card, which the player keeps, and
+        //the go-to jail card puts the player in jail
+        switch (table.effects[card]) {
+            case CardTable.KEEP:
+                hasGetOutOfJailCard = true;
+                break;
+            case CardTable.JAIL:
+                jailBoardObject.sentToJail();
+                break;
         }
 
-        //Remove the last item in the deck
-        int card = deck.remove(deck.size() -1);
-
-        //All cards go to the discard pile immediately except the get out of jail free card
-        if(card != -2)
-            discard.add(card);
-
-        // -1 cards does not affect the position of the player, so the player does not move
-        if(card == -1) return position;
-
-        //A card number >= 0 indicates means that we move are player to that position on the board
-        if(card >= 0) return card;
-
-        // -2 Is the get out of jail free card, does not affect position
-        if(card == -2){
-            hasGetOutOfJailCard = true;
-            return position;
-        }
-
-        // -3 is the go-to jail card, change position to jail
-        if(card == -3){
-            jailBoardObject.sentToJail();
-            return 10;
-        }
-
-        // -4 is the go back 3 spaces card (same as moving forward 37 spaces)
-        if(card == -4) return (position + 37) % 40;
-
-        // -5 is the move to next railroad card
-        if(card == -5){
-            if(position >= 35 || position < 5)
-                return 5;
-            if(position >=25)
-                return 35;
-            if(position >= 15)
-                return 25;
-            return 15;
-        }
-
-        //-6 is the move to nearest Utility card
-        if(card == -6){
-            if(position >= 28 || position < 12)
-                return 12;
-            return 28;
-        }
-
-        //Should never reach this line, If it does, it indicates an error
-        throw new IllegalStateException("Invalid Card number in the chance deck");
+        //Where the card takes the player was worked out when the deck was compiled
+        return table.destination(card, position);
     }
 
     /**
@@ -153,7 +90,33 @@ public class ChanceBoardObject implements BoardObjects {
         if(!hasGetOutOfJailCard)
             throw new IllegalStateException("Can not use card as you do not have it");
         hasGetOutOfJailCard = false;
-        discard.add(-2);
+        deck.returnGetOutOfJailCard();
+    }
+
+    /**
+     * @return - the chance deck, used to read how many cards were drawn and how many times it was shuffled
+     */
+    CardDeck deck() {
+        return deck;
+    }
+
+    /**
+     * This method writes the deck and whether the player holds the get out of jail free card, so that they can be
+     * restored with readState.
+     * @param out - where the state is written
+     */
+    void writeState(ByteBuffer out) {
+        deck.writeState(out);
+        out.put((byte) (hasGetOutOfJailCard ? 1 : 0));
+    }
+
+    /**
+     * This method restores the deck and the get out of jail free card written by writeState.
+     * @param in - where the state is read from
+     */
+    void readState(ByteBuffer in) {
+        deck.readState(in);
+        hasGetOutOfJailCard = in.get() != 0;
     }
 
     /**
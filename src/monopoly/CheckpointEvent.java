@@ -0,0 +1,53 @@
+package monopoly;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * This class is a Java Flight Recorder event for a checkpoint of a simulation. The event starts when the simulation
+ * starts playing towards the checkpoint and ends when the checkpoint is reached, so its duration is the time taken to
+ * play the turns in between. It can be seen with any JFR tool, for example by starting the program with
+ * -XX:StartFlightRecording and opening the recording in JDK Mission Control.
+ *
+ * @author Timothy Blamires
+ * @version 10/17/26
+ */
+@Name("monopoly.Checkpoint")
+@Label("Checkpoint")
+@Category("Monopoly")
+@Description("Turns played between two checkpoints of a simulation")
+final class CheckpointEvent extends jdk.jfr.Event {
+
+    @Label("Simulation")
+    String simulation;
+
+    @Label("Turns")
+    @Description("Turns played when the checkpoint was reached")
+    long turns;
+
+    /**
+     * This method starts an event, before the turns up to the next checkpoint are played.
+     * @return - the event
+     */
+    static CheckpointEvent start() {
+        CheckpointEvent event = new CheckpointEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * This method ends the event once the checkpoint is reached, and records it if the recorder wants it.
+     * @param simulation - the name of the simulation
+     * @param turns - the number of turns played
+     */
+    void reached(String simulation, long turns) {
+        end();
+        if(shouldCommit()){
+            this.simulation = simulation;
+            this.turns = turns;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package monopoly;
+
+import java.util.Arrays;
+
+/**
+ * This class decides how many turns a simulation plays, and at which points along the way the results are reported.
+ * There are three kinds of schedule
+ * - explicit, a list of checkpoints such as 1,000 , 10,000 , 100,000 and 1,000,000
+ * - geometric, a first checkpoint, with every later checkpoint a fixed multiple of the one before
+ * - every, a checkpoint every n turns
+ * The last checkpoint of every schedule is the total number of turns to play.
+ *
+ * @author Timothy Blamires
+ * @version 10/17/26
+ */
+public final class CheckpointSchedule {
+
+    //The schedule that the simulation has always used
+    public static final CheckpointSchedule STANDARD = explicit(1_000, 10_000, 100_000, 1_000_000);
+
+    //The checkpoints of an explicit schedule, or null for the other kinds
+    private final long[] checkpoints;
+
+    //The first checkpoint, and how it grows each time (for every, the checkpoints are added to, not multiplied)
+    private final long first;
+    private final double factor;
+
+    //The total number of turns to play
+    private final long total;
+
+    private CheckpointSchedule(long[] checkpoints, long first, double factor, long total) {
+        if(total < 1)
+            throw new IllegalArgumentException("Must play at least one turn");
+        this.checkpoints = checkpoints;
+        this.first = first;
+        this.factor = factor;
+        this.total = total;
+    }
+
+    /**
+     * This method builds a schedule from a list of checkpoints. The last checkpoint is the total number of turns.
+     * @param checkpoints - the checkpoints, in increasing order
+     * @return - the schedule
+     */
+    public static CheckpointSchedule explicit(long... checkpoints) {
+        if(checkpoints.length == 0)
+            throw new IllegalArgumentException("Must have at least one checkpoint");
+        for (int i = 1; i < checkpoints.length; i++) {
+            if(checkpoints[i] <= checkpoints[i - 1])
+                throw new IllegalArgumentException("Checkpoints must be in increasing order");
+        }
+        return new CheckpointSchedule(checkpoints.clone(), 0, 0, checkpoints[checkpoints.length - 1]);
+    }
+
+    /**
+     * This method builds a schedule where every checkpoint is a multiple of the one before it, for example 1,000 with a
+     * factor of 10 gives 1,000 , 10,000 , 100,000 and so on until the total is reached.
+     * @param first - the first checkpoint
+     * @param factor - how much each checkpoint is multiplied by to get the next, must be more than 1
+     * @param total - the total number of turns
+     * @return - the schedule
+     */
+    public static CheckpointSchedule geometric(long first, double factor, long total) {
+        if(first < 1 || !(factor > 1))
+            throw new IllegalArgumentException("Geometric checkpoints must start at 1 or more and grow");
+        return new CheckpointSchedule(null, first, factor, total);
+    }
+
+    /**
+     * This method builds a schedule with a checkpoint every interval turns until the total is reached.
+     * @param interval - the number of turns between checkpoints
+     * @param total - the total number of turns
+     * @return - the schedule
+     */
+    public static CheckpointSchedule every(long interval, long total) {
+        if(interval < 1)
+            throw new IllegalArgumentException("Checkpoints must be at least one turn apart");
+        return new CheckpointSchedule(null, interval, 0, total);
+    }
+
+    /**
+     * This method builds a schedule from text. The text can be a list of checkpoints separated by commas
+     * ("1000,10000,100000"), "every:n" for a checkpoint every n turns, or "geometric:first:factor". If the text is null
+     * a checkpoint is made at 1,000 turns and at every power of 10 after that.
+     * @param spec - the text describing the checkpoints, or null
+     * @param total - the total number of turns, or 0 to use the last checkpoint of a list
+     * @return - the schedule
+     */
+    public static CheckpointSchedule parse(String spec, long total) {
+        if(spec == null)
+            return total == 0 ? STANDARD : geometric(1_000, 10, total);
+
+        String[] parts = spec.split(":");
+        if(parts[0].equals("every") && parts.length == 2)
+            return every(Long.parseLong(parts[1]), total == 0 ? STANDARD.total : total);
+        if(parts[0].equals("geometric") && parts.length == 3)
+            return geometric(Long.parseLong(parts[1]), Double.parseDouble(parts[2]),
+                    total == 0 ? STANDARD.total : total);
+        if(parts.length != 1)
+            throw new IllegalArgumentException("Checkpoints not valid: " + spec);
+
+        //A list of checkpoints, with the total added to the end if it is past the last one
+        long[] list = Arrays.stream(spec.split(",")).mapToLong(s -> Long.parseLong(s.trim())).toArray();
+        if(total != 0){
+            list = Arrays.stream(list).filter(c -> c < total).toArray();
+            list = Arrays.copyOf(list, list.length + 1);
+            list[list.length - 1] = total;
+        }
+        return explicit(list);
+    }
+
+    /**
+     * @return - the total number of turns to play
+     */
+    public long total() {
+        return total;
+    }
+
+    /**
+     * This method finds the first checkpoint after the given number of turns.
+     * @param turns - the number of turns played so far
+     * @return - the next checkpoint, never more than the total
+     */
+    public long next(long turns) {
+        if(turns >= total)
+            return total;
+
+        long next;
+        if(checkpoints != null){
+            int index = Arrays.binarySearch(checkpoints, turns + 1);
+            next = checkpoints[index >= 0 ? index : -index - 1];
+        }
+        else if(factor == 0){
+            next = (turns / first + 1) * first;
+        }
+        else{
+            //Growing the checkpoint until it passes the turns played, stopping at the total to avoid overflow
+            next = first;
+            while(next <= turns && next < total)
+                next = Math.max(next + 1, (long) Math.min(next * factor, total));
+        }
+        return Math.min(next, total);
+    }
+
+    /**
+     * @return - a short description of this schedule
+     */
+    @Override
+    public String toString() {
+        if(checkpoints != null)
+            return Arrays.toString(checkpoints).replaceAll("[\\[\\] ]", "");
+        if(factor == 0)
+            return "every:" + first + " up to " + total;
+        return "geometric:" + first + ":" + factor + " up to " + total;
+    }
+}
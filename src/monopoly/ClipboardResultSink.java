@@ -0,0 +1,46 @@
+package monopoly;
+
+import java.awt.*;
+import java.awt.datatransfer.Clipboard;
+import java.awt.datatransfer.StringSelection;
+import java.awt.datatransfer.Transferable;
+
+/**
+ * This class is the original way results were reported. The results are printed to the console and copied to the
+ * clipboard, then the simulation waits 3 seconds so that they can be pasted into a spreadsheet. This is the only class
+ * that uses AWT, so AWT is never loaded unless this sink is used.
+ *
+ * @author Timothy Blamires
+ * @version 10/17/26
+ */
+class ClipboardResultSink implements ResultSink {
+
+    @Override
+    public void accept(Snapshot snapshot) {
+        String frequencies = ResultSink.formatFrequencies(snapshot);
+
+        //Copies data to clipboard automatically and print to console(I did this so that it was easier to make the
+        //spreadsheets)
+        Clipboard clipboard = Toolkit.getDefaultToolkit().getSystemClipboard();
+        Transferable transferable = new StringSelection(frequencies);
+        clipboard.setContents(transferable, null);
+
+        //Printing the data to the console
+        System.out.println(ResultSink.format(snapshot));
+
+        //Sleeping for 3 seconds so that I can process the data before the simulation continues.
+        try {
+            Thread.sleep(3000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public void summary(String text) {
+        //The summary is copied and printed just like the results, and nothing runs after it so there is no need to wait
+        Toolkit.getDefaultToolkit().getSystemClipboard().setContents(new StringSelection(text), null);
+        System.out.println(text);
+    }
+}
@@ -0,0 +1,35 @@
+package monopoly;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * This class is a Java Flight Recorder event for a card deck being shuffled. A deck is shuffled every time it runs out,
+ * which is hundreds of thousands of times a second in a fast simulation, so the event is off unless it is turned on in
+ * the recording settings, by starting the recording with a .jfc file that contains
+ * <event name="monopoly.DeckReshuffle"><setting name="enabled">true</setting></event>
+ *
+ * @author Timothy Blamires
+ * @version 10/17/26
+ */
+@Name("monopoly.DeckReshuffle")
+@Label("Deck Reshuffle")
+@Category("Monopoly")
+@Description("A Chance or Community Chest deck ran out and its discard pile was shuffled")
+@Enabled(false)
+final class DeckReshuffleEvent extends jdk.jfr.Event {
+
+    @Label("Deck")
+    String deck;
+
+    @Label("Cards")
+    @Description("Cards shuffled into the new deck, one less while a get out of jail free card is held")
+    int cards;
+
+    @Label("Reshuffles")
+    @Description("Times this deck has been shuffled, including the first shuffle")
+    long reshuffles;
+}
@@ -0,0 +1,192 @@
+package monopoly;
+
+import java.util.ArrayDeque;
+
+/**
+ * This class is a compiled version of the dice, built by a Board. Every way the dice can land is numbered as an outcome
+ * 0 to outcomes() - 1, and the table holds the value of each die, the number of spaces the player moves and whether
+ * the roll is doubles for every outcome, so a turn only has to draw an outcome and look it up. The outcome of a first
+ * die a, second die b and speed die face s is ((a - 1) * faces + (b - 1)) * speedFaces + s, so for two normal dice
+ * outcome r is a first die of r / 6 + 1 and a second die of r % 6 + 1, the same as RandomSource.rollDice.
+ *
+ * Both dice can be loaded, with a weight for each face, and a third speed die can be added whose faces are added to
+ * the move. Doubles only count the two normal dice, and a player leaving jail only moves by the two normal dice. When
+ * every outcome is equally likely (fair dice, with or without the speed die) an outcome is drawn from 32 random bits
+ * exactly as RandomSource.rollDice does, otherwise it is drawn with Walker's alias method: one random 64 bit number
+ * picks a column of the table with its top half and, with its bottom half, either the outcome of the column or the
+ * outcome it borrows from. Either way a turn costs one draw and one lookup, however the dice are loaded.
+ *
+ * @author Timothy Blamires
+ * @version 10/17/26
+ */
+final class DiceTable {
+
+    //The most faces a die can have
+    static final int MAX_FACES = 12;
+
+    //Two fair six sided dice
+    static final DiceTable STANDARD = new DiceTable(new int[]{1, 1, 1, 1, 1, 1}, new int[0]);
+
+    //The weight of each face of the normal dice, face 1 first, and the number of spaces each face of the speed die
+    //adds to the move (empty if there is no speed die)
+    final int[] weights;
+    final int[] speedDie;
+
+    //The value of each die, the number of spaces moved, and 1 if the roll is doubles (0 if not), for every outcome
+    final int[] die1;
+    final int[] die2;
+    final int[] steps;
+    final int[] doubles;
+
+    //The exact chance of every outcome, used by the solvers
+    final double[] probabilities;
+
+    //The largest number of spaces the dice can move the player
+    final int maxSteps;
+
+    //True if every outcome is equally likely, and the 32 bit numbers thrown away so they stay equally likely
+    private final boolean uniform;
+    private final long rejectBelow;
+
+    //The alias table. Column i keeps its own outcome when the bottom 32 bits of the draw are below threshold[i], and
+    //gives alias[i] otherwise
+    private final long[] threshold;
+    private final int[] alias;
+
+    /**
+     * This method builds the table of every outcome of the dice.
+     * @param weights - the weight of each face of the normal dice, face 1 first, such as 1, 1, 1, 1, 1, 1 for fair
+     * six sided dice
+     * @param speedDie - the number of spaces each face of the speed die adds to the move, or an empty array for no
+     * speed die
+     */
+    DiceTable(int[] weights, int[] speedDie) {
+        if(weights.length < 1 || weights.length > MAX_FACES)
+            throw new IllegalArgumentException("Dice must have 1 - " + MAX_FACES + " faces");
+        if(speedDie.length > MAX_FACES)
+            throw new IllegalArgumentException("Speed die can have at most " + MAX_FACES + " faces");
+        long total = 0;
+        for (int weight : weights) {
+            if(weight < 0)
+                throw new IllegalArgumentException("Dice weights must not be negative");
+            total += weight;
+        }
+        if(total == 0 || total > 1 << 20)
+            throw new IllegalArgumentException("Dice weights must add up to 1 - " + (1 << 20));
+        for (int face : speedDie) {
+            if(face < 0 || face > MAX_FACES)
+                throw new IllegalArgumentException("Speed die faces must be 0 - " + MAX_FACES);
+        }
+
+        this.weights = weights.clone();
+        this.speedDie = speedDie.clone();
+        int faces = weights.length;
+        int speedFaces = Math.max(speedDie.length, 1);
+        int outcomes = faces * faces * speedFaces;
+        die1 = new int[outcomes];
+        die2 = new int[outcomes];
+        steps = new int[outcomes];
+        doubles = new int[outcomes];
+        probabilities = new double[outcomes];
+
+        //The chance of an outcome is worked out with whole numbers, so fair dice give exactly 1 / outcomes
+        double combinations = (double) total * total * speedFaces;
+        boolean uniform = true;
+        int maxSteps = 0;
+        for (int outcome = 0; outcome < outcomes; outcome++) {
+            int a = outcome / speedFaces / faces;
+            int b = outcome / speedFaces % faces;
+            int s = outcome % speedFaces;
+            die1[outcome] = a + 1;
+            die2[outcome] = b + 1;
+            steps[outcome] = a + b + 2 + (speedDie.length == 0 ? 0 : speedDie[s]);
+            doubles[outcome] = a == b ? 1 : 0;
+            probabilities[outcome] = (double) ((long) weights[a] * weights[b]) / combinations;
+            uniform &= weights[a] == weights[0];
+            if(probabilities[outcome] > 0)
+                maxSteps = Math.max(maxSteps, steps[outcome]);
+        }
+        this.maxSteps = maxSteps;
+        this.uniform = uniform;
+        rejectBelow = (1L << 32) % outcomes;
+
+        threshold = new long[outcomes];
+        alias = new int[outcomes];
+        if(!uniform)
+            buildAliasTable(weights, total, speedFaces);
+    }
+
+    /**
+     * This method builds the alias table with Vose's version of Walker's method. Every column starts with its own
+     * outcome scaled so that the columns average 1, then each column below 1 is filled up from a column above 1, which
+     * becomes its alias. The chances are worked out in whole numbers of 2^-32 so the table is exact to 32 bits.
+     */
+    private void buildAliasTable(int[] weights, long total, int speedFaces) {
+        int outcomes = threshold.length;
+        int faces = weights.length;
+        long combinations = total * total * speedFaces;
+
+        //The size of every column scaled so that a full column is 2^32
+        long[] scaled = new long[outcomes];
+        for (int outcome = 0; outcome < outcomes; outcome++) {
+            long weight = (long) weights[outcome / speedFaces / faces] * weights[outcome / speedFaces % faces];
+            scaled[outcome] = Math.round((double) weight * outcomes / combinations * (1L << 32));
+        }
+
+        ArrayDeque<Integer> small = new ArrayDeque<>();
+        ArrayDeque<Integer> large = new ArrayDeque<>();
+        for (int outcome = 0; outcome < outcomes; outcome++) {
+            alias[outcome] = outcome;
+            (scaled[outcome] < 1L << 32 ? small : large).push(outcome);
+        }
+        while(!small.isEmpty() && !large.isEmpty()){
+            int less = small.pop();
+            int more = large.pop();
+            threshold[less] = scaled[less];
+            alias[less] = more;
+            scaled[more] -= (1L << 32) - scaled[less];
+            (scaled[more] < 1L << 32 ? small : large).push(more);
+        }
+
+        //What is left over is a full column, apart from rounding
+        for (int outcome : small) {
+            threshold[outcome] = 1L << 32;
+        }
+        for (int outcome : large) {
+            threshold[outcome] = 1L << 32;
+        }
+    }
+
+    /**
+     * This method rolls the dice.
+     * @param rng - the source of the random numbers
+     * @return - the outcome of the roll, 0 - (outcomes() - 1)
+     */
+    int roll(RandomSource rng) {
+        if(uniform)
+            return rng.rollUniform(die1.length, rejectBelow);
+
+        //The top 32 bits pick the column (Lemire's method) and the bottom 32 bits pick its outcome or its alias. The
+        //choice is made without a branch, as it goes either way at random and would often be mispredicted
+        long bits = rng.nextLong();
+        int column = (int) (((bits >>> 32) * die1.length) >>> 32);
+        int keep = (int) (((bits & 0xFFFFFFFFL) - threshold[column]) >> 63);
+        int other = alias[column];
+        return other ^ ((other ^ column) & keep);
+    }
+
+    /**
+     * @return - the number of outcomes of the dice
+     */
+    int outcomes() {
+        return die1.length;
+    }
+
+    /**
+     * @return - true if these are two fair six sided dice without a speed die, which roll exactly like the standard
+     * dice however their weights are written
+     */
+    boolean isStandard() {
+        return uniform && weights.length == 6 && speedDie.length == 0;
+    }
+}
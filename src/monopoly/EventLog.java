@@ -0,0 +1,354 @@
+package monopoly;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * This class records what happened on every turn of a MonopolySimulation to a binary file, so that sequences of turns
+ * can be studied later (for example how often the player is sent back to jail soon after leaving it). Each turn is
+ * written as a record of RECORD_BYTES bytes
+ * - long turn, counting from 0 in each run
+ * - byte first die, byte second die
+ * - byte start space, byte landing space (where the dice took the player, the start space if they did not move), byte
+ *   final space (where the turn ended)
+ * - byte cause, saying what moved the player from the landing space to the final space (one of the constants below)
+ * - short run, counting every simulation started by the driver from 0
+ * The file starts with an int magic number, an int version and the int size of a record.
+ *
+ * The simulation writes the records into a ring buffer that is allocated once, and a background thread copies them
+ * from the ring buffer to the file, so the simulation never waits for the disk unless the ring buffer is full. Records
+ * are handed to the background thread CHUNK at a time. The simulation only checks for a log once per segment and
+ * then plays the segment with or without it, so the turn loop costs nothing extra when there is no log.
+ *
+ * Turns can be sampled to keep the file small. A sample of "every" and "length" records the first "length" turns of
+ * every "every" turns, so that short sequences of turns are kept whole.
+ *
+ * @author Timothy Blamires
+ * @version 10/17/26
+ */
+public final class EventLog implements AutoCloseable {
+
+    //The number of bytes in each record
+    public static final int RECORD_BYTES = 16;
+
+    //The causes of a turn. The card and go-to jail causes use the action codes of the Board
+    public static final byte NONE = Board.NONE;
+    public static final byte CHANCE = Board.CHANCE;
+    public static final byte COMMUNITY_CHEST = Board.COMMUNITY_CHEST;
+    public static final byte GO_TO_JAIL = Board.GO_TO_JAIL;
+    public static final byte TRIPLE_DOUBLES = 5;
+    public static final byte STAYED_IN_JAIL = 6;
+    public static final byte LEFT_JAIL = 7;
+
+    //Marks the start of an event log ("MSE1")
+    private static final int MAGIC = 0x4D534531;
+
+    //Changed whenever the format of the records changes
+    private static final int VERSION = 1;
+
+    //The number of records the ring buffer holds, and the number handed to the background thread at a time. Both
+    //must be powers of 2
+    private static final int CAPACITY = 1 << 16;
+    private static final int CHUNK = 1 << 10;
+
+    //The file the records are written to
+    private final FileChannel channel;
+
+    //The records waiting to be written, record i is kept at (i % CAPACITY) * RECORD_BYTES
+    private final ByteBuffer ring;
+
+    //Which turns are recorded, the first "length" of every "every" turns
+    private final long every;
+    private final long length;
+
+    //The thread that writes the records to the file
+    private final Thread writer;
+
+    //The run being recorded
+    private short run;
+
+    //The number of records made, and the number known to have been written, only used by the simulation's thread
+    private long head;
+    private long drainedSeen;
+
+    //The number of records handed to the background thread, and the number it has written
+    private volatile long published;
+    private volatile long drained;
+    private volatile boolean closed;
+
+    //The error thrown while writing, reported to the simulation at the next full ring buffer or when this is closed
+    private volatile IOException error;
+
+    /**
+     * This method builds an EventLog that records every turn.
+     * @param path - the file to write, replacing anything already in the file
+     * @throws IOException - if the file can not be opened
+     */
+    public EventLog(Path path) throws IOException {
+        this(path, 1, 1);
+    }
+
+    /**
+     * This method builds an EventLog that records the first "length" turns of every "every" turns.
+     * @param path - the file to write, replacing anything already in the file
+     * @param every - the number of turns in each sample, 1 to record every turn
+     * @param length - the number of turns recorded at the start of each sample
+     * @throws IOException - if the file can not be opened
+     */
+    public EventLog(Path path, long every, long length) throws IOException {
+        if(every < 1 || length < 1 || length > every)
+            throw new IllegalArgumentException("Sample not valid, must record between 1 and every turn of each sample");
+        this.every = every;
+        this.length = length;
+
+        channel = FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        ByteBuffer header = ByteBuffer.allocate(3 * Integer.BYTES).putInt(MAGIC).putInt(VERSION).putInt(RECORD_BYTES);
+        header.flip();
+        while(header.hasRemaining()){
+            channel.write(header);
+        }
+
+        ring = ByteBuffer.allocateDirect(CAPACITY * RECORD_BYTES);
+        writer = new Thread(this::drain, "event-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * This method is called before a simulation starts, so the records that follow are marked with its run number.
+     * @param run - the number of the run, counting every simulation started by the driver from 0
+     */
+    public void startRun(int run) {
+        if(run < 0 || run > 0xFFFF)
+            throw new IllegalArgumentException("Run number not valid: " + run);
+        this.run = (short) run;
+    }
+
+    /**
+     * This method records a turn, if it is part of the sample. It is called by the simulation's thread, and only waits
+     * if the background thread has fallen a whole ring buffer behind.
+     * @param turn - the number of turns played before this one
+     * @param die1 - the value of the first die
+     * @param die2 - the value of the second die
+     * @param start - the space the turn started on
+     * @param landing - the space the dice took the player to
+     * @param end - the space the turn ended on
+     * @param cause - what moved the player from the landing space to the final space
+     */
+    void record(long turn, int die1, int die2, int start, int landing, int end, byte cause) {
+        if(every != 1 && turn % every >= length)
+            return;
+        if(head - drainedSeen == CAPACITY)
+            waitForSpace();
+
+        int at = (int) (head & (CAPACITY - 1)) * RECORD_BYTES;
+        ring.putLong(at, turn)
+                .put(at + 8, (byte) die1).put(at + 9, (byte) die2)
+                .put(at + 10, (byte) start).put(at + 11, (byte) landing).put(at + 12, (byte) end)
+                .put(at + 13, cause).putShort(at + 14, run);
+        head++;
+        if((head & (CHUNK - 1)) == 0)
+            published = head;
+    }
+
+    /**
+     * This method hands every record to the background thread, then waits until there is space in the ring buffer.
+     */
+    private void waitForSpace() {
+        published = head;
+        while(head - (drainedSeen = drained) == CAPACITY){
+            if(error != null)
+                throw new UncheckedIOException(error);
+            LockSupport.parkNanos(10_000);
+        }
+    }
+
+    /**
+     * This method runs on the background thread, writing the records handed over by the simulation until the log is
+     * closed and every record has been written.
+     */
+    private void drain() {
+        long position = 0;
+        try {
+            while(true){
+                //Closed is read first, as the last records are handed over before the log is marked closed
+                boolean finished = closed;
+                long end = published;
+                if(end > position){
+                    int from = (int) (position & (CAPACITY - 1));
+                    int count = (int) (end - position);
+                    int first = Math.min(count, CAPACITY - from);
+                    writeRecords(from, first);
+                    if(first < count)
+                        writeRecords(0, count - first);
+                    position = end;
+                    drained = position;
+                }
+                else if(finished)
+                    return;
+                else
+                    LockSupport.parkNanos(100_000);
+            }
+        } catch (IOException e) {
+            error = e;
+        }
+    }
+
+    /**
+     * This method writes records from the ring buffer to the file.
+     */
+    private void writeRecords(int from, int count) throws IOException {
+        ByteBuffer records = ring.duplicate();
+        records.limit((from + count) * RECORD_BYTES).position(from * RECORD_BYTES);
+        while(records.hasRemaining()){
+            channel.write(records);
+        }
+    }
+
+    /**
+     * This method waits for every record to be written, then closes the file. If any of them could not be written
+     * the error is thrown here.
+     */
+    @Override
+    public void close() {
+        published = head;
+        closed = true;
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } finally {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                if(error == null)
+                    error = e;
+            }
+        }
+        if(error != null)
+            throw new UncheckedIOException(error);
+    }
+
+    /**
+     * This method reads a file written by an EventLog, passing each record to the given action in the order they were
+     * recorded.
+     * @param path - the file to read
+     * @param action - what to do with each record
+     * @throws IOException - if the file can not be read
+     */
+    public static void read(Path path, Consumer<Event> action) throws IOException {
+        try (FileChannel in = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(CHUNK * RECORD_BYTES);
+            buffer.limit(3 * Integer.BYTES);
+            while(buffer.hasRemaining()){
+                if(in.read(buffer) < 0)
+                    throw new IllegalArgumentException(path + " is not an event log");
+            }
+            buffer.flip();
+            if(buffer.getInt() != MAGIC || buffer.getInt() != VERSION || buffer.getInt() != RECORD_BYTES)
+                throw new IllegalArgumentException(path + " is not an event log");
+
+            buffer.clear();
+            while(in.read(buffer) >= 0){
+                buffer.flip();
+                while(buffer.remaining() >= RECORD_BYTES){
+                    action.accept(new Event(buffer.getLong(), buffer.get(), buffer.get(), buffer.get(), buffer.get(),
+                            buffer.get(), buffer.get(), buffer.getShort()));
+                }
+                buffer.compact();
+            }
+            if(buffer.position() != 0)
+                throw new IllegalArgumentException(path + " ends part way through a record");
+        }
+    }
+
+    /**
+     * This class holds one record of an event log.
+     */
+    public static final class Event {
+
+        private final long turn;
+        private final byte die1;
+        private final byte die2;
+        private final byte start;
+        private final byte landing;
+        private final byte end;
+        private final byte cause;
+        private final short run;
+
+        private Event(long turn, byte die1, byte die2, byte start, byte landing, byte end, byte cause, short run) {
+            this.turn = turn;
+            this.die1 = die1;
+            this.die2 = die2;
+            this.start = start;
+            this.landing = landing;
+            this.end = end;
+            this.cause = cause;
+            this.run = run;
+        }
+
+        /**
+         * @return - the number of turns played in the run before this one
+         */
+        public long turn() {
+            return turn;
+        }
+
+        /**
+         * @return - the value of the first die
+         */
+        public int die1() {
+            return die1;
+        }
+
+        /**
+         * @return - the value of the second die
+         */
+        public int die2() {
+            return die2;
+        }
+
+        /**
+         * @return - the space the turn started on
+         */
+        public int start() {
+            return start;
+        }
+
+        /**
+         * @return - the space the dice took the player to
+         */
+        public int landing() {
+            return landing;
+        }
+
+        /**
+         * @return - the space the turn ended on
+         */
+        public int end() {
+            return end;
+        }
+
+        /**
+         * @return - what moved the player from the landing space to the final space, one of the EventLog constants
+         */
+        public byte cause() {
+            return cause;
+        }
+
+        /**
+         * @return - the number of the run, counting every simulation started by the driver from 0
+         */
+        public int run() {
+            return run & 0xFFFF;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package monopoly;
+
+import java.util.Arrays;
+
+/**
+ * This class calculates the exact chance of ending each turn of a game on every space, for the first turns of a game
+ * starting on GO, instead of the long run chance found by the MarkovChainSolver. Real games only last 30 - 150 turns,
+ * and early in a game the player is more likely to be near GO than the long run says. The chance of being in every
+ * state of the MarkovChainSolver (position, doubles in a row, turns in jail and get out of jail free cards held) is
+ * worked out after turn 1, turn 2 and so on up to the horizon, by playing one turn at a time with the sparse
+ * transitions of the MarkovChainSolver. Nothing is sampled, so the answer has no error bars, and like the
+ * MarkovChainSolver every card in a deck is treated as equally likely to be drawn.
+ *
+ * The policy is told the turn of the game, just like in the simulation, so policies that change over the game (such
+ * as "stay-in-after:turn") are followed exactly. The transitions are only built again on the turns where the decisions
+ * of the policy change.
+ *
+ * @author Timothy Blamires
+ * @version 10/17/26
+ */
+public class FiniteHorizonSolver {
+
+    //The chance of ending turn k on each space, k = 0 (the start, on GO) to the horizon
+    private final double[][] distributions;
+
+    //The expected number of turns out of the first k that end on each space, k = 0 to the horizon
+    private final double[][] expectedLandings;
+
+    /**
+     * This method calculates the chance of ending every turn up to the horizon on each space of the standard board.
+     * @param policy - Decides how the player tries to get out of jail
+     * @param horizon - the number of turns to calculate
+     */
+    public FiniteHorizonSolver(JailPolicy policy, int horizon) {
+        this(Board.STANDARD, policy, horizon);
+    }
+
+    /**
+     * This method calculates the chance of ending every turn up to the horizon on each space of the given board.
+     * @param board - the board, such as Board.STANDARD or a board read with Board.load
+     * @param policy - Decides how the player tries to get out of jail
+     * @param horizon - the number of turns to calculate
+     */
+    public FiniteHorizonSolver(Board board, JailPolicy policy, int horizon) {
+        if(horizon < 1)
+            throw new IllegalArgumentException("Horizon must be at least 1 turn");
+        MarkovChainSolver chain = new MarkovChainSolver(board, policy);
+        distributions = new double[horizon + 1][];
+        expectedLandings = new double[horizon + 1][];
+
+        double[] current = chain.start();
+        double[] next = new double[chain.states()];
+        distributions[0] = chain.squares(current);
+        expectedLandings[0] = new double[board.size];
+
+        JailPolicy.Action[] decisions = null;
+        MarkovChainSolver.Transitions transitions = null;
+        for (int turn = 0; turn < horizon; turn++) {
+            //The turn played is numbered from 0, the same as the turns played so far in the simulation
+            JailPolicy.Action[] turnDecisions = chain.decisions(turn);
+            if(!Arrays.equals(turnDecisions, decisions)){
+                decisions = turnDecisions;
+                transitions = chain.transitions(turn);
+            }
+            transitions.step(current, next);
+            double[] swap = current;
+            current = next;
+            next = swap;
+
+            distributions[turn + 1] = chain.squares(current);
+            expectedLandings[turn + 1] = expectedLandings[turn].clone();
+            chain.addSquares(current, expectedLandings[turn + 1]);
+        }
+    }
+
+    /**
+     * @return - the number of turns calculated
+     */
+    public int horizon() {
+        return distributions.length - 1;
+    }
+
+    /**
+     * This method gives the chance of ending the given turn on each space. Turn 0 is the start of the game, where the
+     * player is on GO.
+     * @param turn - the turn, 0 - horizon()
+     * @return - an array with one entry for every space, holding the chance of ending the turn on it
+     */
+    public double[] distribution(int turn) {
+        return distributions[checkTurn(turn)].clone();
+    }
+
+    /**
+     * This method gives the expected number of the first turns of the game that end on each space, which adds up to
+     * the number of turns. Dividing by the number of turns gives the share of those turns spent on each space.
+     * @param turns - the number of turns, 0 - horizon()
+     * @return - an array with one entry for every space, holding the expected number of turns that end on it
+     */
+    public double[] expectedLandings(int turns) {
+        return expectedLandings[checkTurn(turns)].clone();
+    }
+
+    /**
+     * This method checks that a turn was calculated.
+     */
+    private int checkTurn(int turn) {
+        if(turn < 0 || turn > horizon())
+            throw new IllegalArgumentException("Turn must be 0 - " + horizon());
+        return turn;
+    }
+}
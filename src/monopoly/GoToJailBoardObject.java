@@ -25,11 +25,11 @@ public class GoToJailBoardObject implements BoardObjects{
      * @param die1     - the value of the first dice roll
      * @param die2     - the value of the second dice roll
      * @param position - the current board position of the player
-     * @return - 10, as the player will always be put in jail after landing on this space
+     * @return - the position of the jail, as the player will always be put in jail after landing on this space
      */
     @Override
     public int move(int die1, int die2, int position) {
         jailBoardObject.sentToJail();
-        return 10;
+        return jailBoardObject.position();
     }
 }
@@ -0,0 +1,178 @@
+package monopoly;
+
+import java.util.List;
+
+/**
+ * This class works out how much rent the properties of the board are expected to earn, using the chance of ending a
+ * turn on each space from a LandingDistribution and the rents from a PropertyTable. Nothing is simulated, so a
+ * distribution can be measured or calculated once, saved, and then used to compare many rent tables.
+ *
+ * The owner is assumed to hold every property of a group, as that is when houses can be built, and to build evenly
+ * across the group. Unimproved streets of a complete group earn double rent, railroads earn the rent for owning all of
+ * them, and utilities earn their multiplier times 7 (the average roll of the dice).
+ *
+ * Income is given per round, where a round is one turn by every opponent. A turn here is the same as in the
+ * simulation, meaning each roll of the dice counts as a turn, including the extra rolls after doubles.
+ *
+ * @author Timothy Blamires
+ * @version 10/17/26
+ */
+public class IncomeAnalytics {
+
+    //The number of houses that make a hotel
+    public static final int HOTEL = 5;
+
+    //The average roll of two dice, used for the rent of utilities
+    private static final double AVERAGE_ROLL = 7;
+
+    //The chance of an opponent ending a turn on each space
+    private final LandingDistribution distribution;
+
+    //The prices and rents of the properties
+    private final PropertyTable table;
+
+    //The number of opponents that can land on the properties each round
+    private final int opponents;
+
+    /**
+     * This method builds an IncomeAnalytics.
+     * @param distribution - the chance of an opponent ending a turn on each space
+     * @param table - the prices and rents of the properties
+     * @param opponents - the number of opponents, each of them takes one turn per round
+     */
+    public IncomeAnalytics(LandingDistribution distribution, PropertyTable table, int opponents) {
+        if(opponents < 1)
+            throw new IllegalArgumentException("Must have at least one opponent");
+        if(distribution.size() != 40)
+            throw new IllegalArgumentException("Distribution must cover the 40 spaces of the board");
+        this.distribution = distribution;
+        this.table = table;
+        this.opponents = opponents;
+    }
+
+    /**
+     * This method finds the rent an opponent pays for landing on a property, when the owner holds its whole group.
+     * @param property - the property
+     * @param houses - the number of houses on every street of the group, 0 - 5 (5 is a hotel), ignored for railroads
+     * and utilities
+     * @return - the rent
+     */
+    public double rent(PropertyTable.Property property, int houses) {
+        int owned = table.groups().get(property.group()).size();
+        if(property.group().equals(PropertyTable.RAILROAD))
+            return property.rent(owned - 1);
+        if(property.group().equals(PropertyTable.UTILITY))
+            return property.rent(owned - 1) * AVERAGE_ROLL;
+        if(houses < 0 || houses > HOTEL)
+            throw new IllegalArgumentException("Number of houses not valid: " + houses);
+        return houses == 0 ? 2.0 * property.rent(0) : property.rent(houses);
+    }
+
+    /**
+     * This method finds the rent a property is expected to earn each round.
+     * @param property - the property
+     * @param houses - the number of houses on every street of the group, 0 - 5 (5 is a hotel)
+     * @return - the expected income per round
+     */
+    public double incomePerRound(PropertyTable.Property property, int houses) {
+        return opponents * distribution.probability(property.square()) * rent(property, houses);
+    }
+
+    /**
+     * This method finds the rent a whole group is expected to earn each round.
+     * @param group - the name of the group, such as "Orange"
+     * @param houses - the number of houses on every street of the group, 0 - 5 (5 is a hotel)
+     * @return - the expected income per round
+     */
+    public double groupIncomePerRound(String group, int houses) {
+        double income = 0;
+        for (PropertyTable.Property property : properties(group)) {
+            income += incomePerRound(property, houses);
+        }
+        return income;
+    }
+
+    /**
+     * This method finds the money spent on a group, buying every property and building the houses.
+     * @param group - the name of the group, such as "Orange"
+     * @param houses - the number of houses on every street of the group, 0 - 5 (5 is a hotel)
+     * @return - the total cost
+     */
+    public long groupCost(String group, int houses) {
+        long cost = 0;
+        for (PropertyTable.Property property : properties(group)) {
+            cost += property.price() + (long) houses * property.houseCost();
+        }
+        return cost;
+    }
+
+    /**
+     * This method finds the return on investment of a group, the fraction of the money spent on it that comes back as
+     * rent each round.
+     * @param group - the name of the group, such as "Orange"
+     * @param houses - the number of houses on every street of the group, 0 - 5 (5 is a hotel)
+     * @return - the expected income per round divided by the cost
+     */
+    public double returnOnInvestment(String group, int houses) {
+        return groupIncomePerRound(group, houses) / groupCost(group, houses);
+    }
+
+    /**
+     * This method finds the number of rounds it takes for the rent of a group to pay back the money spent on it.
+     * @param group - the name of the group, such as "Orange"
+     * @param houses - the number of houses on every street of the group, 0 - 5 (5 is a hotel)
+     * @return - the expected number of rounds, infinity if the group earns nothing
+     */
+    public double breakEvenRounds(String group, int houses) {
+        return groupCost(group, houses) / groupIncomePerRound(group, houses);
+    }
+
+    /**
+     * This method finds the number of rounds it takes for the last level of houses built on a group to pay for itself
+     * with the extra rent it earns. This shows which house is the best one to build next.
+     * @param group - the name of the group, such as "Orange"
+     * @param houses - the number of houses on every street of the group after building, 1 - 5 (5 is a hotel)
+     * @return - the expected number of rounds
+     */
+    public double houseBreakEvenRounds(String group, int houses) {
+        if(houses < 1 || houses > HOTEL)
+            throw new IllegalArgumentException("Number of houses not valid: " + houses);
+        double extraIncome = groupIncomePerRound(group, houses) - groupIncomePerRound(group, houses - 1);
+        return (groupCost(group, houses) - groupCost(group, houses - 1)) / extraIncome;
+    }
+
+    /**
+     * This method builds a table of the income, cost, return on investment and break even time of every group at every
+     * number of houses.
+     * @return - the table, as text
+     */
+    public String report() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(distribution.name()).append(", ").append(opponents)
+                .append(opponents == 1 ? " opponent" : " opponents").append("\n\n");
+        sb.append(String.format("%-12s %6s %12s %8s %10s %12s %12s%n", "Group", "Houses", "Income/round", "Cost",
+                "ROI/round", "Break even", "House pays"));
+
+        for (String group : table.groups().keySet()) {
+            boolean streets = properties(group).get(0).isStreet();
+            for (int houses = 0; houses <= (streets ? HOTEL : 0); houses++) {
+                sb.append(String.format("%-12s %6s %12.2f %8d %9.3f%% %12.1f %12s%n", group,
+                        streets ? (houses == HOTEL ? "hotel" : Integer.toString(houses)) : "-",
+                        groupIncomePerRound(group, houses), groupCost(group, houses),
+                        returnOnInvestment(group, houses) * 100, breakEvenRounds(group, houses),
+                        houses == 0 ? "-" : String.format("%.1f", houseBreakEvenRounds(group, houses))));
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * This method finds the properties of a group.
+     */
+    private List<PropertyTable.Property> properties(String group) {
+        List<PropertyTable.Property> properties = table.groups().get(group);
+        if(properties == null)
+            throw new IllegalArgumentException("No group named " + group);
+        return properties;
+    }
+}
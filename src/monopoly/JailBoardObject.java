@@ -1,13 +1,15 @@
 package monopoly;
 
+import java.nio.ByteBuffer;
+
 /**
  * This method acts as the jail space on the Monopoly board. This object will handle all the logic associated with
  * being in jail, and the ways to get out. The ways to get out of jail include, paying a 50$ fine, using a get out of
- * free card, or rolling doubles. This simulation has 2 strategies. In strategy "a" (false) you player will always pay
- * the fine on the first turn if they do not have a get out of jail free card at their disposal. With strategy B (true),
- * the player will attempt to roll doubles 3 times. If the player fails they will pay the fine on the third round and
- * move forward as usual. Note that because this simulation does not track a players' money, no fine is actually paid to
- * get out of jail
+ * free card, or rolling doubles. The way out is chosen by a JailPolicy. The original simulation has 2 strategies. In
+ * strategy "a" (false) you player will always pay the fine on the first turn if they do not have a get out of jail free
+ * card at their disposal. With strategy B (true), the player will attempt to roll doubles 3 times. If the player fails
+ * they will pay the fine on the third round and move forward as usual. Note that because this simulation does not track
+ * a players' money, no fine is actually paid to get out of jail
  *
  * @author Timothy Blamires
  * @version 8/30/23
@@ -25,25 +27,62 @@ public class JailBoardObject implements BoardObjects{
     //used for rolling doubles to get out of jail
     private int turnsInJail;
 
-    //false means instantly pay to get out, true means attempt to roll doubles to get out.
-    private boolean strategy;
+    //Decides how the player tries to get out of jail
+    private final JailPolicy policy;
+
+    //The position of the jail space, the number of spaces on the board, and the most turns the player can stay in jail
+    private final int position;
+    private final int size;
+    private final int maxTurns;
+
+    //The number of times the player was sent to jail and left it, for the metrics
+    private long entries;
+    private long exits;
 
     /**
      * This constructor builds a JailBoardObject which has a reference to the community chest and chance objects.
+     * @param strategy - false for strategy "a" (pay immediately), true for strategy "b" (roll for doubles)
      * @param chanceBoardObject - The object representing all chance card spaces in the game
      * @param communityChestBoardObject - The object representing all community chest card spaces in the game
      */
     public JailBoardObject(boolean strategy, ChanceBoardObject chanceBoardObject, CommunityChestBoardObject communityChestBoardObject) {
+        this(JailPolicy.of(strategy), chanceBoardObject, communityChestBoardObject);
+    }
+
+    /**
+     * This constructor builds a JailBoardObject that uses the given policy to get out of jail.
+     * @param policy - Decides how the player tries to get out of jail
+     * @param chanceBoardObject - The object representing all chance card spaces in the game
+     * @param communityChestBoardObject - The object representing all community chest card spaces in the game
+     */
+    public JailBoardObject(JailPolicy policy, ChanceBoardObject chanceBoardObject, CommunityChestBoardObject communityChestBoardObject) {
+        this(Board.STANDARD, policy, chanceBoardObject, communityChestBoardObject);
+    }
+
+    /**
+     * This constructor builds a JailBoardObject for a board read from a board file, which decides where the jail is
+     * and how many turns the player can spend in it.
+     * @param board - The board the jail is on
+     * @param policy - Decides how the player tries to get out of jail
+     * @param chanceBoardObject - The object representing all chance card spaces in the game
+     * @param communityChestBoardObject - The object representing all community chest card spaces in the game
+     */
+    public JailBoardObject(Board board, JailPolicy policy, ChanceBoardObject chanceBoardObject,
+                           CommunityChestBoardObject communityChestBoardObject) {
         this.chanceBoardObject = chanceBoardObject;
         this.communityChestBoardObject = communityChestBoardObject;
-        this.strategy = strategy;
+        this.policy = policy;
+        position = board.jail;
+        size = board.size;
+        maxTurns = board.turnsInJail;
         inJail = false;
         turnsInJail = 0;
     }
 
     /**
      * This method is called when a player lands on or gets sent to jail. This method handles the logic for getting out
-     * of jail, and also makes sure that visitors are not placed in jail
+     * of jail, and also makes sure that visitors are not placed in jail. The policy is told that the game is on turn 0,
+     * use the other move method for policies that change over the game.
      * @param die1     - the value of the first dice roll
      * @param die2     - the value of the second dice roll
      * @param position - the current board position of the player
@@ -51,45 +90,57 @@ public class JailBoardObject implements BoardObjects{
      */
     @Override
     public int move(int die1, int die2, int position) {
+        return move(die1, die2, position, 0);
+    }
+
+    /**
+     * This method is called when a player lands on or gets sent to jail. This method handles the logic for getting out
+     * of jail, and also makes sure that visitors are not placed in jail
+     * @param die1     - the value of the first dice roll
+     * @param die2     - the value of the second dice roll
+     * @param position - the current board position of the player
+     * @param turn     - the number of turns played in the game so far, passed on to the policy
+     * @return The position of the player after the turn
+     */
+    int move(int die1, int die2, int position, long turn) {
         //If you are a visitor no work needs to be done
         if(inJail){
             turnsInJail++;
-            //On the first turn in jail you will use the get out of jail free cards if you have them
-            if(turnsInJail == 1){
-
-                //If you get out of jail use your turn as normal
-                if(chanceBoardObject.hasGetOutOfJailCard()){
-                    chanceBoardObject.useGetOutOfJailCard();
-                    inJail = false;
-                    turnsInJail = 0;
-                    return position + die1 + die2;
-                }
-                else if(communityChestBoardObject.hasGetOutOfJailCard()){
-                    communityChestBoardObject.useGetOutOfJailCard();
-                    inJail = false;
-                    turnsInJail = 0;
-                    return position + die1 + die2;
-                }
-
-                //Strategy "a" (false) will pay instantly to get out of jail if they do not have cards
-                else if(!strategy){
-                    inJail = false;
-                    turnsInJail = 0;
-                    return position + die1 + die2;
-
-                }
-            }
+            boolean holdsCard = chanceBoardObject.hasGetOutOfJailCard() || communityChestBoardObject.hasGetOutOfJailCard();
 
-            //Once you roll doubles, or wait 3 days strategy b will get out of jail and move forward
-            if(turnsInJail == 3 || die1 == die2){
-                inJail = false;
-                turnsInJail = 0;
-                return position + die1 + die2;
+            switch (policy.decide(turnsInJail, holdsCard, turn)) {
+                //If you get out of jail use your turn as normal, the chance card is used first
+                case USE_CARD:
+                    if(chanceBoardObject.hasGetOutOfJailCard())
+                        chanceBoardObject.useGetOutOfJailCard();
+                    else if(communityChestBoardObject.hasGetOutOfJailCard())
+                        communityChestBoardObject.useGetOutOfJailCard();
+                    else
+                        throw new IllegalStateException(policy.name() + " used a get out of jail free card it does not hold");
+                    return leaveJail(die1, die2, position);
+                case PAY:
+                    return leaveJail(die1, die2, position);
+                case ROLL:
+                    //Once you roll doubles, or wait the most turns allowed you will get out of jail and move forward
+                    if(turnsInJail == maxTurns || die1 == die2)
+                        return leaveJail(die1, die2, position);
+                    break;
             }
         }
 
         //If not in jail then you are just visiting meaning your position stays the same
-        return 10;
+        return this.position;
+    }
+
+    /**
+     * This method takes the player out of jail and moves them forward by the dice.
+     */
+    private int leaveJail(int die1, int die2, int position) {
+        exits++;
+        inJail = false;
+        turnsInJail = 0;
+        position += die1 + die2;
+        return position >= size ? position - size : position;
     }
 
     /**
@@ -97,9 +148,48 @@ public class JailBoardObject implements BoardObjects{
      * a prisoner and not as a visitor by the JailBoardObject
      */
     public void sentToJail() {
+        entries++;
         inJail = true;
     }
 
+    /**
+     * @return - the position of the jail space
+     */
+    int position() {
+        return position;
+    }
+
+    /**
+     * @return - the number of times the player was sent to jail
+     */
+    long entries() {
+        return entries;
+    }
+
+    /**
+     * @return - the number of times the player left jail
+     */
+    long exits() {
+        return exits;
+    }
+
+    /**
+     * This method writes whether the player is in jail and for how long, so that it can be restored with readState.
+     * @param out - where the state is written
+     */
+    void writeState(ByteBuffer out) {
+        out.put((byte) (inJail ? 1 : 0)).putInt(turnsInJail);
+    }
+
+    /**
+     * This method restores the state written by writeState.
+     * @param in - where the state is read from
+     */
+    void readState(ByteBuffer in) {
+        inJail = in.get() != 0;
+        turnsInJail = in.getInt();
+    }
+
     /**
      * This method returns true if the player is in jail and false if they are not. Note that being a visitor does not
      * mean you are in jail
@@ -0,0 +1,152 @@
+package monopoly;
+
+/**
+ * This interface decides how a player in jail tries to get out. At the start of every turn spent in jail the policy is
+ * asked what to do, and can choose to
+ * - use a get out of jail free card (only if the player holds one)
+ * - pay the fine
+ * - roll for doubles, which gets the player out if doubles are rolled. On the third turn in jail the player has to pay
+ *   the fine if they fail, so rolling on the third turn always gets the player out
+ * In every case the player moves forward by the roll of the dice once they are out, without rolling again for doubles.
+ *
+ * Policies are given the turn number of the game so that they can change over time, for example paying to get out early
+ * in the game while there is property to buy, then staying in once the board is full of houses. A policy should always
+ * give the same answer for the same arguments, as the MarkovChainSolver asks it about every situation ahead of time.
+ *
+ * @author Timothy Blamires
+ * @version 10/17/26
+ */
+@FunctionalInterface
+public interface JailPolicy {
+
+    /**
+     * The things a player can do at the start of a turn in jail.
+     */
+    enum Action {
+        USE_CARD,
+        PAY,
+        ROLL
+    }
+
+    /**
+     * This method decides what a player in jail does this turn.
+     * @param attempt - the number of this turn in jail, 1 - 3 on the standard board
+     * @param holdsCard - true if the player holds at least one get out of jail free card
+     * @param turn - the number of turns this player has played in the game so far, counting every roll of the dice
+     * as a turn just like the frequencies. Every simulation and the FiniteHorizonSolver count it the same way: with
+     * more players it only counts the turns of the player in jail, and with many games played together it counts the
+     * turns of one game
+     * @return - the action to take, USE_CARD may only be returned if holdsCard is true
+     */
+    Action decide(int attempt, boolean holdsCard, long turn);
+
+    /**
+     * This method gives the name used for this policy when reporting results. By default this is "Custom policy", use
+     * named to give a policy a better name.
+     * @return - the name of the policy
+     */
+    default String name() {
+        return "Custom policy";
+    }
+
+    /**
+     * This method gives a policy a name, which is used when reporting its results.
+     * @param name - the name of the policy
+     * @param policy - the policy
+     * @return - a policy that makes the same decisions, with the given name
+     */
+    static JailPolicy named(String name, JailPolicy policy) {
+        return new NamedJailPolicy(name, policy);
+    }
+
+    /**
+     * This method builds strategy "a", which uses a get out of jail free card if it has one, and otherwise pays the fine
+     * on the first turn.
+     * @return - the policy
+     */
+    static JailPolicy payImmediately() {
+        return named("Strategy a", (attempt, holdsCard, turn) -> holdsCard ? Action.USE_CARD : Action.PAY);
+    }
+
+    /**
+     * This method builds strategy "b", which uses a get out of jail free card if it has one, and otherwise tries to roll
+     * doubles for 3 turns before paying the fine.
+     * @return - the policy
+     */
+    static JailPolicy rollForDoubles() {
+        return named("Strategy b", (attempt, holdsCard, turn) -> holdsCard ? Action.USE_CARD : Action.ROLL);
+    }
+
+    /**
+     * This method builds the policy for one of the two original strategies.
+     * @param strategy - false for strategy "a" (payImmediately), true for strategy "b" (rollForDoubles)
+     * @return - the policy
+     */
+    static JailPolicy of(boolean strategy) {
+        return strategy ? rollForDoubles() : payImmediately();
+    }
+
+    /**
+     * This method builds a policy that uses a get out of jail free card if it has one, and otherwise tries to roll
+     * doubles until the given turn in jail, where it pays the fine. Paying on turn 1 is strategy "a", and paying on turn
+     * 3 acts the same as strategy "b".
+     * @param payTurn - the turn in jail to pay the fine on, 1 - 3
+     * @return - the policy
+     */
+    static JailPolicy payOnTurn(int payTurn) {
+        if(payTurn < 1 || payTurn > 3)
+            throw new IllegalArgumentException("The fine can only be paid on turn 1, 2 or 3");
+        return named("Pay on turn " + payTurn, (attempt, holdsCard, turn) -> {
+            if(holdsCard)
+                return Action.USE_CARD;
+            return attempt >= payTurn ? Action.PAY : Action.ROLL;
+        });
+    }
+
+    /**
+     * This method builds a policy that never uses its get out of jail free cards, and always tries to roll doubles.
+     * The cards stay out of the decks for the rest of the game once they are drawn.
+     * @return - the policy
+     */
+    static JailPolicy holdCard() {
+        return named("Hold card", (attempt, holdsCard, turn) -> Action.ROLL);
+    }
+
+    /**
+     * This method builds a policy that gets out of jail as fast as possible early in the game (like strategy "a"), then
+     * from the given turn on stays in jail as long as it can (like strategy "b" without using its cards). This is the
+     * usual advice for a real game, where jail is a safe place once the board is full of houses.
+     * @param lateTurn - the first turn of the game where the player stays in jail
+     * @return - the policy
+     */
+    static JailPolicy stayInAfter(long lateTurn) {
+        if(lateTurn < 0)
+            throw new IllegalArgumentException("Turn must not be negative");
+        return named("Stay in after turn " + lateTurn, (attempt, holdsCard, turn) -> {
+            if(turn >= lateTurn)
+                return Action.ROLL;
+            return holdsCard ? Action.USE_CARD : Action.PAY;
+        });
+    }
+
+    /**
+     * This method builds a policy from text. The text can be "a" or "b" for the original strategies,
+     * "pay-on-turn:k", "hold-card" or "stay-in-after:turn".
+     * @param spec - the text describing the policy
+     * @return - the policy
+     */
+    static JailPolicy parse(String spec) {
+        String[] parts = spec.split(":");
+        if(parts.length == 1 && parts[0].equals("a"))
+            return payImmediately();
+        if(parts.length == 1 && parts[0].equals("b"))
+            return rollForDoubles();
+        if(parts.length == 1 && parts[0].equals("hold-card"))
+            return holdCard();
+        if(parts.length == 2 && parts[0].equals("pay-on-turn"))
+            return payOnTurn(Integer.parseInt(parts[1]));
+        if(parts.length == 2 && parts[0].equals("stay-in-after"))
+            return stayInAfter(Long.parseLong(parts[1].replace("_", "")));
+        throw new IllegalArgumentException("Jail policy not valid: " + spec);
+    }
+}
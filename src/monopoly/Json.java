@@ -0,0 +1,173 @@
+package monopoly;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * This class reads and writes the small amount of JSON used by the SimulationServer. Only a flat object is read, where
+ * every value is a string, a number, true, false or null, as that is all a simulation request needs. Numbers are kept
+ * as BigDecimal so that 64 bit seeds are read exactly.
+ *
+ * @author Timothy Blamires
+ * @version 10/17/26
+ */
+final class Json {
+
+    //The text being read, and the position of the next character
+    private final String text;
+    private int at;
+
+    private Json(String text) {
+        this.text = text;
+    }
+
+    /**
+     * This method reads a flat JSON object.
+     * @param text - the JSON text, such as {"policy": "b", "turns": 100000}
+     * @return - the values of the object by name, in the order they were written. Strings are String, numbers are
+     * BigDecimal, true and false are Boolean, and null is null
+     */
+    static Map<String, Object> parseObject(String text) {
+        Json json = new Json(text);
+        Map<String, Object> values = new LinkedHashMap<>();
+        json.expect('{');
+        if(json.peek() == '}'){
+            json.at++;
+        }
+        else{
+            while(true){
+                String key = json.string();
+                json.expect(':');
+                if(values.containsKey(key))
+                    throw new IllegalArgumentException("JSON name given twice: " + key);
+                values.put(key, json.value());
+                char next = json.peek();
+                json.at++;
+                if(next == '}')
+                    break;
+                if(next != ',')
+                    throw new IllegalArgumentException("JSON not valid at character " + (json.at - 1));
+            }
+        }
+        if(json.peek() != 0)
+            throw new IllegalArgumentException("JSON has text after the object");
+        return values;
+    }
+
+    /**
+     * This method writes a string as a JSON string, with quotes and escapes.
+     * @param value - the string
+     * @return - the JSON string
+     */
+    static String quote(String value) {
+        StringBuilder sb = new StringBuilder("\"");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if(c == '"' || c == '\\')
+                sb.append('\\').append(c);
+            else if(c < 0x20)
+                sb.append(String.format("\\u%04x", (int) c));
+            else
+                sb.append(c);
+        }
+        return sb.append('"').toString();
+    }
+
+    /**
+     * This method reads one value, which can not be an object or an array.
+     */
+    private Object value() {
+        char c = peek();
+        if(c == '"')
+            return string();
+        if(text.startsWith("true", at)){
+            at += 4;
+            return Boolean.TRUE;
+        }
+        if(text.startsWith("false", at)){
+            at += 5;
+            return Boolean.FALSE;
+        }
+        if(text.startsWith("null", at)){
+            at += 4;
+            return null;
+        }
+
+        int start = at;
+        while(at < text.length() && "+-0123456789.eE".indexOf(text.charAt(at)) >= 0){
+            at++;
+        }
+        try {
+            return new BigDecimal(text.substring(start, at));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("JSON value not valid at character " + start);
+        }
+    }
+
+    /**
+     * This method reads a string, turning its escapes back into characters.
+     */
+    private String string() {
+        expect('"');
+        StringBuilder sb = new StringBuilder();
+        while(true){
+            if(at >= text.length())
+                throw new IllegalArgumentException("JSON string is not closed");
+            char c = text.charAt(at++);
+            if(c == '"')
+                return sb.toString();
+            if(c != '\\'){
+                sb.append(c);
+                continue;
+            }
+            if(at >= text.length())
+                throw new IllegalArgumentException("JSON string is not closed");
+            char escape = text.charAt(at++);
+            switch (escape) {
+                case 'b':
+                    sb.append('\b');
+                    break;
+                case 'f':
+                    sb.append('\f');
+                    break;
+                case 'n':
+                    sb.append('\n');
+                    break;
+                case 'r':
+                    sb.append('\r');
+                    break;
+                case 't':
+                    sb.append('\t');
+                    break;
+                case 'u':
+                    if(at + 4 > text.length())
+                        throw new IllegalArgumentException("JSON escape not valid");
+                    sb.append((char) Integer.parseInt(text.substring(at, at + 4), 16));
+                    at += 4;
+                    break;
+                default:
+                    sb.append(escape);
+            }
+        }
+    }
+
+    /**
+     * This method skips any whitespace, then checks that the next character is the given one.
+     */
+    private void expect(char c) {
+        if(peek() != c)
+            throw new IllegalArgumentException("JSON not valid, expected " + c + " at character " + at);
+        at++;
+    }
+
+    /**
+     * This method skips any whitespace and returns the next character without reading it, 0 at the end of the text.
+     */
+    private char peek() {
+        while(at < text.length() && Character.isWhitespace(text.charAt(at))){
+            at++;
+        }
+        return at < text.length() ? text.charAt(at) : 0;
+    }
+}
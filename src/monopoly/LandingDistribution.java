@@ -0,0 +1,183 @@
+package monopoly;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class holds the chance of ending a turn on each space of the board, either measured by one of the simulations or
+ * calculated by the MarkovChainSolver. Distributions can be saved to a file and read back later, so that questions
+ * about the board that only depend on where the players land (such as how much rent a property earns) can be answered
+ * without running the simulation again.
+ *
+ * A file holds any number of distributions, each written as the name on one line, the number of turns on the next (0
+ * for an exact distribution), then the probability of every space on its own line, followed by a blank line.
+ *
+ * @author Timothy Blamires
+ * @version 10/17/26
+ */
+public final class LandingDistribution {
+
+    //The name of the simulation or policy, such as "Strategy a"
+    private final String name;
+
+    //The number of turns the distribution was measured over, 0 if it was calculated exactly
+    private final long turns;
+
+    //The chance of ending a turn on each space
+    private final double[] probabilities;
+
+    /**
+     * This method builds a LandingDistribution.
+     * @param name - the name of the simulation or policy
+     * @param turns - the number of turns the distribution was measured over, 0 if it was calculated exactly
+     * @param probabilities - the chance of ending a turn on each space
+     */
+    public LandingDistribution(String name, long turns, double[] probabilities) {
+        if(turns < 0)
+            throw new IllegalArgumentException("Number of turns not valid");
+        this.name = name;
+        this.turns = turns;
+        this.probabilities = probabilities.clone();
+    }
+
+    /**
+     * This method builds the distribution measured by a simulation.
+     * @param snapshot - the results of the simulation
+     * @return - the distribution
+     */
+    public static LandingDistribution of(Snapshot snapshot) {
+        double[] probabilities = new double[snapshot.size()];
+        for (int i = 0; i < probabilities.length; i++) {
+            probabilities[i] = snapshot.probability(i);
+        }
+        return new LandingDistribution(snapshot.name(), snapshot.turns(), probabilities);
+    }
+
+    /**
+     * This method calculates the exact long run distribution of a jail policy with the MarkovChainSolver.
+     * @param policy - Decides how the player tries to get out of jail
+     * @return - the distribution
+     */
+    public static LandingDistribution exact(JailPolicy policy) {
+        return exact(Board.STANDARD, policy);
+    }
+
+    /**
+     * This method calculates the exact long run distribution of a jail policy on the given board with the
+     * MarkovChainSolver.
+     * @param board - the board, such as Board.STANDARD or a board read with Board.load
+     * @param policy - Decides how the player tries to get out of jail
+     * @return - the distribution
+     */
+    public static LandingDistribution exact(Board board, JailPolicy policy) {
+        return new LandingDistribution(policy.name(), 0, new MarkovChainSolver(board, policy).solve());
+    }
+
+    /**
+     * @return - the name of the simulation or policy
+     */
+    public String name() {
+        return name;
+    }
+
+    /**
+     * @return - the number of turns the distribution was measured over, 0 if it was calculated exactly
+     */
+    public long turns() {
+        return turns;
+    }
+
+    /**
+     * @return - the number of spaces on the board
+     */
+    public int size() {
+        return probabilities.length;
+    }
+
+    /**
+     * @param square - a position on the board
+     * @return - the chance of ending a turn on the space
+     */
+    public double probability(int square) {
+        return probabilities[square];
+    }
+
+    /**
+     * This method writes distributions to a file, replacing anything already in the file.
+     * @param path - the file to write
+     * @param distributions - the distributions to write
+     * @throws IOException - if the file can not be written
+     */
+    public static void save(Path path, List<LandingDistribution> distributions) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        for (LandingDistribution distribution : distributions) {
+            sb.append(distribution.name).append('\n').append(distribution.turns).append('\n');
+            for (double p : distribution.probabilities) {
+                sb.append(p).append('\n');
+            }
+            sb.append('\n');
+        }
+        Files.writeString(path, sb);
+    }
+
+    /**
+     * This method reads the distributions written by save.
+     * @param path - the file to read
+     * @return - the distributions, in the order they were written
+     * @throws IOException - if the file can not be read
+     */
+    public static List<LandingDistribution> load(Path path) throws IOException {
+        List<String> lines = Files.readAllLines(path);
+        List<LandingDistribution> distributions = new ArrayList<>();
+        int line = 0;
+        while(line < lines.size()){
+            if(lines.get(line).isBlank()){
+                line++;
+                continue;
+            }
+            String name = lines.get(line++);
+            if(line >= lines.size())
+                throw new IllegalArgumentException("Distribution " + name + " has no turns");
+            long turns = Long.parseLong(lines.get(line++).trim());
+            List<Double> probabilities = new ArrayList<>();
+            while(line < lines.size() && !lines.get(line).isBlank()){
+                probabilities.add(Double.parseDouble(lines.get(line++).trim()));
+            }
+            distributions.add(new LandingDistribution(name, turns,
+                    probabilities.stream().mapToDouble(Double::doubleValue).toArray()));
+        }
+        return distributions;
+    }
+
+    /**
+     * This method builds a sink that keeps the latest results of every simulation sent to it, and saves them to a file
+     * as distributions when it is closed. Results with the same name replace each other, so a run of "both" saves one
+     * distribution for each strategy.
+     * @param path - the file to write
+     * @return - the sink
+     */
+    public static ResultSink saveOnClose(Path path) {
+        Map<String, LandingDistribution> latest = new LinkedHashMap<>();
+        return new ResultSink() {
+            @Override
+            public synchronized void accept(Snapshot snapshot) {
+                latest.put(snapshot.name(), of(snapshot));
+            }
+
+            @Override
+            public synchronized void close() {
+                try {
+                    save(path, new ArrayList<>(latest.values()));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,387 @@
+package monopoly;
+
+import java.util.Arrays;
+
+/**
+ * This class calculates the exact long run probability of ending a turn on each space of the board, instead of
+ * estimating it by playing millions of turns like the MonopolySimulation does. The game is modeled as a Markov chain,
+ * where the state of the player is made up of
+ * - their position on the board
+ * - the number of doubles they have rolled in a row (0 - 2 on the standard board)
+ * - the number of turns they have spent in jail (0 - 2 on the standard board), if they are in jail
+ * - which get out of jail free cards they are holding
+ * The chance of moving from every state to every other state in one turn is calculated using the same board, rules and
+ * compiled cards as the simulation, then the stationary distribution is found by power iteration. The only difference from
+ * the simulation is that the card decks are treated as if every card in the deck is equally likely to be drawn, since
+ * remembering the order of the deck would make the number of states far too large.
+ *
+ * @author Timothy Blamires
+ * @version 10/17/26
+ */
+public class MarkovChainSolver {
+
+    //Bits used to keep track of which get out of jail free cards the player holds
+    private static final int CHANCE_CARD = 1;
+    private static final int COMMUNITY_CHEST_CARD = 2;
+    private static final int CARD_COMBINATIONS = 4;
+
+
+    //The solver stops once the distribution changes by less than this amount in one iteration
+    private static final double TOLERANCE = 1e-15;
+    private static final int MAX_ITERATIONS = 1_000_000;
+
+    //The turn the policy is told the game is on. The long run is found by playing forever, so the policy is always
+    //asked about the latest part of the game
+    private static final long LONG_RUN_TURN = Long.MAX_VALUE;
+
+    //Decides how the player tries to get out of jail
+    private final JailPolicy policy;
+
+    //The board the player is on
+    private final Board board;
+
+    //The number of doubles in a row that are counted, 1 if doubles never send the player to jail as then they do
+    //not need to be counted
+    private final int doubleStates;
+
+    //States for a player out of jail come first, followed by the states of a player in jail
+    private final int freeStates;
+    private final int states;
+
+    /**
+     * This method builds a MarkovChainSolver for the given jail policy. Policies that change over the game are solved
+     * using the decisions they make late in the game, as that is where the player spends almost all of their turns.
+     * @param policy - Decides how the player tries to get out of jail
+     */
+    public MarkovChainSolver(JailPolicy policy) {
+        this(Board.STANDARD, policy);
+    }
+
+    /**
+     * This method builds a MarkovChainSolver for the given jail policy, played on the given board.
+     * @param board - the board, such as Board.STANDARD or a board read with Board.load
+     * @param policy - Decides how the player tries to get out of jail
+     */
+    public MarkovChainSolver(Board board, JailPolicy policy) {
+        this.policy = policy;
+        this.board = board;
+        doubleStates = board.doublesToJail == Integer.MAX_VALUE ? 1 : board.doublesToJail;
+        freeStates = board.size * doubleStates * CARD_COMBINATIONS;
+        states = freeStates + board.turnsInJail * CARD_COMBINATIONS;
+    }
+
+    /**
+     * This method calculates the long run probability of the player ending their turn on each space of the board. Just
+     * like the frequencies recorded by the simulation, being in jail and just visiting both count as the jail space.
+     * @return - an array with one entry for every space, holding the probability of ending a turn on it
+     */
+    public double[] solve() {
+        Transitions transitions = transitions(LONG_RUN_TURN);
+
+        //Power iteration, starting with the player on GO
+        double[] current = start();
+        double[] next = new double[states];
+        for (int iteration = 0; iteration < MAX_ITERATIONS; iteration++) {
+            transitions.step(current, next);
+
+            double change = 0;
+            for (int i = 0; i < states; i++) {
+                change += Math.abs(next[i] - current[i]);
+            }
+            double[] swap = current;
+            current = next;
+            next = swap;
+            if(change < TOLERANCE) break;
+        }
+        return squares(current);
+    }
+
+    /**
+     * @return - the number of states of the chain
+     */
+    int states() {
+        return states;
+    }
+
+    /**
+     * This method builds the distribution over the states of a player that has not played yet, who is on GO.
+     * @return - the chance of being in each state
+     */
+    double[] start() {
+        double[] start = new double[states];
+        start[freeState(0, 0, 0)] = 1;
+        return start;
+    }
+
+    /**
+     * This method adds up the chance of every state on each space of the board. Just like the frequencies recorded by
+     * the simulation, being in jail and just visiting both count as the jail space.
+     * @param distribution - the chance of being in each state
+     * @param squares - where the chance of being on each space is added
+     */
+    void addSquares(double[] distribution, double[] squares) {
+        for (int state = 0; state < freeStates; state++) {
+            squares[state / (doubleStates * CARD_COMBINATIONS)] += distribution[state];
+        }
+        for (int state = freeStates; state < states; state++) {
+            squares[board.jail] += distribution[state];
+        }
+    }
+
+    /**
+     * This method adds up the chance of every state on each space of the board.
+     * @param distribution - the chance of being in each state
+     * @return - an array with one entry for every space, holding the chance of being on it
+     */
+    double[] squares(double[] distribution) {
+        double[] squares = new double[board.size];
+        addSquares(distribution, squares);
+        return squares;
+    }
+
+    /**
+     * This method finds what the policy decides for every turn in jail, with and without a get out of jail free card,
+     * on the given turn of the game. Two turns with the same decisions have the same transitions.
+     * @param turn - the number of turns played in the game so far
+     * @return - the decisions, without a card then with a card for each turn in jail
+     */
+    JailPolicy.Action[] decisions(long turn) {
+        JailPolicy.Action[] decisions = new JailPolicy.Action[2 * board.turnsInJail];
+        for (int attempt = 1; attempt <= board.turnsInJail; attempt++) {
+            decisions[2 * attempt - 2] = policy.decide(attempt, false, turn);
+            decisions[2 * attempt - 1] = policy.decide(attempt, true, turn);
+        }
+        return decisions;
+    }
+
+    /**
+     * This method builds the transitions of one turn, storing only the ones that can happen so that each step is fast.
+     * Each state can only reach a few dozen others, so the rows are built one at a time instead of as a full matrix,
+     * which would not fit in memory for large boards or rules that count many doubles in a row.
+     * @param turn - the number of turns played in the game so far, passed on to the policy
+     * @return - the transitions
+     */
+    Transitions transitions(long turn) {
+        DiceTable dice = board.dice;
+        Row row = new Row(states);
+        int[] rowStart = new int[states + 1];
+        int[] columns = new int[64];
+        double[] probabilities = new double[64];
+        int count = 0;
+
+        for (int from = 0; from < states; from++) {
+            rowStart[from] = count;
+
+            //Every outcome of the dice, with its exact chance. Two normal dice give 36 outcomes of 1 / 36
+            for (int roll = 0; roll < dice.outcomes(); roll++) {
+                double p = dice.probabilities[roll];
+                if(p == 0) continue;
+                int d1 = dice.die1[roll];
+                int d2 = dice.die2[roll];
+                if(from < freeStates){
+                    int cards = from % CARD_COMBINATIONS;
+                    int doubles = from / CARD_COMBINATIONS % doubleStates;
+                    int position = from / CARD_COMBINATIONS / doubleStates;
+                    addFreeTurn(row, position, doubles, cards, d1 == d2, dice.steps[roll], p);
+                }
+                else{
+                    int cards = (from - freeStates) % CARD_COMBINATIONS;
+                    int turnsInJail = (from - freeStates) / CARD_COMBINATIONS;
+                    addJailTurn(row, turnsInJail, cards, d1, d2, p, turn);
+                }
+            }
+
+            //The row is stored in order of the state it goes to
+            if(count + row.count > columns.length){
+                columns = Arrays.copyOf(columns, Math.max(2 * columns.length, count + row.count));
+                probabilities = Arrays.copyOf(probabilities, columns.length);
+            }
+            count = row.moveTo(columns, probabilities, count);
+        }
+        rowStart[states] = count;
+        return new Transitions(rowStart, Arrays.copyOf(columns, count), Arrays.copyOf(probabilities, count));
+    }
+
+    /**
+     * This method adds the result of one roll of the dice for a player that is not in jail. This follows the same
+     * logic as the MonopolySimulation.
+     */
+    private void addFreeTurn(Row row, int position, int doubles, int cards, boolean rolledDoubles, int steps,
+                             double p) {
+
+        //3 doubles in a row sends you to jail, when doubles never do they are not counted
+        int doublesInARow = rolledDoubles && doubleStates > 1 ? doubles + 1 : 0;
+        if(rolledDoubles && doubles + 1 == board.doublesToJail){
+            row.add(jailState(0, cards), p);
+            return;
+        }
+
+        //move the player forward on the board (wrap around after the last space), including the speed die
+        position = (position + steps) % board.size;
+
+        switch (board.actions[position]) {
+            case Board.CHANCE:
+                addCardDraw(row, board.chance, CHANCE_CARD, position, doublesInARow, cards, p);
+                break;
+            case Board.COMMUNITY_CHEST:
+                addCardDraw(row, board.communityChest, COMMUNITY_CHEST_CARD, position, doublesInARow, cards, p);
+                break;
+            case Board.GO_TO_JAIL:
+                row.add(jailState(0, cards), p);
+                break;
+            default:
+                row.add(freeState(position, doublesInARow, cards), p);
+        }
+    }
+
+    /**
+     * This method adds the result of drawing a card from one of the decks. Every card in the deck is treated as equally
+     * likely to be drawn. The get out of jail free card is not in the deck while the player is holding it.
+     */
+    private void addCardDraw(Row row, CardTable deck, int cardBit, int position, int doubles, int cards,
+                             double p) {
+        boolean holdingCard = (cards & cardBit) != 0;
+        double draw = p / (holdingCard ? deck.cards() - 1 : deck.cards());
+
+        for (int card = 0; card < deck.cards(); card++) {
+            switch (deck.effects[card]) {
+                case CardTable.KEEP:
+                    if(!holdingCard)
+                        row.add(freeState(deck.destination(card, position), doubles, cards | cardBit), draw);
+                    break;
+                case CardTable.JAIL:
+                    row.add(jailState(0, cards), draw);
+                    break;
+                default:
+                    row.add(freeState(deck.destination(card, position), doubles, cards), draw);
+            }
+        }
+    }
+
+    /**
+     * This method adds the result of one roll of the dice for a player in jail. This follows the same logic as the
+     * JailBoardObject, including moving forward from jail without interacting with the space the player lands on, and
+     * only by the two normal dice.
+     */
+    private void addJailTurn(Row row, int turnsInJail, int cards, int d1, int d2, double p, long turn) {
+        turnsInJail++;
+        int exit = (board.jail + d1 + d2) % board.size;
+
+        switch (policy.decide(turnsInJail, cards != 0, turn)) {
+            //The chance card is used first
+            case USE_CARD:
+                if(cards == 0)
+                    throw new IllegalStateException(policy.name() + " used a get out of jail free card it does not hold");
+                int used = (cards & CHANCE_CARD) != 0 ? CHANCE_CARD : COMMUNITY_CHEST_CARD;
+                row.add(freeState(exit, 0, cards & ~used), p);
+                break;
+            case PAY:
+                row.add(freeState(exit, 0, cards), p);
+                break;
+            default:
+                //Once you roll doubles, or wait the most turns allowed you will get out of jail and move forward
+                if(turnsInJail == board.turnsInJail || d1 == d2)
+                    row.add(freeState(exit, 0, cards), p);
+                else
+                    row.add(jailState(turnsInJail, cards), p);
+        }
+    }
+
+    /**
+     * This method finds the index of the state for a player that is not in jail.
+     */
+    private int freeState(int position, int doubles, int cards) {
+        return (position * doubleStates + doubles) * CARD_COMBINATIONS + cards;
+    }
+
+    /**
+     * This method finds the index of the state for a player that is in jail.
+     */
+    private int jailState(int turnsInJail, int cards) {
+        return freeStates + turnsInJail * CARD_COMBINATIONS + cards;
+    }
+
+    /**
+     * This class collects the transitions out of one state while they are added up, remembering which states were
+     * reached so that the row can be stored and cleared without looking at every state.
+     */
+    private static final class Row {
+
+        //The chance of reaching each state, and the states reached so far
+        private final double[] values;
+        private final boolean[] reached;
+        private final int[] states;
+        private int count;
+
+        private Row(int size) {
+            values = new double[size];
+            reached = new boolean[size];
+            states = new int[size];
+        }
+
+        /**
+         * This method adds to the chance of reaching a state.
+         */
+        private void add(int state, double p) {
+            if(!reached[state]){
+                reached[state] = true;
+                states[count++] = state;
+            }
+            values[state] += p;
+        }
+
+        /**
+         * This method stores the transitions that can happen in order of the state they go to, then clears the row.
+         * @return - the number of transitions stored so far, including this row
+         */
+        private int moveTo(int[] columns, double[] probabilities, int at) {
+            Arrays.sort(states, 0, count);
+            for (int i = 0; i < count; i++) {
+                int state = states[i];
+                if(values[state] != 0){
+                    columns[at] = state;
+                    probabilities[at] = values[state];
+                    at++;
+                }
+                values[state] = 0;
+                reached[state] = false;
+            }
+            count = 0;
+            return at;
+        }
+    }
+
+    /**
+     * This class holds the transitions of one turn, as the rows of a sparse matrix.
+     */
+    static final class Transitions {
+
+        //The transitions out of state i are entries rowStart[i] to rowStart[i + 1] - 1, each going to the state in
+        //columns with the chance in probabilities
+        private final int[] rowStart;
+        private final int[] columns;
+        private final double[] probabilities;
+
+        private Transitions(int[] rowStart, int[] columns, double[] probabilities) {
+            this.rowStart = rowStart;
+            this.columns = columns;
+            this.probabilities = probabilities;
+        }
+
+        /**
+         * This method plays one turn from a distribution over the states.
+         * @param current - the chance of being in each state before the turn
+         * @param next - where the chance of being in each state after the turn is written
+         */
+        void step(double[] current, double[] next) {
+            Arrays.fill(next, 0);
+            for (int from = 0; from < current.length; from++) {
+                double p = current[from];
+                if(p == 0) continue;
+                for (int i = rowStart[from]; i < rowStart[from + 1]; i++) {
+                    next[columns[i]] += p * probabilities[i];
+                }
+            }
+        }
+    }
+}
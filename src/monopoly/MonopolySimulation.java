@@ -1,12 +1,8 @@
 package monopoly;
 
-import java.awt.*;
-import java.awt.datatransfer.Clipboard;
-import java.awt.datatransfer.StringSelection;
-import java.awt.datatransfer.Transferable;
-import java.text.NumberFormat;
-import java.util.HashMap;
-import java.util.Random;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * This class acts as a simulation of monopoly in order to find which places are the most probable for a player to land
@@ -18,14 +14,28 @@ import java.util.Random;
  */
 public class MonopolySimulation {
 
-    //Defines which strategy you use to get out of jail
-    private final boolean strategy;
+    //The number of turns in each batch when running until the frequencies converge. This is far longer than the few
+    //turns it takes for the board position to be independent of where it was, so the batches are close to independent
+    static final long BATCH_SIZE = 10_000;
 
-    //used as the dice of the game
-    private final Random rng;
+    //The fewest batches used to decide if the frequencies have converged
+    static final int MIN_BATCHES = 30;
+
+    //The number of turns in a segment. The dice are seeded again at the start of every segment, so the simulation can
+    //be saved at the start of a segment and carried on later with exactly the same results
+    static final long SEGMENT_TURNS = 1L << 20;
+
+    //The bytes written by saveState for the player and the jail, on top of the frequencies and the decks
+    private static final int STATE_BYTES = 64;
+
+    //Decides how the player tries to get out of jail
+    private final JailPolicy policy;
+
+    //used as the dice of the game, and to shuffle the card decks
+    private final RandomSource rng;
 
     //used to keep track of which spots are landed on most frequently
-    private final int[] freq;
+    private final long[] freq;
 
     //Board objects used to keep track of the logic of some spaces
     private final CommunityChestBoardObject communityChestBoardObject;
@@ -33,8 +43,43 @@ public class MonopolySimulation {
     private final JailBoardObject jailBoardObject;
     private final GoToJailBoardObject goToJailBoardObject;
 
-    //Hashmap to map board position to Board Objects
-    private final HashMap<Integer, BoardObjects> boardSpaces;
+    //The action code of every board position, used to find which Board Object (if any) handles a space
+    private final byte[] squareActions;
+
+    //The board and its rules, copied into fields so the turn loop reads them directly
+    private final Board board;
+    private final int size;
+    private final int jail;
+    private final int doublesToJail;
+
+    //The dice, and the value of each die and the number of spaces moved for every outcome of a roll
+    private final DiceTable dice;
+    private final int[] die1;
+    private final int[] die2;
+    private final int[] steps;
+
+    //Where the results are sent at each checkpoint
+    private ResultSink sink;
+
+    //How many turns are played, and when the results are sent to the sink
+    private CheckpointSchedule schedule;
+
+    //Where the state is saved every so often, or null to not save it
+    private StateFile stateFile;
+
+    //Where every turn is recorded, or null to not record them
+    private EventLog eventLog;
+
+    //Where the transitions and causes of every turn are counted, or null to not count them
+    private TurnStatistics statistics;
+
+    //Where the counts of the simulation are published for JMX, or null to not publish them
+    private SimulationMetrics.Source metrics;
+
+    //Variables used to track the player between calls to playUntil
+    private int doublesInARow;
+    private long turns;
+    private int position;
 
     /**
      * This method builds a MonopolySimulation object. The boolean parameter will determine which strategy is used to
@@ -44,290 +89,427 @@ public class MonopolySimulation {
      * @param strategy - The strategy used to get out of jail
      */
     public MonopolySimulation(boolean strategy) {
-        this.strategy = strategy;
+        this(JailPolicy.of(strategy), new RandomSource(RandomSource.DEFAULT_ALGORITHM, ThreadLocalRandom.current().nextLong()));
+    }
 
-        //used as dice
-        rng = new Random();
+    /**
+     * This method builds a MonopolySimulation object that uses the given random source for its dice and cards. Two
+     * simulations built with the same strategy and equally seeded random sources will give exactly the same results.
+     * @param strategy - The strategy used to get out of jail
+     * @param rng - The random source used as the dice and to shuffle the card decks
+     */
+    public MonopolySimulation(boolean strategy, RandomSource rng) {
+        this(JailPolicy.of(strategy), rng);
+    }
+
+    /**
+     * This method builds a MonopolySimulation object that uses the given policy to get out of jail, and the given random
+     * source for its dice and cards.
+     * @param policy - Decides how the player tries to get out of jail
+     * @param rng - The random source used as the dice and to shuffle the card decks
+     */
+    public MonopolySimulation(JailPolicy policy, RandomSource rng) {
+        this(Board.STANDARD, policy, rng);
+    }
+
+    /**
+     * This method builds a MonopolySimulation object that is played on the given board, with its rules and cards.
+     * @param board - The board, such as Board.STANDARD or a board read with Board.load
+     * @param policy - Decides how the player tries to get out of jail
+     * @param rng - The random source used as the dice and to shuffle the card decks
+     */
+    public MonopolySimulation(Board board, JailPolicy policy, RandomSource rng) {
+        this(board, policy, rng, rng, rng);
+    }
+
+    /**
+     * This method builds a MonopolySimulation object whose card decks are shuffled by their own random sources instead
+     * of the random source of the dice. This is used by the PairedSimulation, so each deck of the two simulations it
+     * compares is shuffled from its own stream, and one deck being shuffled more often can not change the other.
+     * @param board - The board, such as Board.STANDARD or a board read with Board.load
+     * @param policy - Decides how the player tries to get out of jail
+     * @param rng - The random source used as the dice
+     * @param chanceCards - The random source used to shuffle the Chance deck
+     * @param communityChestCards - The random source used to shuffle the Community Chest deck
+     */
+    MonopolySimulation(Board board, JailPolicy policy, RandomSource rng, RandomSource chanceCards,
+                       RandomSource communityChestCards) {
+        this.policy = policy;
+        this.board = board;
+        size = board.size;
+        jail = board.jail;
+        doublesToJail = board.doublesToJail;
+        dice = board.dice;
+        die1 = dice.die1;
+        die2 = dice.die2;
+        steps = dice.steps;
+
+        //used as dice and (unless the decks are given their own) to shuffle the card decks, so a run only depends on
+        //this one generator
+        this.rng = rng;
 
         //used to keep track places the player landed
-        freq = new int[40];
-        
+        freq = new long[size];
+
+        //By default the results are printed and copied to the clipboard at the standard checkpoints
+        sink = ResultSink.clipboard();
+        schedule = CheckpointSchedule.STANDARD;
+
         //Creating BoardObjects
-        communityChestBoardObject = new CommunityChestBoardObject();
-        chanceBoardObject = new ChanceBoardObject();
-        jailBoardObject = new JailBoardObject(strategy, chanceBoardObject, communityChestBoardObject);
+        communityChestBoardObject = new CommunityChestBoardObject(board, communityChestCards);
+        chanceBoardObject = new ChanceBoardObject(board, chanceCards);
+        jailBoardObject = new JailBoardObject(board, policy, chanceBoardObject, communityChestBoardObject);
         goToJailBoardObject = new GoToJailBoardObject(jailBoardObject);
         communityChestBoardObject.setJail(jailBoardObject);
         chanceBoardObject.setJail(jailBoardObject);
         
         //mapping board spaces to BoardObjects
-        boardSpaces = new HashMap<>(8);
-        boardSpaces.put(2, communityChestBoardObject);
-        boardSpaces.put(7, chanceBoardObject);
-        boardSpaces.put(10, jailBoardObject);
-        boardSpaces.put(17, communityChestBoardObject);
-        boardSpaces.put(22, chanceBoardObject);
-        boardSpaces.put(30, goToJailBoardObject);
-        boardSpaces.put(33, communityChestBoardObject);
-        boardSpaces.put(36, chanceBoardObject);
+        squareActions = board.actions;
     }
 
     /**
-     * This method starts the simulation. The results will be recorded at 4 intervals during the simulation.
-     * 1,000 , 10,000 , 100,000 and 1,000,000. These results will be printed to the console and also copied to you
-     * clipboard. This method will keep track of some game logic, such as the 3 doubles rule.
+     * This method starts the simulation. The turns are played until the end of the checkpoint schedule, and the results
+     * are sent to the result sink at every checkpoint. By default this is 1,000 , 10,000 , 100,000 and 1,000,000 turns,
+     * and the results are printed to the console and copied to your clipboard. This method will keep track of some game
+     * logic, such as the 3 doubles rule. A simulation restored with restoreState carries on from the turn it was
+     * saved at, and only reports the checkpoints after it.
      */
     public void run() {
+        long checkpoint = turns;
+        while(checkpoint < schedule.total()){
+            checkpoint = schedule.next(checkpoint);
+            CheckpointEvent event = CheckpointEvent.start();
+            playUntil(checkpoint);
+            event.reached(policy.name(), turns);
+            printResults(turns);
+        }
+    }
 
-        //Variables used to track the player
-        int doublesInARow = 0;
-        int turns = 0;
-        int position = 0;
-
-        //variable for the dice
-        int d1;
-        int d2;
-
-        //Running first 1,000 turns
-        while(turns < 1_000){
-            d1 = rollDie();
-            d2 = rollDie();
-
-            //if in jail do not move forward
-            if(jailBoardObject.isInJail()){
-                //Doubles do not count in jail
-                doublesInARow = 0;
-                position = jailBoardObject.move(d1, d2, position);
-                freq[position]++;
-                turns++;
-                continue;
-            }
-
-            //Seeing if doubles where rolled
-            if(d1 == d2)
-                doublesInARow++;
-            else
-                doublesInARow = 0;
-
-            //3 doubles in a row sends you to jail
-            if(doublesInARow == 3){
-                position = 10;
-                jailBoardObject.sentToJail();
-                doublesInARow = 0;
-                freq[position]++;
-                turns++;
-                continue;
-            }
-
-            //move the player forward on the board (wrap around after 40)
-            position = (position + d1 + d2) % 40;
-
-            //If the player lands on an important place, call the move method on said BoardObject
-            if(boardSpaces.containsKey(position)){
-                position = boardSpaces.get(position).move(d1, d2, position);
+    /**
+     * This method plays turns until every landing frequency is known to within the given tolerance, instead of playing
+     * a fixed number of turns. The turns are played in batches, and after each batch the batch means method is used to
+     * estimate the error of every space. The simulation stops once the confidence interval of every space is narrower
+     * than the tolerance, or once the maximum number of turns is reached. The results are sent to the sink once the
+     * simulation stops.
+     * @param tolerance - the largest half width allowed for the confidence interval of any space, as a fraction of turns
+     * @param confidence - the confidence level of the intervals, between 0 and 1 (such as 0.95)
+     * @param maxTurns - the simulation stops after this many turns, even if the tolerance has not been reached. It must
+     * be at least BATCH_SIZE * MIN_BATCHES, the fewest turns that can converge
+     * @return - the batch means, holding the turns used, the estimated fractions and their error bars
+     */
+    public BatchMeans runUntilConverged(double tolerance, double confidence, long maxTurns) {
+        if(!(tolerance > 0))
+            throw new IllegalArgumentException("Tolerance must be more than 0");
+        if(maxTurns < BATCH_SIZE * MIN_BATCHES)
+            throw new IllegalArgumentException("Maximum turns must be at least " + BATCH_SIZE * MIN_BATCHES
+                    + " so that enough batches can be played");
+
+        BatchMeans batchMeans = new BatchMeans(freq.length, BATCH_SIZE);
+        long[] previous = freq.clone();
+        long[] batch = new long[freq.length];
+
+        //Taking at least MIN_BATCHES batches so that the variance estimate can be trusted
+        while(turns + BATCH_SIZE <= maxTurns){
+            playUntil(turns + BATCH_SIZE);
+            for (int i = 0; i < freq.length; i++) {
+                batch[i] = freq[i] - previous[i];
+                previous[i] = freq[i];
             }
+            batchMeans.addBatch(batch);
 
-
-            //Increase the frequency of the current position. Note that it is th position at the end of the turn, so
-            //if you where to land somewhere then be moved by a GameObject, your final spot will be the only spot counted
-            freq[position]++;
-
-            //Increase teh counting variable
-            turns++;
+            if(batchMeans.batches() >= MIN_BATCHES && batchMeans.maxHalfWidth(confidence) <= tolerance)
+                break;
         }
         printResults(turns);
+        return batchMeans;
+    }
 
-        //Running until 10,000 turns
-        while(turns < 10_000){
-            d1 = rollDie();
-            d2 = rollDie();
-
-            //if in jail do not move forward
-            if(jailBoardObject.isInJail()){
-
-                //Doubles do not count in jail
-                doublesInARow = 0;
-                position = jailBoardObject.move(d1, d2, position);
-                freq[position]++;
-                turns++;
-                continue;
+    /**
+     * This method plays turns until the total number of turns played by this simulation reaches the given target.
+     * Nothing is reported, so this can be used by other classes (such as the ParallelMonopolySimulation) that want to
+     * decide for themselves when to look at the results.
+     * @param targetTurns - the total number of turns that should have been played once this method returns
+     */
+    void playUntil(long targetTurns) {
+        while(turns < targetTurns){
+            //The dice are seeded again at the start of every segment, which is also where the state can be saved
+            if(turns % SEGMENT_TURNS == 0){
+                if(metrics != null)
+                    publishMetrics();
+                if(stateFile != null)
+                    stateFile.segmentStarted(this);
+                rng.startSegment(turns / SEGMENT_TURNS);
             }
 
-            //Seeing if doubles where rolled
-            if(d1 == d2)
-                doublesInARow++;
-            else
-                doublesInARow = 0;
-
-            //3 doubles in a row sends you to jail
-            if(doublesInARow == 3){
-                position = 10;
-                jailBoardObject.sentToJail();
-                doublesInARow = 0;
-                freq[position]++;
-                turns++;
-                continue;
+            //The log and statistics are checked once per segment instead of every turn, so they cost nothing when they
+            //are off
+            long end = Math.min(targetTurns, (turns / SEGMENT_TURNS + 1) * SEGMENT_TURNS);
+            if(eventLog == null && statistics == null){
+                while(turns < end){
+                    //All of the dice come from a single draw of one outcome
+                    playTurn(dice.roll(rng));
+                }
             }
-
-            //move the player forward on the board (wrap around after 40)
-            position = (position + d1 + d2) % 40;
-
-            //If the player lands on an important place, call the move method on said BoardObject
-            if(boardSpaces.containsKey(position)){
-                position = boardSpaces.get(position).move(d1, d2, position);
+            else{
+                while(turns < end){
+                    playInstrumentedTurn(dice.roll(rng));
+                }
             }
+        }
 
+        //The metrics are also published whenever the simulation stops, so that they are up to date at checkpoints
+        if(metrics != null)
+            publishMetrics();
+    }
 
-            //Increase the frequency of the current position. Note that it is th position at the end of the turn, so
-            //if you where to land somewhere then be moved by a GameObject, your final spot will be the only spot counted
+    /**
+     * This method plays one turn with the given roll of the dice instead of rolling them. This is used by the
+     * PairedSimulation to play two simulations with the same dice. This is the only place the turn logic lives.
+     * @param roll - the outcome of the roll, one of the outcomes of the board's DiceTable (0 - 35 for two normal dice,
+     * where the first die is roll / 6 + 1 and the second die is roll % 6 + 1)
+     */
+    void playTurn(int roll) {
+        int d1 = die1[roll];
+        int d2 = die2[roll];
+
+        //Increase the counting variable first, so a policy is told the number of turns played before this one
+        long turn = turns++;
+
+        //if in jail do not move forward
+        if(jailBoardObject.isInJail()){
+            //Doubles do not count in jail
+            doublesInARow = 0;
+            position = jailBoardObject.move(d1, d2, position, turn);
             freq[position]++;
-
-            //Increase teh counting variable
-            turns++;
+            return;
         }
-        printResults(turns);
-
-        //Running until 100,000 turns
-        while(turns < 100_000){
-            d1 = rollDie();
-            d2 = rollDie();
-
-            //if in jail do not move forward
-            if(jailBoardObject.isInJail()){
-
-                //Doubles do not count in jail
-                doublesInARow = 0;
-                position = jailBoardObject.move(d1, d2, position);
-                freq[position]++;
-                turns++;
-                continue;
-            }
-
-            //Seeing if doubles where rolled
-            if(d1 == d2)
-                doublesInARow++;
-            else
-                doublesInARow = 0;
-
-            //3 doubles in a row sends you to jail
-            if(doublesInARow == 3){
-                position = 10;
-                jailBoardObject.sentToJail();
-                doublesInARow = 0;
-                freq[position]++;
-                turns++;
-                continue;
-            }
 
-            //move the player forward on the board (wrap around after 40)
-            position = (position + d1 + d2) % 40;
-
-            //If the player lands on an important place, call the move method on said BoardObject
-            if(boardSpaces.containsKey(position)){
-                position = boardSpaces.get(position).move(d1, d2, position);
-            }
-
-
-            //Increase the frequency of the current position. Note that it is th position at the end of the turn, so
-            //if you where to land somewhere then be moved by a GameObject, your final spot will be the only spot counted
+        //Seeing if doubles where rolled
+        if(d1 == d2)
+            doublesInARow++;
+        else
+            doublesInARow = 0;
+
+        //3 doubles in a row (or as many as the board says) sends you to jail
+        if(doublesInARow == doublesToJail){
+            position = jail;
+            jailBoardObject.sentToJail();
+            doublesInARow = 0;
             freq[position]++;
-
-            //Increase teh counting variable
-            turns++;
+            return;
         }
-        printResults(turns);
 
+        //move the player forward on the board (wrap around after the last space), the speed die counts here if there
+        //is one
+        int position = this.position + steps[roll];
+        if(position >= size)
+            position -= size;
+
+        //If the player lands on an important place, call the move method on said BoardObject. Each case calls
+        //its object directly so that the JIT can inline the call
+        switch (squareActions[position]) {
+            case Board.NONE:
+                break;
+            case Board.CHANCE:
+                position = chanceBoardObject.move(d1, d2, position);
+                break;
+            case Board.COMMUNITY_CHEST:
+                position = communityChestBoardObject.move(d1, d2, position);
+                break;
+            case Board.JAIL:
+                position = jailBoardObject.move(d1, d2, position);
+                break;
+            case Board.GO_TO_JAIL:
+                position = goToJailBoardObject.move(d1, d2, position);
+                break;
+        }
 
-        //Running until 1_000,000 turns
-        while(turns < 1_000_000){
-
-            d1 = rollDie();
-            d2 = rollDie();
-
-            //if in jail do not move forward
-            if(jailBoardObject.isInJail()){
+        //Increase the frequency of the current position. Note that it is th position at the end of the turn, so
+        //if you where to land somewhere then be moved by a GameObject, your final spot will be the only spot counted
+        freq[position]++;
+        this.position = position;
+    }
 
-                //Doubles do not count in jail
-                doublesInARow = 0;
-                position = jailBoardObject.move(d1, d2, position);
-                freq[position]++;
-                turns++;
-                continue;
-            }
+    /**
+     * This method plays one turn with playTurn, then records it to the event log and the statistics. What happened is
+     * worked out from the state before and after the turn, so that the turn logic stays in playTurn.
+     * @param roll - the outcome of the roll, one of the outcomes of the board's DiceTable
+     */
+    private void playInstrumentedTurn(int roll) {
+        int d1 = die1[roll];
+        int d2 = die2[roll];
+        long turn = turns;
+        int start = position;
+        boolean wasInJail = jailBoardObject.isInJail();
+        boolean thirdDoubles = !wasInJail && d1 == d2 && doublesInARow + 1 == doublesToJail;
+
+        playTurn(roll);
+
+        //The jail moves the player straight from the jail space, so there is no landing space to be moved from. A player
+        //who stays in jail or rolls a third double never moves, so their landing space is the space they started on
+        int landing;
+        byte cause;
+        if(wasInJail){
+            landing = position;
+            cause = jailBoardObject.isInJail() ? EventLog.STAYED_IN_JAIL : EventLog.LEFT_JAIL;
+        }
+        else if(thirdDoubles){
+            landing = start;
+            cause = EventLog.TRIPLE_DOUBLES;
+        }
+        else{
+            landing = (start + steps[roll]) % size;
+            cause = position == landing ? EventLog.NONE : squareActions[landing];
+        }
 
-            //Seeing if doubles where rolled
-            if(d1 == d2)
-                doublesInARow++;
-            else
-                doublesInARow = 0;
-
-            //3 doubles in a row sends you to jail
-            if(doublesInARow == 3){
-                position = 10;
-                jailBoardObject.sentToJail();
-                doublesInARow = 0;
-                freq[position]++;
-                turns++;
-                continue;
-            }
+        if(statistics != null)
+            statistics.record(start, landing, position, cause);
+        if(eventLog != null)
+            eventLog.record(turn, d1, d2, start, landing, position, cause);
+    }
 
-            //move the player forward on the board (wrap around after 40)
-            position = (position + d1 + d2) % 40;
+    /**
+     * This method saves everything about the game that is not decided by the random source, meaning the player, both
+     * card decks, the jail and the frequencies. It must only be called at the start of a segment (when the number of
+     * turns played is a multiple of SEGMENT_TURNS), as the dice are seeded again from there.
+     * @return - the saved state
+     */
+    byte[] saveState() {
+        if(turns % SEGMENT_TURNS != 0)
+            throw new IllegalStateException("State can only be saved at the start of a segment");
+        ByteBuffer out = ByteBuffer.allocate(STATE_BYTES + freq.length * Long.BYTES
+                + (board.chance.cards() + board.communityChest.cards()) * Integer.BYTES);
+        out.putLong(turns).putInt(position).putInt(doublesInARow);
+        for (long f : freq) {
+            out.putLong(f);
+        }
+        jailBoardObject.writeState(out);
+        chanceBoardObject.writeState(out);
+        communityChestBoardObject.writeState(out);
+        return Arrays.copyOf(out.array(), out.position());
+    }
 
-            //If the player lands on an important place, call the move method on said BoardObject
-            if(boardSpaces.containsKey(position)){
-                position = boardSpaces.get(position).move(d1, d2, position);
-            }
+    /**
+     * This method restores the state written by saveState. The next turns played will be exactly the same as the
+     * turns played after the state was saved, as long as this simulation uses the same jail policy and its random
+     * source has the same seed.
+     * @param in - where the state is read from
+     */
+    void restoreState(ByteBuffer in) {
+        long turns = in.getLong();
+        if(turns < 0 || turns % SEGMENT_TURNS != 0)
+            throw new IllegalArgumentException("Saved state is not at the start of a segment");
+        this.turns = turns;
+        position = in.getInt();
+        doublesInARow = in.getInt();
+        for (int i = 0; i < freq.length; i++) {
+            freq[i] = in.getLong();
+        }
+        jailBoardObject.readState(in);
+        chanceBoardObject.readState(in);
+        communityChestBoardObject.readState(in);
+    }
 
+    /**
+     * @return - the board the simulation is played on
+     */
+    Board board() {
+        return board;
+    }
 
-            //Increase the frequency of the current position. Note that it is th position at the end of the turn, so
-            //if you where to land somewhere then be moved by a GameObject, your final spot will be the only spot counted
-            freq[position]++;
+    /**
+     * @return - the number of turns played so far
+     */
+    long turns() {
+        return turns;
+    }
 
-            //Increase teh counting variable
-            turns++;
+    /**
+     * This method adds the landing frequencies recorded by this simulation to the given array. This is used to merge
+     * the results of several simulations together.
+     * @param totals - an array with one entry for every space of the board, that the frequencies will be added to
+     */
+    void addFrequencies(long[] totals) {
+        for (int i = 0; i < freq.length; i++) {
+            totals[i] += freq[i];
         }
-        printResults(turns);
     }
 
     /**
-     * This method prints the results of the simulation to the console so that they can be recorded. This is called
-     * multiple times during the simulation at the 1,000, 10,000, 100,000 and finally the 1,000,000 turns point.
-     * Note that the results are printed in the order of the spaces on the board, meaning GO is first, then
-     * Mediterranean etc.
+     * This method copies the counts of the simulation into its metrics source.
      */
-    private void printResults(int turns) {
-        //Adding all the frequencies together in one string seperated by lines breaks
-        StringBuilder sb = new StringBuilder();
-        for (int i :freq) {
-            sb.append(i).append("\n");
-        }
-        System.out.println("Strategy " + (strategy? "b": "a") +"\nData for turns = " + NumberFormat.getIntegerInstance().format(turns) + ":\n");
+    private void publishMetrics() {
+        metrics.publish(turns, freq, chanceBoardObject.deck(), communityChestBoardObject.deck(), jailBoardObject);
+    }
 
-        //Copies data to clipboard automatically and print to console(I did this so that it was easier to make the spreadsheets)
-        Clipboard clipboard = Toolkit.getDefaultToolkit().getSystemClipboard();
-        Transferable transferable = new StringSelection(sb.toString());
-        clipboard.setContents(transferable, null);
+    /**
+     * This method sends the results of the simulation to the result sink so that they can be recorded. This is called
+     * at every checkpoint of the schedule. The sink is given a snapshot holding its own copy of the frequencies, so it
+     * can hold on to them while the simulation continues.
+     */
+    private void printResults(long turns) {
+        sink.accept(snapshot());
+    }
 
-        //Printing the data to the console
-        System.out.println(sb);
+    /**
+     * This method builds a snapshot of the results so far, holding its own copy of the frequencies.
+     * @return - the snapshot, named after the jail policy
+     */
+    Snapshot snapshot() {
+        return new Snapshot(policy.name(), turns, freq.clone());
+    }
 
+    /**
+     * This method sets where the results of the simulation are sent at each checkpoint. By default they are printed
+     * to the console and copied to the clipboard.
+     * @param sink - the sink that receives the results
+     */
+    public void setResultSink(ResultSink sink) {
+        this.sink = sink;
+    }
 
-        //Sleeping for 5 seconds so that I can process the data before the simulation continues.
-        try {
-            Thread.sleep(3000);
-        } catch (InterruptedException e) {
-            throw new RuntimeException(e);
-        }
+    /**
+     * This method sets where the state of the simulation is saved while it plays, so that a long run can be carried on
+     * if it is stopped. By default the state is not saved.
+     * @param stateFile - where the state is saved, or null to not save it
+     */
+    void setStateFile(StateFile stateFile) {
+        this.stateFile = stateFile;
+    }
+
+    /**
+     * This method sets where every turn of the simulation is recorded. By default the turns are not recorded.
+     * @param eventLog - where the turns are recorded, or null to not record them
+     */
+    void setEventLog(EventLog eventLog) {
+        this.eventLog = eventLog;
+    }
 
+    /**
+     * This method sets where the transitions and causes of every turn are counted. By default they are not counted.
+     * The statistics are not part of the saved state, so a resumed simulation only counts the turns after it resumed.
+     * @param statistics - where the turns are counted, or null to not count them
+     */
+    public void setStatistics(TurnStatistics statistics) {
+        this.statistics = statistics;
+    }
 
+    /**
+     * This method sets where the counts of the simulation (turns, card draws, trips to jail and the frequencies) are
+     * published for JMX. They are published at the start of every segment, so watching them costs nothing per turn.
+     * By default they are not published.
+     * @param metrics - the metrics to publish to, or null to not publish them
+     */
+    public void setMetrics(SimulationMetrics metrics) {
+        this.metrics = metrics == null ? null : metrics.newSource();
     }
 
     /**
-     * Returns a random number 1 - 6 inclusive. Acts as the dice for the game
-     * @return integer 1 - 6
+     * This method sets how many turns are played, and at which points the results are sent to the sink. By default
+     * this is CheckpointSchedule.STANDARD.
+     * @param schedule - the checkpoint schedule
      */
-    private int rollDie(){
-        return rng.nextInt(1,7);
+    public void setSchedule(CheckpointSchedule schedule) {
+        this.schedule = schedule;
     }
 }
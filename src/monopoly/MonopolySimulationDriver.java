@@ -1,5 +1,19 @@
 package monopoly;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import javax.management.JMException;
+
 /**
  * This Class is the driver class containing the main method for the program. This class will start a simulation of
  * monopoly. This driver will take two argument in order to run correctly. The first argument will determine the
@@ -7,11 +21,16 @@ package monopoly;
  * get out of jail. If strategy b is specified then the player will attempt to roll doubles for 3 turns before paying 50
  * dollars to get out of jail. Note that both strategies will immediately use a get out of jail free card if they
  * have it. Using the argument "both" will run the simulation first using strategy "a", then using strategy "b". \
+ * Other jail policies, such as paying on the second turn in jail, can be given instead of a strategy, see JailPolicy.
  *
  * The second parameter will specify how many times you would like to simulate the game. Note that if you are
  * using the both argument then the number of simulation will be twice the number provided as it will run once for
  * strategy a and once for strategy b.
  *
+ * Options can be given after the first two arguments, such as "--parallel" to use every processor, "--headless" to run
+ * without a desktop, or "--turns" and "--checkpoints" to change how long the simulation runs. See SimulationOptions
+ * for the full list.
+ *
  * If both no parameters are provided it will default to the arguments "both 2"
  *
  * @author Timothy Blamires
@@ -19,46 +38,534 @@ package monopoly;
  *
  */
 public class MonopolySimulationDriver {
-    public static void main(String[] args) {
-
-        //If no arguments are provided then use the arguments both and 2
-        if(args.length == 0)
-            args = new String[]{"both", "2"};
-
-        //Checking for illegal arguments
-        if(args.length != 2)
-            throw new IllegalArgumentException("Must provide valid arguments");
-        if(!(args[0].equals("a") || args[0].equals("b") || args[0].equals("both")))
-            throw new IllegalArgumentException("First argument not valid");
-        if(Integer.parseInt(args[1]) < 1)
-            throw new IllegalArgumentException("Second argument not valid");
-
-        //The number of simulation to be run
-        int loops = Integer.parseInt(args[1]);
-
-        //Running simulations
-        if(args[0].equals("a")){
-            for(int i = 0; i < loops; i++){
-                MonopolySimulation m = new MonopolySimulation(false);
-                m.run();
+    public static void main(String[] args) throws IOException {
+        SimulationOptions options = SimulationOptions.parse(args);
+
+        //Income is worked out from saved distributions, so nothing needs to be simulated
+        if(options.income != null){
+            printIncome(options);
+            return;
+        }
+
+        //The board is read and compiled once, before anything is played
+        Board board = options.board == null ? Board.STANDARD : Board.load(options.board);
+        if(options.board != null)
+            System.out.println("Board = " + board.name() + "\n");
+
+        //The server answers requests until the process is stopped
+        if(options.serve >= 0){
+            SimulationServer server = new SimulationServer(board, options.algorithm, options.serveAddress,
+                    options.serve, options.maxTurns);
+            System.out.println("Serving simulations on " + options.serveAddress.getHostAddress() + " port "
+                    + server.port());
+            return;
+        }
+
+        //The exact answer does not need to be calculated more than once
+        if(options.exact){
+            List<LandingDistribution> distributions = new ArrayList<>();
+            for (JailPolicy policy : options.policies) {
+                distributions.add(printExactResults(board, policy));
+            }
+            if(options.saveDistribution != null)
+                LandingDistribution.save(options.saveDistribution, distributions);
+            return;
+        }
+
+        //The first turns of a game are calculated exactly, one turn at a time
+        if(options.horizon > 0){
+            List<LandingDistribution> distributions = new ArrayList<>();
+            for (JailPolicy policy : options.policies) {
+                distributions.add(printHorizonResults(board, policy, options.horizon));
+            }
+            if(options.saveDistribution != null)
+                LandingDistribution.save(options.saveDistribution, distributions);
+            return;
+        }
+
+        //Every simulation gets its own random source split from this one, so the seed decides the whole run
+        System.out.println("Seed = " + options.seed + "\n");
+        RandomSource rng = new RandomSource(options.algorithm, options.seed);
+
+        //Running in parallel uses one worker for every processor
+        ExecutorService pool = null;
+        int threads = Runtime.getRuntime().availableProcessors();
+        if(options.parallel || options.sweep != null)
+            pool = Executors.newFixedThreadPool(threads);
+
+        //A sweep races the policies against each other once, instead of simulating each of them
+        if(options.sweep != null){
+            try {
+                runSweep(board, options, rng, pool);
+            } finally {
+                pool.shutdown();
+            }
+            return;
+        }
+
+        //Headless runs write the results on a background thread, otherwise they are copied to the clipboard
+        ResultSink sink;
+        if(options.output != null)
+            sink = new AsyncResultSink(ResultSink.file(options.output));
+        else if(options.headless)
+            sink = new AsyncResultSink(ResultSink.console());
+        else
+            sink = ResultSink.clipboard();
+        if(options.saveDistribution != null)
+            sink = sink.andThen(LandingDistribution.saveOnClose(options.saveDistribution));
+
+        //More than one replication is summarized after the last results, in the same place as the results
+        ResultSink output = sink;
+        ReplicationSink replications = options.loops > 1 ? new ReplicationSink(sink, options.confidence) : null;
+        if(replications != null)
+            sink = replications;
+
+        //The saved state is read before anything is written, as the state may be saved to the same file
+        StateFile.Saved saved = options.resume == null ? null : StateFile.read(options.resume);
+        StateFile stateFile = options.snapshot == null ? null : new StateFile(options.snapshot, options.snapshotEvery);
+        EventLog eventLog = options.eventLog == null ? null
+                : new EventLog(options.eventLog, options.eventEvery, options.eventLength);
+        SimulationMetrics metrics = options.jmx ? registerMetrics() : null;
+
+        try {
+            //A sharded run hands every simulation to the worker processes
+            if(options.shards > 0){
+                runSharded(board, options, rng, sink, replications);
+                return;
+            }
+
+            //With at least one simulation for every processor, whole simulations are played at once instead
+            if(pool != null && options.loops >= threads && options.statistics == null && metrics == null){
+                runReplications(board, options, rng, output, replications, pool, threads);
+                return;
+            }
+
+            //for Both run 1 "a" simulation, then 1 "b" simulation
+            ResultCache cache = options.cache == null ? null : new ResultCache(options.cache);
+            int run = 0;
+            StringBuilder statisticsText = new StringBuilder();
+            for(int i = 0; i < options.loops; i++){
+                if(options.paired){
+                    runPaired(board, options, rng, sink);
+                    if(replications != null)
+                        replications.endReplication();
+                    continue;
+                }
+                for (JailPolicy policy : options.policies) {
+                    if(eventLog != null)
+                        eventLog.startRun(run);
+                    TurnStatistics statistics = options.statistics == null ? null : new TurnStatistics(board);
+                    if(metrics != null)
+                        metrics.startRun(policy.name());
+                    if(cache != null)
+                        cache.run(board, policy, rng.split(), options.schedule(), sink);
+                    else if(stateFile != null)
+                        runWithSnapshots(board, policy, options, rng.split(), sink, stateFile, eventLog, statistics,
+                                metrics, saved, run, replications);
+                    else
+                        runSimulation(board, policy, options, rng, sink, pool, threads, eventLog, statistics, metrics);
+                    //Runs skipped while resuming have nothing to report
+                    if(statistics != null && statistics.turns() > 0){
+                        System.out.println(policy.name() + "\nCauses of " + String.format("%,d", statistics.turns())
+                                + " turns:\n\n" + statistics.summary());
+                        statisticsText.append("#").append(policy.name()).append('\n').append(statistics.format())
+                                .append('\n');
+                    }
+                    if(replications != null)
+                        replications.endReplication();
+                    run++;
+                }
+            }
+            if(options.statistics != null)
+                Files.writeString(options.statistics, statisticsText);
+        } finally {
+            if(pool != null)
+                pool.shutdown();
+            try {
+                sink.close();
+            } finally {
+                if(stateFile != null)
+                    stateFile.close();
+                if(eventLog != null)
+                    eventLog.close();
             }
         }
+    }
 
-        if(args[0].equals("b")){
-            for(int i = 0; i < loops; i++){
-                MonopolySimulation m = new MonopolySimulation(true);
-                m.run();
+    /**
+     * This method runs a single simulation with the given jail policy. If a pool is given the simulation will be split
+     * across the threads of the pool, otherwise it is run on the current thread.
+     * @param board - The board the simulation is played on
+     * @param policy - Decides how the player tries to get out of jail
+     * @param options - The options from the command line
+     * @param rng - The random source that the random source of the simulation is split from
+     * @param sink - Where the results of the simulation are sent
+     * @param pool - The threads used for a parallel run, or null to run on the current thread
+     * @param threads - The number of threads in the pool
+     * @param eventLog - Where every turn is recorded, or null to not record them
+     * @param statistics - Where the turns are counted, or null to not count them
+     * @param metrics - Where the progress is published for JMX, or null to not publish it
+     */
+    private static void runSimulation(Board board, JailPolicy policy, SimulationOptions options, RandomSource rng,
+                                      ResultSink sink, ExecutorService pool, int threads, EventLog eventLog,
+                                      TurnStatistics statistics, SimulationMetrics metrics) {
+        if(options.players > 1){
+            MultiPlayerSimulation simulation = new MultiPlayerSimulation(board, options.players, policy, rng.split());
+            simulation.setResultSink(sink);
+            simulation.setSchedule(options.schedule());
+            simulation.run();
+        }
+        else if(options.games > 0){
+            BatchSimulation simulation = new BatchSimulation(board, options.games, policy, rng.split());
+            simulation.setResultSink(sink);
+            simulation.setSchedule(options.schedule());
+            simulation.run();
+        }
+        else if(options.tolerance > 0){
+            MonopolySimulation simulation = new MonopolySimulation(board, policy, rng.split());
+            simulation.setResultSink(sink);
+            simulation.setEventLog(eventLog);
+            simulation.setStatistics(statistics);
+            simulation.setMetrics(metrics);
+            long maxTurns = options.turns == 0 ? Long.MAX_VALUE : options.turns;
+            BatchMeans result = simulation.runUntilConverged(options.tolerance, options.confidence, maxTurns);
+            printConvergence(policy, options, result);
+        }
+        else if(pool == null){
+            MonopolySimulation simulation = new MonopolySimulation(board, policy, rng.split());
+            simulation.setResultSink(sink);
+            simulation.setEventLog(eventLog);
+            simulation.setStatistics(statistics);
+            simulation.setMetrics(metrics);
+            simulation.setSchedule(options.schedule());
+            simulation.run();
+        }
+        else{
+            ParallelMonopolySimulation simulation = new ParallelMonopolySimulation(board, policy, pool, threads,
+                    rng.split());
+            simulation.setResultSink(sink);
+            simulation.setStatistics(statistics);
+            simulation.setMetrics(metrics);
+            simulation.setSchedule(options.schedule());
+            simulation.run();
+        }
+    }
+
+    /**
+     * This method plays the replications of a parallel run at the same time, one on each thread of the pool, instead of
+     * splitting the turns of each one across the threads. Each thread plays every threads-th replication and keeps its
+     * own summary of them, and the summaries are merged once every thread has finished. The random sources are split
+     * in the same order as a run without "--parallel", so the results are the same as that run, and they are reported
+     * in the same order once every replication has finished.
+     * @param board - The board the simulations are played on
+     * @param options - The options from the command line
+     * @param rng - The random source that the random source of every simulation is split from
+     * @param output - Where the results of every simulation are sent
+     * @param replications - Where the summaries of the threads are merged
+     * @param pool - The threads the replications are played on
+     * @param threads - The number of threads in the pool
+     */
+    private static void runReplications(Board board, SimulationOptions options, RandomSource rng, ResultSink output,
+                                        ReplicationSink replications, ExecutorService pool, int threads) {
+        int policies = options.policies.size();
+        RandomSource[] sources = new RandomSource[options.loops * policies];
+        for (int i = 0; i < sources.length; i++) {
+            sources[i] = rng.split();
+        }
+
+        List<List<Snapshot>> results = new ArrayList<>(Collections.nCopies(options.loops, null));
+        List<Future<List<ReplicationStatistics>>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int first = t;
+            futures.add(pool.submit(() -> {
+                Map<String, ReplicationStatistics> summaries = new LinkedHashMap<>();
+                for (int i = first; i < options.loops; i += threads) {
+                    List<Snapshot> snapshots = new ArrayList<>();
+                    for (int p = 0; p < policies; p++) {
+                        MonopolySimulation simulation = new MonopolySimulation(board, options.policies.get(p),
+                                sources[i * policies + p]);
+                        simulation.setResultSink(snapshots::add);
+                        simulation.setSchedule(options.schedule());
+                        simulation.run();
+                        Snapshot last = snapshots.get(snapshots.size() - 1);
+                        summaries.computeIfAbsent(last.name(), name -> new ReplicationStatistics(name, last.size()))
+                                .add(last);
+                    }
+                    results.set(i, snapshots);
+                }
+                return new ArrayList<>(summaries.values());
+            }));
+        }
+
+        //Waiting for every thread also makes the results they stored visible to this thread
+        List<List<ReplicationStatistics>> summaries = new ArrayList<>();
+        try {
+            for (Future<List<ReplicationStatistics>> future : futures) {
+                summaries.add(future.get());
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e.getCause());
         }
 
-        //for Both run 1 "a" simulation, then 1 "b" simulation
-        if(args[0].equals("both")){
-            for(int i = 0; i < loops; i++){
-                MonopolySimulation m = new MonopolySimulation(false);
-                m.run();
-                m = new MonopolySimulation(true);
-                m.run();
+        for (List<Snapshot> snapshots : results) {
+            for (Snapshot snapshot : snapshots) {
+                output.accept(snapshot);
             }
         }
+        for (List<ReplicationStatistics> threadSummaries : summaries) {
+            for (ReplicationStatistics summary : threadSummaries) {
+                replications.merge(summary);
+            }
+        }
+    }
+
+    /**
+     * This method plays every simulation from the command line across worker processes with a ShardCoordinator. Every
+     * simulation is submitted before the first one is reported, so the workers go straight on to the next simulation,
+     * and the results are reported in the same order as a normal run.
+     * @param board - The board the simulations are played on
+     * @param options - The options from the command line
+     * @param rng - The random source that the random source of every simulation is split from
+     * @param sink - Where the results of every simulation are sent
+     * @param replications - Where every finished simulation is summarized, or null to not summarize them
+     */
+    private static void runSharded(Board board, SimulationOptions options, RandomSource rng, ResultSink sink,
+                                   ReplicationSink replications) {
+        int processes = options.processes > 0 ? options.processes
+                : Math.min(options.shards, Runtime.getRuntime().availableProcessors());
+        List<String> command = options.workerCommand == null ? ShardCoordinator.defaultCommand()
+                : options.workerCommand;
+        System.out.println("Shards = " + options.shards + " on " + processes + " worker processes\n");
+
+        try (ShardCoordinator coordinator = new ShardCoordinator(board, options.algorithm, options.shards, processes,
+                command)) {
+            List<ShardCoordinator.Run> runs = new ArrayList<>();
+            for (int i = 0; i < options.loops; i++) {
+                for (String policy : options.policySpecs) {
+                    runs.add(coordinator.submit(policy, rng.split(), options.schedule()));
+                }
+            }
+            for (ShardCoordinator.Run run : runs) {
+                coordinator.report(run, sink);
+                if(replications != null)
+                    replications.endReplication();
+            }
+        }
+    }
+
+    /**
+     * This method runs a single simulation that saves its state every so often, carrying on from the saved state if
+     * the driver is resuming a run. Runs that finished before the state was saved are skipped, as their results were
+     * already reported, however their random source is still split off so every later run gets the same seed.
+     * @param board - The board the simulation is played on
+     * @param policy - Decides how the player tries to get out of jail
+     * @param options - The options from the command line
+     * @param rng - The random source of the simulation
+     * @param sink - Where the results of the simulation are sent
+     * @param stateFile - Where the state is saved
+     * @param eventLog - Where every turn is recorded, or null to not record them
+     * @param statistics - Where the turns are counted, or null to not count them
+     * @param metrics - Where the progress is published for JMX, or null to not publish it
+     * @param saved - The state to carry on from, or null to start every run from the first turn
+     * @param run - The number of this run, counting every simulation started by the driver from 0
+     * @param replications - Where every finished simulation is summarized, or null to not summarize them. It is saved
+     * with the state, and the saved summary of the runs before the saved state is added to it when resuming
+     */
+    private static void runWithSnapshots(Board board, JailPolicy policy, SimulationOptions options, RandomSource rng,
+                                         ResultSink sink, StateFile stateFile, EventLog eventLog,
+                                         TurnStatistics statistics, SimulationMetrics metrics,
+                                         StateFile.Saved saved, int run, ReplicationSink replications) {
+        if(saved != null && run < saved.run())
+            return;
+
+        MonopolySimulation simulation = new MonopolySimulation(board, policy, rng);
+        String key = ResultCache.key(board, policy, rng);
+        if(saved != null && run == saved.run()){
+            if(!saved.key().equals(key))
+                throw new IllegalArgumentException("Saved state is from a different simulation, the arguments and "
+                        + "seed must be the same as the run that saved it");
+            simulation.restoreState(saved.state());
+            System.out.printf("Resuming %s from turn %,d%n%n", policy.name(), saved.turns());
+            if(replications != null){
+                for (ReplicationStatistics summary : saved.summaries()) {
+                    replications.merge(summary);
+                }
+            }
+        }
+
+        stateFile.startRun(run, key, replications == null ? List.of() : replications.statistics());
+        simulation.setStateFile(stateFile);
+        simulation.setEventLog(eventLog);
+        simulation.setStatistics(statistics);
+        simulation.setMetrics(metrics);
+        simulation.setResultSink(sink);
+        simulation.setSchedule(options.schedule());
+        simulation.run();
+    }
+
+    /**
+     * This method plays the two jail policies from the command line with the same dice, then prints the difference in
+     * the chance of ending a turn on every space along with its error bar.
+     * @param board - The board the simulations are played on
+     * @param options - The options from the command line
+     * @param rng - The random source that the random source of the simulations is split from
+     * @param sink - Where the results of both policies are sent
+     */
+    private static void runPaired(Board board, SimulationOptions options, RandomSource rng, ResultSink sink) {
+        JailPolicy first = options.policies.get(0);
+        JailPolicy second = options.policies.get(1);
+        PairedSimulation simulation = new PairedSimulation(board, first, second, rng.split());
+        simulation.setResultSink(sink);
+
+        BatchMeans difference;
+        if(options.tolerance > 0){
+            long maxTurns = options.turns == 0 ? Long.MAX_VALUE : options.turns;
+            difference = simulation.runUntilConverged(options.tolerance, options.confidence, maxTurns);
+        }
+        else{
+            simulation.setSchedule(options.schedule());
+            difference = simulation.run();
+        }
+
+        //Spaces where the interval does not include 0 are marked, as the policies really do differ there
+        StringBuilder sb = new StringBuilder();
+        sb.append(first.name()).append(" - ").append(second.name()).append("\n")
+                .append(String.format("Difference after %,d turns (%d batches), with %.0f%% error bars%n%n",
+                        difference.turns(), difference.batches(), options.confidence * 100));
+        for (int i = 0; i < board.size(); i++) {
+            double mean = difference.mean(i);
+            double halfWidth = difference.halfWidth(i, options.confidence);
+            sb.append(String.format("%+.7f +- %.7f%s%n", mean, halfWidth, Math.abs(mean) > halfWidth ? " *" : ""));
+        }
+
+        //How much the common random numbers helped, measured on this run
+        double ratio = simulation.varianceRatio();
+        if(!Double.isNaN(ratio))
+            sb.append(String.format("%nThe variance of the difference is %.1f%% of two separate runs, which would need "
+                    + "%,d turns each for the same error bars%n", ratio * 100, Math.round(difference.turns() / ratio)));
+        System.out.println(sb);
+    }
+
+    /**
+     * This method races the jail policies from the command line against each other with a PolicySweep, and prints how
+     * every policy did, best first.
+     * @param board - The board the simulations are played on
+     * @param options - The options from the command line
+     * @param rng - The random source that the random source of every simulation is split from
+     * @param pool - The threads the simulations are run on
+     */
+    private static void runSweep(Board board, SimulationOptions options, RandomSource rng, ExecutorService pool) {
+        for (int square : options.sweep) {
+            if(square >= board.size())
+                throw new IllegalArgumentException("Space " + square + " is not on the board");
+        }
+        PolicySweep sweep = new PolicySweep(board, options.policies, PolicySweep.landingOn(options.sweep), pool,
+                rng);
+        long turns = options.turns == 0 ? CheckpointSchedule.STANDARD.total() : options.turns;
+
+        StringBuilder sb = new StringBuilder("Jail policies by chance of landing on " + Arrays.toString(options.sweep)
+                + "\n\n");
+        for (PolicySweep.Result result : sweep.run(turns)) {
+            sb.append(String.format("%-28s %.7f after %,d turns%n", result.policy().name(), result.score(),
+                    result.turns()));
+        }
+        System.out.println(sb);
+    }
+
+    /**
+     * This method calculates the exact long run probabilities for the given policy and prints them to the console in
+     * the same order as the simulation results, so that they can be compared.
+     * @param board - The board the policy is played on
+     * @param policy - Decides how the player tries to get out of jail
+     * @return - the probabilities as a distribution
+     */
+    private static LandingDistribution printExactResults(Board board, JailPolicy policy) {
+        LandingDistribution distribution = LandingDistribution.exact(board, policy);
+
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < distribution.size(); i++) {
+            sb.append(String.format("%.10f", distribution.probability(i))).append("\n");
+        }
+        System.out.println(policy.name() + "\nExact long run probabilities:\n");
+        System.out.println(sb);
+        return distribution;
+    }
+
+    /**
+     * This method calculates the chance of ending the last turn of the horizon on every space, and the expected number
+     * of turns up to it that end on every space, and prints them to the console in the same order as the simulation
+     * results.
+     * @param board - The board the policy is played on
+     * @param policy - Decides how the player tries to get out of jail
+     * @param horizon - The number of turns of the game to calculate
+     * @return - the share of the turns up to the horizon that end on every space, as a distribution
+     */
+    private static LandingDistribution printHorizonResults(Board board, JailPolicy policy, int horizon) {
+        long start = System.nanoTime();
+        FiniteHorizonSolver solver = new FiniteHorizonSolver(board, policy, horizon);
+        double millis = (System.nanoTime() - start) / 1e6;
+        double[] last = solver.distribution(horizon);
+        double[] landings = solver.expectedLandings(horizon);
+
+        StringBuilder sb = new StringBuilder();
+        double[] share = new double[landings.length];
+        for (int i = 0; i < landings.length; i++) {
+            share[i] = landings[i] / horizon;
+            sb.append(String.format("%.10f %10.6f", last[i], landings[i])).append("\n");
+        }
+        System.out.println(policy.name() + String.format("%nExact chance of ending turn %,d on each space, and the expected"
+                + " turns ending on it out of the first %,d (%.1f ms):%n", horizon, horizon, millis));
+        System.out.println(sb);
+        return new LandingDistribution(policy.name() + " (first " + horizon + " turns)", 0, share);
+    }
+
+    /**
+     * This method reads saved landing distributions and prints the rent income report for each of them.
+     * @param options - The options from the command line
+     * @throws IOException - if the distributions or the property table can not be read
+     */
+    private static void printIncome(SimulationOptions options) throws IOException {
+        PropertyTable table = options.properties == null ? PropertyTable.STANDARD
+                : PropertyTable.load(options.properties);
+        for (LandingDistribution distribution : LandingDistribution.load(options.income)) {
+            System.out.println(new IncomeAnalytics(distribution, table, options.opponents).report());
+        }
+    }
+
+    /**
+     * This method registers the metrics that show the progress of every simulation through JMX.
+     * @return - the metrics
+     */
+    private static SimulationMetrics registerMetrics() {
+        SimulationMetrics metrics = new SimulationMetrics();
+        try {
+            metrics.register();
+        } catch (JMException e) {
+            throw new IllegalStateException("Could not register " + SimulationMetrics.OBJECT_NAME, e);
+        }
+        System.out.println("Progress is shown through JMX as " + SimulationMetrics.OBJECT_NAME + "\n");
+        return metrics;
+    }
+
+    /**
+     * This method prints how many turns a simulation needed to converge, and the error bars it reached for every space.
+     * @param policy - Decides how the player tries to get out of jail
+     * @param options - The options from the command line
+     * @param result - The batch means of the simulation
+     */
+    private static void printConvergence(JailPolicy policy, SimulationOptions options, BatchMeans result) {
+        double maxHalfWidth = result.maxHalfWidth(options.confidence);
+        StringBuilder sb = new StringBuilder();
+        sb.append(policy.name()).append("\n")
+                .append(maxHalfWidth <= options.tolerance ? "Converged" : "Did not converge")
+                .append(String.format(" after %,d turns (%d batches), largest %.0f%% error bar +- %.7f%n%n",
+                        result.turns(), result.batches(), options.confidence * 100, maxHalfWidth));
+        for (int i = 0; i < result.squares(); i++) {
+            sb.append(String.format("%.7f +- %.7f%n", result.mean(i), result.halfWidth(i, options.confidence)));
+        }
+        System.out.println(sb);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,302 @@
+package monopoly;
+
+import java.util.Arrays;
+
+/**
+ * This class is a simulation of monopoly with 2 to 8 players. Just like the real game, all the players draw from the
+ * same Chance and Community Chest decks, so a get out of jail free card held by one player is missing from the deck for
+ * everyone else until it is used. Everything else (position, doubles rolled in a row, and time in jail) belongs to each
+ * player. The players are stored as primitive arrays indexed by player number rather than as objects, so a game of 8
+ * players costs about 8 times as much as one player, and no more.
+ *
+ * The rules are the same as the single player MonopolySimulation. The landing frequencies are added up across all
+ * players, and every roll counts as one turn. Just like the real game a player who rolls doubles rolls again before
+ * play passes to the next player, unless the roll sent them to jail, so the order in which the players draw from the
+ * shared decks is the order of the real game. The jail policy of a player is told how many turns that player has
+ * played, not the total of all players, so a policy means the same thing as it does with one player.
+ *
+ * @author Timothy Blamires
+ * @version 10/17/26
+ */
+public class MultiPlayerSimulation {
+
+    //The number of players allowed in a game
+    public static final int MIN_PLAYERS = 2;
+    public static final int MAX_PLAYERS = 8;
+
+    //Used for the card holders when nobody has the card
+    private static final int NOBODY = -1;
+
+    //Decides how every player tries to get out of jail
+    private final JailPolicy policy;
+
+    //used as the dice of the game, and to shuffle the card decks
+    private final RandomSource rng;
+
+    //The decks shared by all the players
+    private final CardDeck chance;
+    private final CardDeck communityChest;
+
+    //The player holding each get out of jail free card, or NOBODY
+    private int chanceCardHolder;
+    private int communityChestCardHolder;
+
+    //The state of every player, indexed by player number. turnsInJail is -1 for players that are not in jail
+    private final int[] position;
+    private final int[] doublesInARow;
+    private final int[] turnsInJail;
+
+    //The number of turns each player has played, which is the turn of the game their jail policy is told about
+    private final long[] playerTurns;
+
+    //The player who rolls next
+    private int player;
+
+    //The action code of every board position
+    private final byte[] squareActions;
+
+    //The board and its rules
+    private final Board board;
+
+    //used to keep track of which spots are landed on most frequently, by all players together
+    private final long[] freq;
+    private long turns;
+
+    //Where the results are sent, and when
+    private ResultSink sink;
+    private CheckpointSchedule schedule;
+
+    /**
+     * This method builds a MultiPlayerSimulation. Every player starts on GO.
+     * @param players - the number of players, 2 - 8
+     * @param policy - Decides how every player tries to get out of jail
+     * @param rng - The random source used as the dice and to shuffle the card decks
+     */
+    public MultiPlayerSimulation(int players, JailPolicy policy, RandomSource rng) {
+        this(Board.STANDARD, players, policy, rng);
+    }
+
+    /**
+     * This method builds a MultiPlayerSimulation played on the given board. Every player starts on GO.
+     * @param board - The board, such as Board.STANDARD or a board read with Board.load
+     * @param players - the number of players, 2 - 8
+     * @param policy - Decides how every player tries to get out of jail
+     * @param rng - The random source used as the dice and to shuffle the card decks
+     */
+    public MultiPlayerSimulation(Board board, int players, JailPolicy policy, RandomSource rng) {
+        if(players < MIN_PLAYERS || players > MAX_PLAYERS)
+            throw new IllegalArgumentException("Must have " + MIN_PLAYERS + " - " + MAX_PLAYERS + " players");
+
+        this.policy = policy;
+        this.rng = rng;
+        this.board = board;
+        chance = new CardDeck(board.chance, rng);
+        communityChest = new CardDeck(board.communityChest, rng);
+        chanceCardHolder = NOBODY;
+        communityChestCardHolder = NOBODY;
+
+        position = new int[players];
+        doublesInARow = new int[players];
+        turnsInJail = new int[players];
+        Arrays.fill(turnsInJail, -1);
+        playerTurns = new long[players];
+
+        squareActions = board.actions;
+        freq = new long[board.size];
+
+        //By default the results are printed and copied to the clipboard at the standard checkpoints
+        sink = ResultSink.clipboard();
+        schedule = CheckpointSchedule.STANDARD;
+    }
+
+    /**
+     * This method starts the simulation. The turns are played until the end of the checkpoint schedule, and the results
+     * are sent to the result sink at every checkpoint.
+     */
+    public void run() {
+        long checkpoint = 0;
+        while(checkpoint < schedule.total()){
+            checkpoint = schedule.next(checkpoint);
+            CheckpointEvent event = CheckpointEvent.start();
+            playUntil(checkpoint);
+            event.reached(name(), turns);
+            sink.accept(new Snapshot(name(), turns, freq.clone()));
+        }
+    }
+
+    /**
+     * This method plays turns, one player after another (a player who rolls doubles goes again first), until the total
+     * number of turns reaches the target.
+     * @param targetTurns - the total number of turns that should have been played once this method returns
+     */
+    void playUntil(long targetTurns) {
+        int players = position.length;
+        int p = player;
+        int size = board.size;
+        int jail = board.jail;
+        int doublesToJail = board.doublesToJail;
+        DiceTable dice = board.dice;
+
+        while(turns < targetTurns){
+            //All of the dice come from a single draw of one outcome
+            int roll = dice.roll(rng);
+            int d1 = dice.die1[roll];
+            int d2 = dice.die2[roll];
+            int square = position[p];
+
+            //if in jail do not move forward, doubles do not count in jail
+            if(turnsInJail[p] >= 0){
+                doublesInARow[p] = 0;
+                square = jailTurn(p, d1, d2);
+            }
+            else{
+                //Seeing if doubles where rolled
+                if(d1 == d2)
+                    doublesInARow[p]++;
+                else
+                    doublesInARow[p] = 0;
+
+                //3 doubles in a row sends you to jail
+                if(doublesInARow[p] == doublesToJail){
+                    doublesInARow[p] = 0;
+                    turnsInJail[p] = 0;
+                    square = jail;
+                }
+                else{
+                    //move the player forward on the board (wrap around after the last space)
+                    square += dice.steps[roll];
+                    if(square >= size)
+                        square -= size;
+
+                    switch (squareActions[square]) {
+                        case Board.CHANCE:
+                            square = drawChance(p, square);
+                            break;
+                        case Board.COMMUNITY_CHEST:
+                            square = drawCommunityChest(p, square);
+                            break;
+                        case Board.GO_TO_JAIL:
+                            turnsInJail[p] = 0;
+                            square = jail;
+                            break;
+                        default:
+                            //Landing on jail is just visiting
+                            break;
+                    }
+                }
+            }
+
+            position[p] = square;
+            freq[square]++;
+            turns++;
+            playerTurns[p]++;
+
+            //A player who rolled doubles rolls again before anyone else, unless they ended up in jail. Leaving jail with
+            //doubles does not give another roll
+            if(doublesInARow[p] == 0 || turnsInJail[p] >= 0){
+                p++;
+                if(p == players)
+                    p = 0;
+            }
+        }
+        player = p;
+    }
+
+    /**
+     * This method draws a chance card for a player. This follows the same logic as the ChanceBoardObject.
+     */
+    private int drawChance(int p, int square) {
+        int card = chance.draw();
+        switch (board.chance.effects[card]) {
+            case CardTable.KEEP:
+                chanceCardHolder = p;
+                break;
+            case CardTable.JAIL:
+                turnsInJail[p] = 0;
+                break;
+        }
+        return board.chance.destination(card, square);
+    }
+
+    /**
+     * This method draws a community chest card for a player. This follows the same logic as the
+     * CommunityChestBoardObject.
+     */
+    private int drawCommunityChest(int p, int square) {
+        int card = communityChest.draw();
+        switch (board.communityChest.effects[card]) {
+            case CardTable.KEEP:
+                communityChestCardHolder = p;
+                break;
+            case CardTable.JAIL:
+                turnsInJail[p] = 0;
+                break;
+        }
+        return board.communityChest.destination(card, square);
+    }
+
+    /**
+     * This method plays a turn for a player in jail. This follows the same logic as the JailBoardObject, the only
+     * difference being that a used get out of jail free card is returned to the shared deck.
+     */
+    private int jailTurn(int p, int d1, int d2) {
+        turnsInJail[p]++;
+
+        boolean holdsCard = chanceCardHolder == p || communityChestCardHolder == p;
+        switch (policy.decide(turnsInJail[p], holdsCard, playerTurns[p])) {
+            //If you get out of jail use your turn as normal, the chance card is used first
+            case USE_CARD:
+                if(chanceCardHolder == p){
+                    chanceCardHolder = NOBODY;
+                    chance.returnGetOutOfJailCard();
+                }
+                else if(communityChestCardHolder == p){
+                    communityChestCardHolder = NOBODY;
+                    communityChest.returnGetOutOfJailCard();
+                }
+                else
+                    throw new IllegalStateException(policy.name() + " used a get out of jail free card it does not hold");
+                return leaveJail(p, d1, d2);
+            case PAY:
+                return leaveJail(p, d1, d2);
+            default:
+                //Once you roll doubles, or wait the most turns allowed you will get out of jail and move forward
+                if(turnsInJail[p] == board.turnsInJail || d1 == d2)
+                    return leaveJail(p, d1, d2);
+                return board.jail;
+        }
+    }
+
+    /**
+     * This method takes a player out of jail and moves them forward by the dice.
+     */
+    private int leaveJail(int p, int d1, int d2) {
+        turnsInJail[p] = -1;
+        int square = board.jail + d1 + d2;
+        return square >= board.size ? square - board.size : square;
+    }
+
+    /**
+     * @return - the name used when reporting the results, such as "Strategy b, 4 players"
+     */
+    private String name() {
+        return policy.name() + ", " + position.length + " players";
+    }
+
+    /**
+     * This method sets where the results of the simulation are sent at each checkpoint.
+     * @param sink - the sink that receives the results
+     */
+    public void setResultSink(ResultSink sink) {
+        this.sink = sink;
+    }
+
+    /**
+     * This method sets how many turns are played (counting every player's turn), and at which points the results are
+     * sent to the sink.
+     * @param schedule - the checkpoint schedule
+     */
+    public void setSchedule(CheckpointSchedule schedule) {
+        this.schedule = schedule;
+    }
+}
@@ -0,0 +1,39 @@
+package monopoly;
+
+/**
+ * This class gives a JailPolicy a name, so that lambdas can be used as policies and still be reported nicely. See
+ * JailPolicy.named.
+ *
+ * @author Timothy Blamires
+ * @version 10/17/26
+ */
+final class NamedJailPolicy implements JailPolicy {
+
+    //The name used when reporting results
+    private final String name;
+
+    //The policy that makes the decisions
+    private final JailPolicy policy;
+
+    NamedJailPolicy(String name, JailPolicy policy) {
+        if(name == null || policy == null)
+            throw new IllegalArgumentException("A named policy needs a name and a policy");
+        this.name = name;
+        this.policy = policy;
+    }
+
+    @Override
+    public Action decide(int attempt, boolean holdsCard, long turn) {
+        return policy.decide(attempt, holdsCard, turn);
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
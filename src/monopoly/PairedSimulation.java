@@ -0,0 +1,249 @@
+package monopoly;
+
+import java.util.Arrays;
+
+/**
+ * This class compares two jail policies using common random numbers. Instead of simulating each policy on its own, both
+ * policies play in the same loop with exactly the same dice, so each roll is made once and used by both. Each card deck
+ * of the two simulations is shuffled by its own random source, and the two Chance decks (and the two Community Chest
+ * decks) use sources with the same seed, so they are drawn in the same order until the policies make the player's path
+ * split (for example one player pays to leave jail while the other stays). Giving every deck its own source means one
+ * path shuffling Chance while the other shuffles Community Chest can not put the later shuffles of both decks out of
+ * step. While the paths are together the luck is the same for both policies and cancels out of the difference between
+ * them.
+ *
+ * Once the paths split the two players are on different spaces, and the same dice move both of them the same number of
+ * spaces, so they stay apart until a card or jail happens to put them on the same space again. The gain is therefore
+ * only large for policies that rarely act differently. For strategy "a" against strategy "b" the paths split on most
+ * trips to jail, and the variance of the difference is only about 3% lower than with two separate runs (8% for "b"
+ * against "hold-card"), so pairing does not cut the turns needed by much. What it does give is the difference itself,
+ * with an error bar for every space, from a single run. The share of the turns two separate runs would need for the
+ * same error bars is measured on every run (see varianceRatio), so the gain is never assumed.
+ *
+ * The difference in the fraction of turns ending on each space (first policy minus second) is measured with the batch
+ * means method, giving a confidence interval for every space.
+ *
+ * @author Timothy Blamires
+ * @version 10/17/26
+ */
+public class PairedSimulation {
+
+    //The two simulations being compared
+    private final MonopolySimulation first;
+    private final MonopolySimulation second;
+
+    //The random source of the dice used by both simulations, and the dice of the board
+    private final RandomSource diceSource;
+    private final DiceTable dice;
+
+    //The difference between the simulations, measured in batches of MonopolySimulation.BATCH_SIZE turns
+    private final BatchMeans difference;
+
+    //Each simulation on its own, measured in the same batches, to find what two separate runs would have given
+    private final BatchMeans firstAlone;
+    private final BatchMeans secondAlone;
+
+    //The frequencies of each simulation at the end of the last batch, and the space to work out a batch
+    private final long[] previousFirst;
+    private final long[] previousSecond;
+    private final long[] currentFirst;
+    private final long[] currentSecond;
+    private final long[] batch;
+
+    //The number of turns played by each simulation
+    private long turns;
+
+    //Where the results of both simulations are sent, and when
+    private ResultSink sink;
+    private CheckpointSchedule schedule;
+
+    /**
+     * This method builds a PairedSimulation.
+     * @param firstPolicy - the first jail policy
+     * @param secondPolicy - the second jail policy, the difference is reported as first minus second
+     * @param rng - the random source that the dice and the card shuffles are split from
+     */
+    public PairedSimulation(JailPolicy firstPolicy, JailPolicy secondPolicy, RandomSource rng) {
+        this(Board.STANDARD, firstPolicy, secondPolicy, rng);
+    }
+
+    /**
+     * This method builds a PairedSimulation where both policies play on the given board.
+     * @param board - the board, such as Board.STANDARD or a board read with Board.load
+     * @param firstPolicy - the first jail policy
+     * @param secondPolicy - the second jail policy, the difference is reported as first minus second
+     * @param rng - the random source that the dice and the card shuffles are split from
+     */
+    public PairedSimulation(Board board, JailPolicy firstPolicy, JailPolicy secondPolicy, RandomSource rng) {
+        diceSource = rng.split();
+        dice = board.dice;
+
+        //Each deck of both simulations is shuffled the same way, from a stream of its own
+        RandomSource[] chance = rng.splitIdentical(2);
+        RandomSource[] communityChest = rng.splitIdentical(2);
+        first = new MonopolySimulation(board, firstPolicy, diceSource, chance[0], communityChest[0]);
+        second = new MonopolySimulation(board, secondPolicy, diceSource, chance[1], communityChest[1]);
+
+        difference = new BatchMeans(board.size, MonopolySimulation.BATCH_SIZE);
+        firstAlone = new BatchMeans(board.size, MonopolySimulation.BATCH_SIZE);
+        secondAlone = new BatchMeans(board.size, MonopolySimulation.BATCH_SIZE);
+        previousFirst = new long[board.size];
+        previousSecond = new long[board.size];
+        currentFirst = new long[board.size];
+        currentSecond = new long[board.size];
+        batch = new long[board.size];
+
+        //By default the results are printed and copied to the clipboard at the standard checkpoints
+        sink = ResultSink.clipboard();
+        schedule = CheckpointSchedule.STANDARD;
+    }
+
+    /**
+     * This method starts the simulation. The turns are played until the end of the checkpoint schedule, and the results
+     * of both policies are sent to the result sink at every checkpoint.
+     * @return - the batch means of the difference between the policies, first minus second
+     */
+    public BatchMeans run() {
+        long checkpoint = 0;
+        while(checkpoint < schedule.total()){
+            checkpoint = schedule.next(checkpoint);
+            CheckpointEvent event = CheckpointEvent.start();
+            playUntil(checkpoint);
+            Snapshot firstSnapshot = first.snapshot();
+            Snapshot secondSnapshot = second.snapshot();
+            event.reached(firstSnapshot.name() + " - " + secondSnapshot.name(), turns);
+            sink.accept(firstSnapshot);
+            sink.accept(secondSnapshot);
+        }
+        return difference;
+    }
+
+    /**
+     * This method plays turns until the difference between the policies is known to within the given tolerance on every
+     * space, or until the maximum number of turns is reached. The results of both policies are sent to the sink once
+     * the simulation stops.
+     * @param tolerance - the largest half width allowed for the confidence interval of the difference of any space
+     * @param confidence - the confidence level of the intervals, between 0 and 1 (such as 0.95)
+     * @param maxTurns - the simulation stops after this many turns, even if the tolerance has not been reached. It must
+     * be at least MonopolySimulation.BATCH_SIZE * MIN_BATCHES, the fewest turns that can converge
+     * @return - the batch means of the difference between the policies, first minus second
+     */
+    public BatchMeans runUntilConverged(double tolerance, double confidence, long maxTurns) {
+        if(!(tolerance > 0))
+            throw new IllegalArgumentException("Tolerance must be more than 0");
+        long minTurns = MonopolySimulation.BATCH_SIZE * MonopolySimulation.MIN_BATCHES;
+        if(maxTurns < minTurns)
+            throw new IllegalArgumentException("Maximum turns must be at least " + minTurns
+                    + " so that enough batches can be played");
+
+        //Taking at least MIN_BATCHES batches so that the variance estimate can be trusted
+        while(turns + MonopolySimulation.BATCH_SIZE <= maxTurns){
+            playUntil(turns + MonopolySimulation.BATCH_SIZE);
+            if(difference.batches() >= MonopolySimulation.MIN_BATCHES
+                    && difference.maxHalfWidth(confidence) <= tolerance)
+                break;
+        }
+        sink.accept(first.snapshot());
+        sink.accept(second.snapshot());
+        return difference;
+    }
+
+    /**
+     * This method plays both simulations with the same dice until they have played the given number of turns, adding
+     * a batch to the difference every MonopolySimulation.BATCH_SIZE turns.
+     * @param targetTurns - the number of turns each simulation should have played once this method returns
+     */
+    void playUntil(long targetTurns) {
+        while(turns < targetTurns){
+            long batchEnd = (turns / MonopolySimulation.BATCH_SIZE + 1) * MonopolySimulation.BATCH_SIZE;
+            long end = Math.min(targetTurns, batchEnd);
+
+            //Each roll is made once and played by both simulations
+            for (long turn = turns; turn < end; turn++) {
+                int roll = dice.roll(diceSource);
+                first.playTurn(roll);
+                second.playTurn(roll);
+            }
+            turns = end;
+
+            if(turns == batchEnd)
+                addBatch();
+        }
+    }
+
+    /**
+     * This method adds the difference between the simulations over the last batch to the batch means.
+     */
+    private void addBatch() {
+        Arrays.fill(currentFirst, 0);
+        Arrays.fill(currentSecond, 0);
+        first.addFrequencies(currentFirst);
+        second.addFrequencies(currentSecond);
+        for (int i = 0; i < batch.length; i++) {
+            batch[i] = currentFirst[i] - previousFirst[i];
+        }
+        firstAlone.addBatch(batch);
+        for (int i = 0; i < batch.length; i++) {
+            batch[i] = currentSecond[i] - previousSecond[i];
+        }
+        secondAlone.addBatch(batch);
+        for (int i = 0; i < batch.length; i++) {
+            batch[i] = (currentFirst[i] - previousFirst[i]) - (currentSecond[i] - previousSecond[i]);
+            previousFirst[i] = currentFirst[i];
+            previousSecond[i] = currentSecond[i];
+        }
+        difference.addBatch(batch);
+    }
+
+    /**
+     * This method measures how much the common random numbers helped. Two separate runs would give a difference whose
+     * variance is the variance of the first policy plus the variance of the second, which are found from the batches of
+     * each policy on its own. The variance of the paired difference is divided by that, summed over every space.
+     * @return - the variance of the paired difference as a share of the variance of two separate runs of the same
+     * length, which is also the share of the turns two separate runs would need for the same error bars (1 means the
+     * pairing did not help), or NaN if fewer than 2 batches have been played
+     */
+    public double varianceRatio() {
+        if(difference.batches() < 2)
+            return Double.NaN;
+        double paired = 0;
+        double separate = 0;
+        for (int i = 0; i < difference.squares(); i++) {
+            paired += square(difference.halfWidth(i, 0.95));
+            separate += square(firstAlone.halfWidth(i, 0.95)) + square(secondAlone.halfWidth(i, 0.95));
+        }
+        return separate == 0 ? Double.NaN : paired / separate;
+    }
+
+    /**
+     * @return - the number multiplied by itself
+     */
+    private static double square(double x) {
+        return x * x;
+    }
+
+    /**
+     * @return - the batch means of the difference between the policies so far, first minus second
+     */
+    public BatchMeans difference() {
+        return difference;
+    }
+
+    /**
+     * This method sets where the results of both simulations are sent at each checkpoint. By default they are printed
+     * to the console and copied to the clipboard.
+     * @param sink - the sink that receives the results
+     */
+    public void setResultSink(ResultSink sink) {
+        this.sink = sink;
+    }
+
+    /**
+     * This method sets how many turns each policy plays, and at which points the results are sent to the sink. By
+     * default this is CheckpointSchedule.STANDARD.
+     * @param schedule - the checkpoint schedule
+     */
+    public void setSchedule(CheckpointSchedule schedule) {
+        this.schedule = schedule;
+    }
+}
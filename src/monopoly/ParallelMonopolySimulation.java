@@ -0,0 +1,184 @@
+package monopoly;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * This class runs one monopoly simulation across several threads. The turns of the simulation are split into slices,
+ * and every slice is played by its own MonopolySimulation, meaning every worker has its own dice and its own frequency
+ * array. At each checkpoint of the schedule the workers are brought up to their share of the turns, and their
+ * frequencies are added together before being printed. Since every worker starts on GO, a parallel run is the same as
+ * running several shorter games and adding the results together.
+ *
+ * @author Timothy Blamires
+ * @version 10/17/26
+ */
+public class ParallelMonopolySimulation {
+
+    //Decides how the player tries to get out of jail
+    private final JailPolicy policy;
+
+    //Each worker plays its own slice of the turns
+    private final MonopolySimulation[] workers;
+
+    //The threads the workers are run on
+    private final ExecutorService pool;
+
+    //Where the merged results are sent at each checkpoint
+    private ResultSink sink;
+
+    //How many turns are played, and when the results are merged and sent to the sink
+    private CheckpointSchedule schedule;
+
+    //The statistics of every worker, and where they are merged at each checkpoint, or null to not count them
+    private TurnStatistics[] workerStatistics;
+    private TurnStatistics statistics;
+
+    /**
+     * This method builds a ParallelMonopolySimulation. The pool is not shut down by this class, so the same pool can be
+     * shared between many simulations.
+     * @param policy - Decides how the player tries to get out of jail
+     * @param pool - The threads used to run the workers
+     * @param workerCount - The number of slices the turns are split into, usually the number of threads in the pool
+     * @param rng - The random source that the random source of each worker is split from
+     */
+    public ParallelMonopolySimulation(JailPolicy policy, ExecutorService pool, int workerCount, RandomSource rng) {
+        this(Board.STANDARD, policy, pool, workerCount, rng);
+    }
+
+    /**
+     * This method builds a ParallelMonopolySimulation where every worker plays on the given board.
+     * @param board - The board, such as Board.STANDARD or a board read with Board.load
+     * @param policy - Decides how the player tries to get out of jail
+     * @param pool - The threads used to run the workers
+     * @param workerCount - The number of slices the turns are split into, usually the number of threads in the pool
+     * @param rng - The random source that the random source of each worker is split from
+     */
+    public ParallelMonopolySimulation(Board board, JailPolicy policy, ExecutorService pool, int workerCount,
+                                      RandomSource rng) {
+        if(workerCount < 1)
+            throw new IllegalArgumentException("Must have at least one worker");
+
+        this.policy = policy;
+        this.pool = pool;
+
+        //Every worker has its own dice and frequency array, so nothing is shared between threads
+        workers = new MonopolySimulation[workerCount];
+        for (int i = 0; i < workerCount; i++) {
+            workers[i] = new MonopolySimulation(board, policy, rng.split());
+        }
+
+        //By default the results are printed and copied to the clipboard at the standard checkpoints
+        sink = ResultSink.clipboard();
+        schedule = CheckpointSchedule.STANDARD;
+    }
+
+    /**
+     * This method starts the simulation. Just like MonopolySimulation.run the results will be reported at every
+     * checkpoint of the schedule, however the turns will be played by all the workers at the same time.
+     */
+    public void run() {
+        long checkpoint = 0;
+        while(checkpoint < schedule.total()){
+            checkpoint = schedule.next(checkpoint);
+            CheckpointEvent event = CheckpointEvent.start();
+            runUntil(checkpoint);
+            event.reached(policy.name(), checkpoint);
+        }
+    }
+
+    /**
+     * This method brings every worker up to its share of the given number of turns, then merges the results and sends
+     * them to the sink.
+     * @param turns - The total number of turns that should be played across all workers
+     */
+    private void runUntil(long turns) {
+
+        //Splitting the turns as evenly as possible, the first workers play one extra turn if it does not divide evenly
+        List<Callable<Void>> tasks = new ArrayList<>(workers.length);
+        for (int i = 0; i < workers.length; i++) {
+            MonopolySimulation worker = workers[i];
+            long share = turns / workers.length + (i < turns % workers.length ? 1 : 0);
+            tasks.add(() -> {
+                worker.playUntil(share);
+                return null;
+            });
+        }
+
+        //Waiting for all workers to reach the checkpoint
+        try {
+            for (Future<Void> future : pool.invokeAll(tasks)) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e.getCause());
+        }
+
+        //Adding the frequencies of every worker together
+        long[] freq = new long[workers[0].board().size];
+        for (MonopolySimulation worker : workers) {
+            worker.addFrequencies(freq);
+        }
+        sink.accept(new Snapshot(policy.name(), turns, freq));
+
+        //The statistics are merged the same way as the frequencies
+        if(statistics != null){
+            statistics.clear();
+            for (TurnStatistics worker : workerStatistics) {
+                statistics.merge(worker);
+            }
+        }
+    }
+
+    /**
+     * This method sets where the merged results are sent at each checkpoint. By default they are printed to the
+     * console and copied to the clipboard.
+     * @param sink - the sink that receives the results
+     */
+    public void setResultSink(ResultSink sink) {
+        this.sink = sink;
+    }
+
+    /**
+     * This method sets where the counts of the simulation are published for JMX. Every worker publishes its own counts,
+     * and the metrics add them up when they are read. By default they are not published.
+     * @param metrics - the metrics to publish to, or null to not publish them
+     */
+    public void setMetrics(SimulationMetrics metrics) {
+        for (MonopolySimulation worker : workers) {
+            worker.setMetrics(metrics);
+        }
+    }
+
+    /**
+     * This method sets where the transitions and causes of every turn are counted. Every worker counts its own turns,
+     * and the counts of all workers are merged into the given statistics at each checkpoint. By default they are not
+     * counted.
+     * @param statistics - where the merged counts are kept, or null to not count them
+     */
+    public void setStatistics(TurnStatistics statistics) {
+        this.statistics = statistics;
+        workerStatistics = statistics == null ? null : new TurnStatistics[workers.length];
+        for (int i = 0; i < workers.length; i++) {
+            if(statistics != null)
+                workerStatistics[i] = new TurnStatistics(workers[i].board());
+            workers[i].setStatistics(statistics == null ? null : workerStatistics[i]);
+        }
+    }
+
+    /**
+     * This method sets how many turns are played in total across all workers, and at which points the merged results
+     * are sent to the sink. By default this is CheckpointSchedule.STANDARD.
+     * @param schedule - the checkpoint schedule
+     */
+    public void setSchedule(CheckpointSchedule schedule) {
+        this.schedule = schedule;
+    }
+}
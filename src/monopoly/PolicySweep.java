@@ -0,0 +1,219 @@
+package monopoly;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * This class compares a list of jail policies to find the one that does best on some objective, such as landing on the
+ * orange properties as often as possible. Instead of giving every policy the full number of turns, the policies are
+ * raced using successive halving. Every policy plays a short simulation, the worse half is dropped, and the rest keep
+ * playing for twice as many turns, until only two policies are left to play the full number of turns. Clearly worse
+ * policies are dropped after only a few turns, so a sweep over n policies costs about as much as simulating
+ * log2(n) + 1 policies in full, instead of n.
+ *
+ * Every policy has its own MonopolySimulation with its own random source, and the simulations of each round are played
+ * at the same time on the given threads.
+ *
+ * @author Timothy Blamires
+ * @version 10/17/26
+ */
+public class PolicySweep {
+
+    //The policies being compared
+    private final List<JailPolicy> policies;
+
+    //The score of a simulation's results, higher is better
+    private final ToDoubleFunction<Snapshot> objective;
+
+    //The threads the simulations are run on
+    private final ExecutorService pool;
+
+    //The random source that every simulation's random source is split from
+    private final RandomSource rng;
+
+    //The board every policy plays on
+    private final Board board;
+
+    /**
+     * This method builds a PolicySweep. The pool is not shut down by this class.
+     * @param policies - the policies to compare
+     * @param objective - gives the score of a policy from its results, higher is better
+     * @param pool - the threads used to run the simulations
+     * @param rng - the random source that the random source of every simulation is split from
+     */
+    public PolicySweep(List<JailPolicy> policies, ToDoubleFunction<Snapshot> objective, ExecutorService pool,
+                       RandomSource rng) {
+        this(Board.STANDARD, policies, objective, pool, rng);
+    }
+
+    /**
+     * This method builds a PolicySweep where every policy plays on the given board. The pool is not shut down by this
+     * class.
+     * @param board - the board, such as Board.STANDARD or a board read with Board.load
+     * @param policies - the policies to compare
+     * @param objective - gives the score of a policy from its results, higher is better
+     * @param pool - the threads used to run the simulations
+     * @param rng - the random source that the random source of every simulation is split from
+     */
+    public PolicySweep(Board board, List<JailPolicy> policies, ToDoubleFunction<Snapshot> objective,
+                       ExecutorService pool, RandomSource rng) {
+        if(policies.isEmpty())
+            throw new IllegalArgumentException("Must have at least one policy to compare");
+        this.policies = List.copyOf(policies);
+        this.objective = objective;
+        this.pool = pool;
+        this.rng = rng;
+        this.board = board;
+    }
+
+    /**
+     * This method builds an objective that scores a policy by the fraction of turns that end on any of the given
+     * spaces. Use a negative objective (such as s -> -landingOn(30).applyAsDouble(s)) to find the policy that avoids
+     * the spaces instead.
+     * @param squares - the spaces that count, 0 to the number of spaces on the board - 1
+     * @return - the objective
+     */
+    public static ToDoubleFunction<Snapshot> landingOn(int... squares) {
+        int[] spaces = squares.clone();
+        for (int square : spaces) {
+            if(square < 0 || square >= Board.MAX_SIZE)
+                throw new IllegalArgumentException("Space " + square + " is not on the board");
+        }
+        return snapshot -> {
+            double total = 0;
+            for (int square : spaces) {
+                total += snapshot.probability(square);
+            }
+            return total;
+        };
+    }
+
+    /**
+     * This method races the policies. The two policies that survive to the last round play the given number of turns,
+     * every round before that plays half as many turns as the round after it.
+     * @param maxTurns - the number of turns played by the best policies
+     * @return - the result of every policy, best first. Policies that lasted more rounds come first, and policies
+     * dropped in the same round are ordered by their score
+     */
+    public List<Result> run(long maxTurns) {
+        if(maxTurns < 1)
+            throw new IllegalArgumentException("Must play at least one turn");
+
+        //Each round halves the number of policies, until 2 or fewer are left for the last round
+        int rounds = 1;
+        for (int left = policies.size(); left > 2; left = (left + 1) / 2) {
+            rounds++;
+        }
+
+        //Every policy has its own simulation, which keeps playing from where it stopped in the round before
+        MonopolySimulation[] simulations = new MonopolySimulation[policies.size()];
+        List<Integer> survivors = new ArrayList<>();
+        for (int i = 0; i < simulations.length; i++) {
+            simulations[i] = new MonopolySimulation(board, policies.get(i), rng.split());
+            survivors.add(i);
+        }
+
+        List<Result> results = new ArrayList<>();
+        for (int round = 0; round < rounds; round++) {
+            long turns = Math.max(1, maxTurns >> (rounds - 1 - round));
+            List<Result> scored = playRound(simulations, survivors, turns);
+            scored.sort(Comparator.comparingDouble(Result::score).reversed());
+
+            //The better half (rounded up) goes on to the next round, the rest are dropped
+            int keep = round == rounds - 1 ? 0 : (scored.size() + 1) / 2;
+            survivors = new ArrayList<>();
+            for (int i = 0; i < scored.size(); i++) {
+                if(i < keep)
+                    survivors.add(scored.get(i).index);
+                else
+                    results.add(scored.get(i));
+            }
+        }
+
+        //Policies that lasted longer played more turns, so they come first
+        results.sort(Comparator.comparingLong(Result::turns).thenComparingDouble(Result::score).reversed());
+        return results;
+    }
+
+    /**
+     * This method brings every surviving simulation up to the given number of turns at the same time, then scores it.
+     */
+    private List<Result> playRound(MonopolySimulation[] simulations, List<Integer> survivors, long turns) {
+        List<Callable<Result>> tasks = new ArrayList<>(survivors.size());
+        for (int index : survivors) {
+            MonopolySimulation simulation = simulations[index];
+            tasks.add(() -> {
+                simulation.playUntil(turns);
+                Snapshot snapshot = simulation.snapshot();
+                return new Result(index, policies.get(index), snapshot, objective.applyAsDouble(snapshot));
+            });
+        }
+
+        List<Result> scored = new ArrayList<>(tasks.size());
+        try {
+            for (Future<Result> future : pool.invokeAll(tasks)) {
+                scored.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e.getCause());
+        }
+        return scored;
+    }
+
+    /**
+     * This class holds how a policy did in the sweep, from the last round it played.
+     */
+    public static final class Result {
+
+        //The position of the policy in the list given to the sweep
+        private final int index;
+
+        private final JailPolicy policy;
+        private final Snapshot snapshot;
+        private final double score;
+
+        private Result(int index, JailPolicy policy, Snapshot snapshot, double score) {
+            this.index = index;
+            this.policy = policy;
+            this.snapshot = snapshot;
+            this.score = score;
+        }
+
+        /**
+         * @return - the policy
+         */
+        public JailPolicy policy() {
+            return policy;
+        }
+
+        /**
+         * @return - the results of the policy when it was last scored
+         */
+        public Snapshot snapshot() {
+            return snapshot;
+        }
+
+        /**
+         * @return - the number of turns the policy played before it was dropped, or in total if it made the last round
+         */
+        public long turns() {
+            return snapshot.turns();
+        }
+
+        /**
+         * @return - the score of the policy when it was last scored, higher is better
+         */
+        public double score() {
+            return score;
+        }
+    }
+}
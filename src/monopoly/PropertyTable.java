@@ -0,0 +1,306 @@
+package monopoly;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class holds the prices, rents, house costs and mortgage values of every property on the board. The standard US
+ * table is built in, and other tables can be read from a file or made by changing the rents of a table, so that what-if
+ * questions about rent tables can be answered by the IncomeAnalytics without running the simulation again.
+ *
+ * Properties are split into color groups. Streets have six rents (no houses, 1 - 4 houses and a hotel). Railroads have
+ * one rent for each number of railroads owned (1 - 4), and utilities have one multiplier of the dice for each number of
+ * utilities owned (1 - 2).
+ *
+ * A table file has one property per line, with the values separated by commas
+ * square,name,group,price,mortgage,houseCost,rent,rent,...
+ * Lines starting with # are ignored. Properties in the groups "Railroad" and "Utility" are priced as railroads and
+ * utilities, every other group is a group of streets.
+ *
+ * @author Timothy Blamires
+ * @version 10/17/26
+ */
+public final class PropertyTable {
+
+    //The names of the groups that are not streets
+    public static final String RAILROAD = "Railroad";
+    public static final String UTILITY = "Utility";
+
+    //The standard US property table
+    public static final PropertyTable STANDARD = new PropertyTable(List.of(
+            street(1, "Mediterranean Avenue", "Brown", 60, 50, 2, 10, 30, 90, 160, 250),
+            street(3, "Baltic Avenue", "Brown", 60, 50, 4, 20, 60, 180, 320, 450),
+            railroad(5, "Reading Railroad"),
+            street(6, "Oriental Avenue", "Light Blue", 100, 50, 6, 30, 90, 270, 400, 550),
+            street(8, "Vermont Avenue", "Light Blue", 100, 50, 6, 30, 90, 270, 400, 550),
+            street(9, "Connecticut Avenue", "Light Blue", 120, 50, 8, 40, 100, 300, 450, 600),
+            street(11, "St. Charles Place", "Pink", 140, 100, 10, 50, 150, 450, 625, 750),
+            utility(12, "Electric Company"),
+            street(13, "States Avenue", "Pink", 140, 100, 10, 50, 150, 450, 625, 750),
+            street(14, "Virginia Avenue", "Pink", 160, 100, 12, 60, 180, 500, 700, 900),
+            railroad(15, "Pennsylvania Railroad"),
+            street(16, "St. James Place", "Orange", 180, 100, 14, 70, 200, 550, 750, 950),
+            street(18, "Tennessee Avenue", "Orange", 180, 100, 14, 70, 200, 550, 750, 950),
+            street(19, "New York Avenue", "Orange", 200, 100, 16, 80, 220, 600, 800, 1000),
+            street(21, "Kentucky Avenue", "Red", 220, 150, 18, 90, 250, 700, 875, 1050),
+            street(23, "Indiana Avenue", "Red", 220, 150, 18, 90, 250, 700, 875, 1050),
+            street(24, "Illinois Avenue", "Red", 240, 150, 20, 100, 300, 750, 925, 1100),
+            railroad(25, "B. & O. Railroad"),
+            street(26, "Atlantic Avenue", "Yellow", 260, 150, 22, 110, 330, 800, 975, 1150),
+            street(27, "Ventnor Avenue", "Yellow", 260, 150, 22, 110, 330, 800, 975, 1150),
+            utility(28, "Water Works"),
+            street(29, "Marvin Gardens", "Yellow", 280, 150, 24, 120, 360, 850, 1025, 1200),
+            street(31, "Pacific Avenue", "Green", 300, 200, 26, 130, 390, 900, 1100, 1275),
+            street(32, "North Carolina Avenue", "Green", 300, 200, 26, 130, 390, 900, 1100, 1275),
+            street(34, "Pennsylvania Avenue", "Green", 320, 200, 28, 150, 450, 1000, 1200, 1400),
+            railroad(35, "Short Line"),
+            street(37, "Park Place", "Dark Blue", 350, 200, 35, 175, 500, 1100, 1300, 1500),
+            street(39, "Boardwalk", "Dark Blue", 400, 200, 50, 200, 600, 1400, 1700, 2000)));
+
+    //The properties, in the order of the board
+    private final List<Property> properties;
+
+    //The properties of each group, with the groups in the order they first appear on the board
+    private final Map<String, List<Property>> groups;
+
+    /**
+     * This method builds a PropertyTable, checking that no space has two properties and that every property has the
+     * right number of rents for its group.
+     * @param properties - the properties
+     */
+    public PropertyTable(List<Property> properties) {
+        List<Property> sorted = new ArrayList<>(properties);
+        sorted.sort((a, b) -> Integer.compare(a.square, b.square));
+        for (int i = 0; i < sorted.size(); i++) {
+            Property property = sorted.get(i);
+            if(i > 0 && sorted.get(i - 1).square == property.square)
+                throw new IllegalArgumentException("Space " + property.square + " has two properties");
+            int rents = property.group.equals(RAILROAD) ? 4 : property.group.equals(UTILITY) ? 2 : 6;
+            if(property.rents.length != rents)
+                throw new IllegalArgumentException(property.name + " must have " + rents + " rents");
+        }
+        this.properties = Collections.unmodifiableList(sorted);
+
+        Map<String, List<Property>> groups = new LinkedHashMap<>();
+        for (Property property : sorted) {
+            groups.computeIfAbsent(property.group, g -> new ArrayList<>()).add(property);
+        }
+        groups.replaceAll((g, list) -> Collections.unmodifiableList(list));
+        this.groups = Collections.unmodifiableMap(groups);
+    }
+
+    /**
+     * This method reads a property table from a file, see the class description for the format.
+     * @param path - the file to read
+     * @return - the table
+     * @throws IOException - if the file can not be read
+     */
+    public static PropertyTable load(Path path) throws IOException {
+        List<Property> properties = new ArrayList<>();
+        for (String line : Files.readAllLines(path)) {
+            line = line.trim();
+            if(line.isEmpty() || line.startsWith("#"))
+                continue;
+            String[] parts = line.split(",");
+            if(parts.length < 7)
+                throw new IllegalArgumentException("Property not valid: " + line);
+            int[] rents = Arrays.stream(parts, 6, parts.length).mapToInt(s -> Integer.parseInt(s.trim())).toArray();
+            properties.add(new Property(Integer.parseInt(parts[0].trim()), parts[1].trim(), parts[2].trim(),
+                    Integer.parseInt(parts[3].trim()), Integer.parseInt(parts[4].trim()),
+                    Integer.parseInt(parts[5].trim()), rents));
+        }
+        return new PropertyTable(properties);
+    }
+
+    /**
+     * This method writes this table to a file in the format read by load, so that it can be edited.
+     * @param path - the file to write
+     * @throws IOException - if the file can not be written
+     */
+    public void save(Path path) throws IOException {
+        StringBuilder sb = new StringBuilder("#square,name,group,price,mortgage,houseCost,rents...\n");
+        for (Property p : properties) {
+            sb.append(p.square).append(',').append(p.name).append(',').append(p.group).append(',').append(p.price)
+                    .append(',').append(p.mortgage).append(',').append(p.houseCost);
+            for (int rent : p.rents) {
+                sb.append(',').append(rent);
+            }
+            sb.append('\n');
+        }
+        Files.writeString(path, sb);
+    }
+
+    /**
+     * This method builds a copy of this table with new rents for one property.
+     * @param square - the space of the property
+     * @param rents - the new rents, the same number as the property has now
+     * @return - the new table
+     */
+    public PropertyTable withRents(int square, int... rents) {
+        if(properties.stream().noneMatch(p -> p.square == square))
+            throw new IllegalArgumentException("Space " + square + " is not a property");
+        List<Property> changed = new ArrayList<>(properties);
+        changed.replaceAll(p -> p.square != square ? p
+                : new Property(p.square, p.name, p.group, p.price, p.mortgage, p.houseCost, rents));
+        return new PropertyTable(changed);
+    }
+
+    /**
+     * @return - every property, in the order of the board
+     */
+    public List<Property> properties() {
+        return properties;
+    }
+
+    /**
+     * @return - the properties of every group, with the groups in the order they first appear on the board
+     */
+    public Map<String, List<Property>> groups() {
+        return groups;
+    }
+
+    /**
+     * This method builds a street with a mortgage value of half its price.
+     */
+    private static Property street(int square, String name, String group, int price, int houseCost, int... rents) {
+        return new Property(square, name, group, price, price / 2, houseCost, rents);
+    }
+
+    /**
+     * This method builds a railroad with the standard price and rents.
+     */
+    private static Property railroad(int square, String name) {
+        return new Property(square, name, RAILROAD, 200, 100, 0, 25, 50, 100, 200);
+    }
+
+    /**
+     * This method builds a utility with the standard price and multipliers.
+     */
+    private static Property utility(int square, String name) {
+        return new Property(square, name, UTILITY, 150, 75, 0, 4, 10);
+    }
+
+    /**
+     * This class holds the values of one property. It is immutable.
+     */
+    public static final class Property {
+
+        private final int square;
+        private final String name;
+        private final String group;
+        private final int price;
+        private final int mortgage;
+        private final int houseCost;
+        private final int[] rents;
+
+        /**
+         * This method builds a Property.
+         * @param square - the space of the property, 0 - 39
+         * @param name - the name of the property
+         * @param group - the color group, or RAILROAD or UTILITY
+         * @param price - the price of the property
+         * @param mortgage - the money raised by mortgaging the property
+         * @param houseCost - the price of one house (a hotel costs the same as a house), 0 for railroads and utilities
+         * @param rents - the rents of the property, see the class description of PropertyTable
+         */
+        public Property(int square, String name, String group, int price, int mortgage, int houseCost, int... rents) {
+            if(square < 0 || square >= 40)
+                throw new IllegalArgumentException("Space " + square + " is not on the board");
+            if(price < 0 || mortgage < 0 || houseCost < 0)
+                throw new IllegalArgumentException("Prices of " + name + " must not be negative");
+            this.square = square;
+            this.name = name;
+            this.group = group;
+            this.price = price;
+            this.mortgage = mortgage;
+            this.houseCost = houseCost;
+            this.rents = rents.clone();
+        }
+
+        /**
+         * @return - the space of the property, 0 - 39
+         */
+        public int square() {
+            return square;
+        }
+
+        /**
+         * @return - the name of the property
+         */
+        public String name() {
+            return name;
+        }
+
+        /**
+         * @return - the color group, or RAILROAD or UTILITY
+         */
+        public String group() {
+            return group;
+        }
+
+        /**
+         * @return - the price of the property
+         */
+        public int price() {
+            return price;
+        }
+
+        /**
+         * @return - the money raised by mortgaging the property
+         */
+        public int mortgage() {
+            return mortgage;
+        }
+
+        /**
+         * @return - the price of one house, a hotel costs the same
+         */
+        public int houseCost() {
+            return houseCost;
+        }
+
+        /**
+         * @param index - for streets the number of houses (5 is a hotel), for railroads and utilities the number owned
+         * minus 1
+         * @return - the rent, or for utilities the multiplier of the dice
+         */
+        public int rent(int index) {
+            return rents[index];
+        }
+
+        /**
+         * @return - the number of rents
+         */
+        public int rents() {
+            return rents.length;
+        }
+
+        /**
+         * @return - true if houses can be built on this property
+         */
+        public boolean isStreet() {
+            return !group.equals(RAILROAD) && !group.equals(UTILITY);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if(!(o instanceof Property))
+                return false;
+            Property p = (Property) o;
+            return square == p.square && name.equals(p.name) && group.equals(p.group) && price == p.price
+                    && mortgage == p.mortgage && houseCost == p.houseCost && Arrays.equals(rents, p.rents);
+        }
+
+        @Override
+        public int hashCode() {
+            return square * 31 + Arrays.hashCode(rents);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package monopoly;
+
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGeneratorFactory;
+
+/**
+ * This class is the source of all randomness in a simulation. It wraps one of the random number generators from
+ * java.util.random, chosen by name (for example "L64X128MixRandom", "Xoshiro256PlusPlus" or "SplittableRandom"), and
+ * is always created from a seed so that runs can be repeated. Rolling the dice is the most common thing the simulation
+ * does, so both dice are rolled together from 32 random bits, meaning a single 64 bit number from the generator is
+ * enough for two turns.
+ *
+ * Long runs are split into segments, and the generator is seeded again at the start of every segment from the seed of
+ * the source and the number of the segment. The numbers of a segment therefore do not depend on anything that happened
+ * before it, which lets a run be saved at the start of a segment and carried on later with exactly the same results.
+ *
+ * @author Timothy Blamires
+ * @version 10/17/26
+ */
+public final class RandomSource {
+
+    //The generator used when no other one is chosen
+    public static final String DEFAULT_ALGORITHM = "L64X128MixRandom";
+
+    //2^32 mod 36, rolls below this are thrown away so that all 36 outcomes are exactly equally likely
+    private static final long REJECT_BELOW = (1L << 32) % 36;
+
+    //The name of the generator, used to create new sources when splitting
+    private final String algorithm;
+
+    //The seed the source was created with, every segment is seeded from it
+    private final long seed;
+
+    //The generator that all the random numbers come from
+    private RandomGenerator generator;
+
+    //The second half of the last 64 bit number, if it has not been used for a roll yet
+    private long spareBits;
+    private boolean hasSpareBits;
+
+    /**
+     * This method builds a RandomSource using the named generator.
+     * @param algorithm - the name of a generator from java.util.random, such as "L64X128MixRandom"
+     * @param seed - the seed of the generator, the same seed will always give the same numbers
+     */
+    public RandomSource(String algorithm, long seed) {
+        this.algorithm = algorithm;
+        this.seed = seed;
+        generator = RandomGeneratorFactory.of(algorithm).create(seed);
+    }
+
+    /**
+     * This method seeds the generator again for the start of a segment. The seed of the segment is mixed from the seed
+     * of this source and the segment number, so every segment gets different numbers.
+     * @param segment - the number of the segment, 0 for the first
+     */
+    void startSegment(long segment) {
+        generator = RandomGeneratorFactory.of(algorithm).create(mix(seed ^ mix(segment + 1)));
+        hasSpareBits = false;
+    }
+
+    /**
+     * @return - the name of the generator, such as "L64X128MixRandom"
+     */
+    String algorithm() {
+        return algorithm;
+    }
+
+    /**
+     * @return - the seed this source was created with
+     */
+    long seed() {
+        return seed;
+    }
+
+    /**
+     * This method builds a new RandomSource that uses the same kind of generator as this one, seeded from this source.
+     * This is used to give each simulation (or each worker of a parallel simulation) its own stream of numbers, while
+     * still allowing the whole run to be repeated from a single seed.
+     * @return - a new RandomSource
+     */
+    public RandomSource split() {
+        return new RandomSource(algorithm, generator.nextLong());
+    }
+
+    /**
+     * This method builds several new RandomSources that all give exactly the same numbers, seeded from this source. This
+     * is used to give simulations that are being compared the same random numbers (common random numbers), so that the
+     * difference between their results comes from the simulations and not from luck.
+     * @param copies - the number of sources to build
+     * @return - the new sources
+     */
+    RandomSource[] splitIdentical(int copies) {
+        long seed = generator.nextLong();
+        RandomSource[] sources = new RandomSource[copies];
+        for (int i = 0; i < copies; i++) {
+            sources[i] = new RandomSource(algorithm, seed);
+        }
+        return sources;
+    }
+
+    /**
+     * This method rolls both dice at once. The result is a number 0 - 35, where the first die is result / 6 + 1 and the
+     * second die is result % 6 + 1.
+     * @return - the outcome of the roll, 0 - 35
+     */
+    int rollDice() {
+        return rollUniform(36, REJECT_BELOW);
+    }
+
+    /**
+     * This method draws one of a number of equally likely outcomes from 32 random bits. This is how the dice are rolled
+     * (see DiceTable), and for two normal dice it is the same as rollDice.
+     * @param outcomes - the number of outcomes, at most 2^16
+     * @param rejectBelow - 2^32 mod outcomes, draws below this are thrown away so that every outcome is exactly equally
+     * likely
+     * @return - the outcome, 0 - (outcomes - 1)
+     */
+    int rollUniform(int outcomes, long rejectBelow) {
+
+        //Every 64 bit number gives two sets of 32 bits, the first is used now and the second is saved for the next roll
+        long bits;
+        if(hasSpareBits){
+            bits = spareBits & 0xFFFFFFFFL;
+            hasSpareBits = false;
+        }
+        else{
+            spareBits = generator.nextLong();
+            bits = spareBits >>> 32;
+            hasSpareBits = true;
+        }
+
+        //Multiplying the 32 bits by the number of outcomes gives an outcome in the top bits (Lemire's method), a low
+        //remainder is rejected to remove bias, which happens about once every billion rolls of two dice
+        long product = bits * outcomes;
+        if((product & 0xFFFFFFFFL) < rejectBelow)
+            return rollUniform(outcomes, rejectBelow);
+        return (int) (product >>> 32);
+    }
+
+    /**
+     * This method returns 64 random bits. Used to roll loaded dice.
+     * @return - a random number
+     */
+    long nextLong() {
+        return generator.nextLong();
+    }
+
+    /**
+     * This method returns a random number from 0 (inclusive) up to the bound (exclusive). Used to shuffle the decks.
+     * @param bound - the upper bound of the number
+     * @return - a random number 0 - (bound - 1)
+     */
+    int nextInt(int bound) {
+        return generator.nextInt(bound);
+    }
+
+    /**
+     * This method scrambles the bits of a number (the finalizer of SplitMix64), so that nearby numbers such as segment
+     * 1 and segment 2 give unrelated seeds.
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
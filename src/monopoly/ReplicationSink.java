@@ -0,0 +1,100 @@
+package monopoly;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class is a result sink that passes the results on to another sink, and summarizes the replications of every
+ * simulation with a ReplicationStatistics. It keeps the latest results of each simulation it is sent, and once the
+ * driver says a replication has finished those results are added to the summary of the simulation with the same name
+ * and dropped, so the memory used does not grow with the number of replications. When the sink is closed the summary
+ * of every simulation is sent to the other sink (see ResultSink.summary), so it ends up in the same place as the
+ * results, then the other sink is closed.
+ *
+ * @author Timothy Blamires
+ * @version 10/18/26
+ */
+final class ReplicationSink implements ResultSink {
+
+    //Where the results and the summary are sent
+    private final ResultSink output;
+
+    //The confidence level of the error bars
+    private final double confidence;
+
+    //The latest results of each simulation in the replication that is playing, by name
+    private final Map<String, Snapshot> latest = new LinkedHashMap<>();
+
+    //The summary of each simulation, by name, in the order they were first finished
+    private final Map<String, ReplicationStatistics> statistics = new LinkedHashMap<>();
+
+    /**
+     * This method builds a ReplicationSink.
+     * @param output - where the results and the summary are sent
+     * @param confidence - the confidence level of the error bars, between 0 and 1 (such as 0.95)
+     */
+    ReplicationSink(ResultSink output, double confidence) {
+        this.output = output;
+        this.confidence = confidence;
+    }
+
+    /**
+     * This method passes the results on, and keeps them until the replication of the simulation finishes.
+     * @param snapshot - a copy of the results at the checkpoint
+     */
+    @Override
+    public void accept(Snapshot snapshot) {
+        output.accept(snapshot);
+        synchronized (this) {
+            latest.put(snapshot.name(), snapshot);
+        }
+    }
+
+    /**
+     * This method adds the final results of every simulation sent since the last replication finished to their
+     * summaries. Replications that sent nothing (such as runs skipped while resuming) are not counted.
+     */
+    synchronized void endReplication() {
+        for (Snapshot snapshot : latest.values()) {
+            statistics.computeIfAbsent(snapshot.name(), name -> new ReplicationStatistics(name, snapshot.size()))
+                    .add(snapshot);
+        }
+        latest.clear();
+    }
+
+    /**
+     * This method adds a summary of replications that were played without being sent to this sink, such as the
+     * replications played by one thread of a parallel run, to the summary of the simulation with the same name.
+     * @param summary - the summary of the other replications
+     */
+    synchronized void merge(ReplicationStatistics summary) {
+        statistics.computeIfAbsent(summary.name(), name -> new ReplicationStatistics(name, summary.squares()))
+                .merge(summary);
+    }
+
+    /**
+     * @return - the summary of each simulation, in the order they were first finished
+     */
+    synchronized List<ReplicationStatistics> statistics() {
+        return new ArrayList<>(statistics.values());
+    }
+
+    /**
+     * This method finishes the last replication, sends the summary of every simulation on, and closes the other sink.
+     */
+    @Override
+    public void close() {
+        try {
+            endReplication();
+            StringBuilder sb = new StringBuilder();
+            for (ReplicationStatistics summary : statistics()) {
+                sb.append(summary.format(confidence)).append('\n');
+            }
+            output.summary(sb.toString());
+        } finally {
+            output.close();
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package monopoly;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * This class summarizes independent replications of a simulation, such as the simulations run by the loops argument of
+ * the MonopolySimulationDriver. The chance of ending a turn on each space measured by every replication is added as
+ * soon as the replication finishes, and the mean, standard deviation and confidence interval of each space are kept
+ * up to date with Welford's method, so only three numbers per space are kept however many replications are added.
+ *
+ * Two summaries can be merged with Chan's method, giving what one summary of all their replications would have given
+ * (apart from rounding), for code that keeps a summary for each part of its replications and combines them at the
+ * end. The driver does this when "--parallel" plays whole replications at once, one summary for each thread.
+ *
+ * @author Timothy Blamires
+ * @version 10/18/26
+ */
+public final class ReplicationStatistics {
+
+    //The name of the simulation, such as "Strategy a"
+    private final String name;
+
+    //The number of replications added
+    private long count;
+
+    //The mean chance of each space over the replications, and the sum of the squared differences from the mean
+    private final double[] mean;
+    private final double[] squaredDifferences;
+
+    /**
+     * This method builds an empty ReplicationStatistics.
+     * @param name - the name of the simulation, such as "Strategy a"
+     * @param squares - the number of spaces on the board
+     */
+    public ReplicationStatistics(String name, int squares) {
+        this.name = name;
+        mean = new double[squares];
+        squaredDifferences = new double[squares];
+    }
+
+    /**
+     * This method adds the final results of one replication.
+     * @param snapshot - the results of the replication when it finished
+     */
+    public void add(Snapshot snapshot) {
+        if(snapshot.size() != mean.length)
+            throw new IllegalArgumentException("Replication has " + snapshot.size() + " spaces, not " + mean.length);
+        count++;
+        for (int i = 0; i < mean.length; i++) {
+            double probability = snapshot.probability(i);
+            double delta = probability - mean[i];
+            mean[i] += delta / count;
+            squaredDifferences[i] += delta * (probability - mean[i]);
+        }
+    }
+
+    /**
+     * This method adds every replication of another summary to this one. The other summary is not changed.
+     * @param other - the summary of the other replications, with the same number of spaces
+     */
+    public void merge(ReplicationStatistics other) {
+        if(other.mean.length != mean.length)
+            throw new IllegalArgumentException("Summaries have a different number of spaces");
+        if(other.count == 0)
+            return;
+        long total = count + other.count;
+        for (int i = 0; i < mean.length; i++) {
+            double delta = other.mean[i] - mean[i];
+            mean[i] += delta * other.count / total;
+            squaredDifferences[i] += other.squaredDifferences[i] + delta * delta * ((double) count * other.count / total);
+        }
+        count = total;
+    }
+
+    /**
+     * @return - the name of the simulation, such as "Strategy a"
+     */
+    public String name() {
+        return name;
+    }
+
+    /**
+     * @return - the number of replications added
+     */
+    public long count() {
+        return count;
+    }
+
+    /**
+     * @return - the number of spaces on the board
+     */
+    public int squares() {
+        return mean.length;
+    }
+
+    /**
+     * @param square - a position on the board
+     * @return - the mean chance of ending a turn on the space over the replications
+     */
+    public double mean(int square) {
+        return mean[square];
+    }
+
+    /**
+     * @param square - a position on the board
+     * @return - the sample standard deviation of the chance of the space over the replications, or 0 with fewer than
+     * 2 replications
+     */
+    public double standardDeviation(int square) {
+        return count < 2 ? 0 : Math.sqrt(Math.max(0, squaredDifferences[square] / (count - 1)));
+    }
+
+    /**
+     * This method finds the half width of the confidence interval of the mean of a space, using the t distribution
+     * as there may only be a few replications.
+     * @param square - a position on the board
+     * @param confidence - the confidence level, between 0 and 1 (such as 0.95)
+     * @return - the half width of the confidence interval, or infinity if fewer than 2 replications were added
+     */
+    public double halfWidth(int square, double confidence) {
+        if(count < 2)
+            return Double.POSITIVE_INFINITY;
+        return Statistics.t(confidence, count - 1) * standardDeviation(square) / Math.sqrt(count);
+    }
+
+    /**
+     * @return - the number of bytes written by write
+     */
+    int bytes() {
+        return 2 * Integer.BYTES + name.getBytes(StandardCharsets.UTF_8).length + Long.BYTES
+                + 2 * mean.length * Double.BYTES;
+    }
+
+    /**
+     * This method writes the summary, so it can be saved with the state of a run (see StateFile).
+     * @param out - where the summary is written, with at least bytes() remaining
+     */
+    void write(ByteBuffer out) {
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        out.putInt(bytes.length).put(bytes).putLong(count).putInt(mean.length);
+        for (int i = 0; i < mean.length; i++) {
+            out.putDouble(mean[i]).putDouble(squaredDifferences[i]);
+        }
+    }
+
+    /**
+     * This method reads a summary written by write.
+     * @param in - where the summary is read from
+     * @return - the summary
+     */
+    static ReplicationStatistics read(ByteBuffer in) {
+        byte[] bytes = new byte[in.getInt()];
+        in.get(bytes);
+        long count = in.getLong();
+        ReplicationStatistics summary = new ReplicationStatistics(new String(bytes, StandardCharsets.UTF_8),
+                in.getInt());
+        summary.count = count;
+        for (int i = 0; i < summary.mean.length; i++) {
+            summary.mean[i] = in.getDouble();
+            summary.squaredDifferences[i] = in.getDouble();
+        }
+        return summary;
+    }
+
+    /**
+     * This method formats the summary, a header followed by the mean, standard deviation and confidence interval of
+     * each space on its own line in the order of the spaces on the board.
+     * @param confidence - the confidence level of the intervals, between 0 and 1 (such as 0.95)
+     * @return - the formatted summary
+     */
+    public String format(double confidence) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(name).append(String.format("%nMean of %,d replications, standard deviation and %.0f%% error bar:%n%n",
+                count, confidence * 100));
+        for (int i = 0; i < mean.length; i++) {
+            sb.append(String.format("%.7f sd %.7f +- %.7f%n", mean[i], standardDeviation(i), halfWidth(i, confidence)));
+        }
+        return sb.toString();
+    }
+}
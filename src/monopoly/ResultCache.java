@@ -0,0 +1,219 @@
+package monopoly;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * This class keeps the results of MonopolySimulation runs on disk, so that running the same simulation again does not
+ * have to play any turns. A run is identified by everything that decides its results, meaning the jail policy, the
+ * random number generator and its seed, and the board with its rules and cards. These are hashed with SHA-256, and the
+ * hash is used as the name of the file the run is stored in.
+ *
+ * Each file holds the frequencies at every checkpoint reported so far, along with the state of the game at the start
+ * of the last segment that was played (see MonopolySimulation.SEGMENT_TURNS). When a longer run is asked for, the game
+ * is restored from that state and carries on from there instead of starting again from the first turn. Because the
+ * dice are seeded again at the start of every segment, the results are exactly the same as a run that was never
+ * stopped.
+ *
+ * Files are written to a temporary file then moved into place, so a file is never seen half written, and are read
+ * through a memory mapped buffer. The format is
+ * - int magic number, int version
+ * - int length of the saved state, then the saved state
+ * - int number of checkpoints, then for each checkpoint a long number of turns and a long frequency for every space
+ *
+ * @author Timothy Blamires
+ * @version 10/17/26
+ */
+public final class ResultCache {
+
+    //Marks the start of a cache file ("MSC1")
+    private static final int MAGIC = 0x4D534331;
+
+    //Changed whenever the format or the way the simulation uses its random numbers changes, so old files are not used
+    private static final int VERSION = 2;
+
+    //The folder the files are kept in
+    private final Path directory;
+
+    /**
+     * This method builds a ResultCache that keeps its files in the given folder, which is created if needed.
+     * @param directory - the folder to keep the files in
+     * @throws IOException - if the folder can not be created
+     */
+    public ResultCache(Path directory) throws IOException {
+        this.directory = Files.createDirectories(directory);
+    }
+
+    /**
+     * This method runs a MonopolySimulation through the cache. Checkpoints that are already stored are sent to the sink
+     * straight away. If any are missing the simulation is restored from the latest saved state that is before them (or
+     * started from the first turn if there is none) and played to the end of the schedule, then the file is updated.
+     * @param board - The board the simulation is played on
+     * @param policy - Decides how the player tries to get out of jail
+     * @param rng - The random source of the simulation, used to identify the run
+     * @param schedule - The checkpoints to report
+     * @param sink - Where the results are sent
+     * @return - the number of turns that had to be played, 0 if every checkpoint was already stored
+     * @throws IOException - if the cache file can not be read or written
+     */
+    public long run(Board board, JailPolicy policy, RandomSource rng, CheckpointSchedule schedule, ResultSink sink)
+            throws IOException {
+        Path file = directory.resolve(key(board, policy, rng) + ".bin");
+        Entry entry = Files.exists(file) ? read(file, board.size) : new Entry(null, new TreeMap<>());
+
+        List<Long> checkpoints = new ArrayList<>();
+        for (long checkpoint = 0; checkpoint < schedule.total(); ) {
+            checkpoint = schedule.next(checkpoint);
+            checkpoints.add(checkpoint);
+        }
+
+        //Sending every checkpoint that is already stored, until one is missing
+        int next = 0;
+        while(next < checkpoints.size() && entry.snapshots.containsKey(checkpoints.get(next))){
+            long turns = checkpoints.get(next++);
+            sink.accept(new Snapshot(policy.name(), turns, entry.snapshots.get(turns).clone()));
+        }
+        if(next == checkpoints.size())
+            return 0;
+
+        //Carrying on from the saved state if it is before the first missing checkpoint
+        MonopolySimulation simulation = new MonopolySimulation(board, policy, rng);
+        if(entry.state != null && entry.stateTurns() <= checkpoints.get(next))
+            simulation.restoreState(ByteBuffer.wrap(entry.state));
+        long start = simulation.turns();
+
+        //The state is saved at the start of the last segment of the run, so a longer run can carry on from there
+        long lastSegment = schedule.total() / MonopolySimulation.SEGMENT_TURNS * MonopolySimulation.SEGMENT_TURNS;
+        byte[] state = null;
+        for (int i = next; i < checkpoints.size(); i++) {
+            long checkpoint = checkpoints.get(i);
+            if(simulation.turns() <= lastSegment && lastSegment <= checkpoint){
+                simulation.playUntil(lastSegment);
+                state = simulation.saveState();
+            }
+            simulation.playUntil(checkpoint);
+
+            Snapshot snapshot = simulation.snapshot();
+            sink.accept(snapshot);
+            entry.snapshots.put(checkpoint, snapshot.frequencies());
+        }
+
+        //Keeping whichever saved state is further along
+        if(state == null || (entry.state != null && entry.stateTurns() > lastSegment))
+            state = entry.state;
+        write(file, new Entry(state, entry.snapshots), board.size);
+        return simulation.turns() - start;
+    }
+
+    /**
+     * This method builds the name of the file a run is stored in, by hashing everything that decides its results.
+     * @param board - The board the simulation is played on
+     * @param policy - Decides how the player tries to get out of jail
+     * @param rng - The random source of the simulation
+     * @return - the SHA-256 hash of the configuration, as hexadecimal
+     */
+    static String key(Board board, JailPolicy policy, RandomSource rng) {
+        String configuration = "MonopolySimulation"
+                + "\nversion=" + VERSION
+                + "\npolicy=" + policy.name()
+                + "\nrng=" + rng.algorithm()
+                + "\nseed=" + rng.seed()
+                + "\nsegment=" + MonopolySimulation.SEGMENT_TURNS
+                + "\nboard=\n" + board.definition();
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(configuration.getBytes(StandardCharsets.UTF_8));
+            StringBuilder sb = new StringBuilder();
+            for (byte b : hash) {
+                sb.append(String.format("%02x", b));
+            }
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            //Every Java platform has SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * This method reads a cache file through a memory mapped buffer.
+     */
+    private static Entry read(Path file, int size) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer in = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if(in.getInt() != MAGIC || in.getInt() != VERSION)
+                return new Entry(null, new TreeMap<>());
+
+            byte[] state = new byte[in.getInt()];
+            in.get(state);
+
+            TreeMap<Long, long[]> snapshots = new TreeMap<>();
+            int count = in.getInt();
+            for (int i = 0; i < count; i++) {
+                long turns = in.getLong();
+                long[] freq = new long[size];
+                in.asLongBuffer().get(freq);
+                in.position(in.position() + freq.length * Long.BYTES);
+                snapshots.put(turns, freq);
+            }
+            return new Entry(state.length == 0 ? null : state, snapshots);
+        }
+    }
+
+    /**
+     * This method writes a cache file, first to a temporary file which is then moved over the old file.
+     */
+    private static void write(Path file, Entry entry, int size) throws IOException {
+        byte[] state = entry.state == null ? new byte[0] : entry.state;
+        ByteBuffer out = ByteBuffer.allocate(4 * Integer.BYTES + state.length
+                + entry.snapshots.size() * (size + 1) * Long.BYTES);
+        out.putInt(MAGIC).putInt(VERSION).putInt(state.length).put(state).putInt(entry.snapshots.size());
+        for (Map.Entry<Long, long[]> snapshot : entry.snapshots.entrySet()) {
+            out.putLong(snapshot.getKey());
+            for (long f : snapshot.getValue()) {
+                out.putLong(f);
+            }
+        }
+        out.flip();
+
+        Path temporary = Files.createTempFile(file.getParent(), "cache", ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+            while(out.hasRemaining()){
+                channel.write(out);
+            }
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * This class holds what is stored for one run, the saved state (or null) and the frequencies at every checkpoint.
+     */
+    private static final class Entry {
+
+        private final byte[] state;
+        private final TreeMap<Long, long[]> snapshots;
+
+        private Entry(byte[] state, TreeMap<Long, long[]> snapshots) {
+            this.state = state;
+            this.snapshots = snapshots;
+        }
+
+        /**
+         * @return - the number of turns played when the state was saved, which is the first thing in the state
+         */
+        private long stateTurns() {
+            return ByteBuffer.wrap(state).getLong();
+        }
+    }
+}
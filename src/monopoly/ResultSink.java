@@ -0,0 +1,126 @@
+package monopoly;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.NumberFormat;
+
+/**
+ * This interface is the listener that receives the results of a simulation every time it reaches a checkpoint. The
+ * results are delivered as an immutable Snapshot. Sinks decide what happens to
+ * the results, for example printing them to the console, writing them to a file, copying them to the clipboard or
+ * passing them to some other code. Because this is a functional interface a lambda can be used as a callback sink.
+ *
+ * @author Timothy Blamires
+ * @version 10/17/26
+ */
+@FunctionalInterface
+public interface ResultSink extends AutoCloseable {
+
+    /**
+     * This method is called with the results of a simulation each time it reaches a checkpoint.
+     * @param snapshot - a copy of the results at the checkpoint
+     */
+    void accept(Snapshot snapshot);
+
+    /**
+     * This method is called with a summary of the results written as text, such as the summary of the replications,
+     * after the last results and before the sink is closed. By default it is ignored.
+     * @param text - the summary
+     */
+    default void summary(String text) {
+    }
+
+    /**
+     * This method is called once no more results will be sent, so that the sink can finish writing and release
+     * anything it holds. By default it does nothing.
+     */
+    @Override
+    default void close() {
+    }
+
+    /**
+     * This method builds a sink that sends the results to this sink, then to the given sink. Closing it closes both.
+     * @param next - the second sink
+     * @return - the combined sink
+     */
+    default ResultSink andThen(ResultSink next) {
+        ResultSink first = this;
+        return new ResultSink() {
+            @Override
+            public void accept(Snapshot snapshot) {
+                first.accept(snapshot);
+                next.accept(snapshot);
+            }
+
+            @Override
+            public void summary(String text) {
+                first.summary(text);
+                next.summary(text);
+            }
+
+            @Override
+            public void close() {
+                try {
+                    first.close();
+                } finally {
+                    next.close();
+                }
+            }
+        };
+    }
+
+    /**
+     * This method builds a sink that prints the results to the console.
+     * @return - the sink
+     */
+    static ResultSink console() {
+        return new TextResultSink(System.out, false);
+    }
+
+    /**
+     * This method builds a sink that writes the results to a file, replacing anything already in the file.
+     * @param path - the file to write to
+     * @return - the sink
+     * @throws IOException - if the file can not be opened
+     */
+    static ResultSink file(Path path) throws IOException {
+        return new TextResultSink(new PrintStream(Files.newOutputStream(path), false), true);
+    }
+
+    /**
+     * This method builds a sink that prints the results to the console, copies them to the clipboard, then waits 3
+     * seconds so that they can be pasted before the simulation continues. This needs a desktop to run on, so it should
+     * not be used on a headless machine.
+     * @return - the sink
+     */
+    static ResultSink clipboard() {
+        return new ClipboardResultSink();
+    }
+
+    /**
+     * This method formats results the way they have always been printed, a header followed by the frequency of each
+     * space on its own line in the order of the spaces on the board, meaning GO is first, then Mediterranean etc.
+     * @param snapshot - the results
+     * @return - the formatted results
+     */
+    static String format(Snapshot snapshot) {
+        return snapshot.name() + "\nData for turns = " + NumberFormat.getIntegerInstance().format(snapshot.turns())
+                + ":\n\n" + formatFrequencies(snapshot) + "\n";
+    }
+
+    /**
+     * This method formats just the frequencies, one per line, the way they are copied to the clipboard.
+     * @param snapshot - the results
+     * @return - the formatted frequencies
+     */
+    static String formatFrequencies(Snapshot snapshot) {
+        //Adding all the frequencies together in one string seperated by lines breaks
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < snapshot.size(); i++) {
+            sb.append(snapshot.frequency(i)).append("\n");
+        }
+        return sb.toString();
+    }
+}
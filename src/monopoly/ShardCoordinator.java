@@ -0,0 +1,429 @@
+package monopoly;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class runs simulations across several worker processes on the same machine, so a run is not limited to the
+ * heap and garbage collector of one JVM. Every simulation is split into shards, each playing an even share of the
+ * turns from its own seed, just like the workers of a ParallelMonopolySimulation. The shards are queued and handed to
+ * ShardWorker processes, which talk to the coordinator through their standard input and output, so a worker can be
+ * any command that runs a ShardWorker with those pipes attached, such as a container started with "docker run -i".
+ *
+ * The seed of every shard is split from the random source of its simulation in order, so the results only depend on
+ * the seed and the number of shards, not on the number of workers or which worker played which shard. A run with n
+ * shards gives exactly the same results as a ParallelMonopolySimulation with n workers. Workers send the frequencies of
+ * a shard at every checkpoint as they play, and the coordinator adds the shards together and reports each checkpoint
+ * as soon as every shard has reached it. If a worker crashes or is killed its shard goes back to the front of the queue
+ * and is played again from the start by a new worker. The shard has the same seed, so the checkpoints that were
+ * already received are simply skipped when they are sent again.
+ *
+ * @author Timothy Blamires
+ * @version 10/17/26
+ */
+public final class ShardCoordinator implements AutoCloseable {
+
+    //The number of times a shard is started before the whole run is stopped, so a shard that always crashes its
+    //worker (such as a worker command that does not work) is reported instead of tried forever
+    private static final int MAX_ATTEMPTS = 3;
+
+    //Tells a worker thread to stop
+    private static final Shard STOP = new Shard(null, -1, 0, new long[0]);
+
+    //The command that starts a worker process
+    private final List<String> command;
+
+    //The board every simulation is played on, the random number generator, and the number of shards of every run
+    private final Board board;
+    private final String algorithm;
+    private final int shards;
+
+    //The shards waiting for a worker, and the threads that each look after one worker process
+    private final LinkedBlockingDeque<Shard> pending;
+    private final Thread[] threads;
+
+    //Guards the results of every shard and the running workers, and is notified whenever a checkpoint arrives or the
+    //run fails
+    private final Object lock = new Object();
+    private final List<Worker> workers = new ArrayList<>();
+    private RuntimeException failure;
+    private boolean closed;
+
+    /**
+     * This method builds a ShardCoordinator and starts the threads that look after its workers. The worker processes
+     * are started when they are first given a shard.
+     * @param board - the board every simulation is played on
+     * @param algorithm - the name of the random number generator, such as "L64X128MixRandom"
+     * @param shards - the number of shards every simulation is split into
+     * @param processes - the number of worker processes
+     * @param command - the command that starts a worker, see defaultCommand
+     */
+    public ShardCoordinator(Board board, String algorithm, int shards, int processes, List<String> command) {
+        if(shards < 1 || processes < 1)
+            throw new IllegalArgumentException("Must have at least one shard and one worker process");
+        if(command.isEmpty())
+            throw new IllegalArgumentException("Worker command must not be empty");
+        this.board = board;
+        this.algorithm = algorithm;
+        this.shards = shards;
+        this.command = List.copyOf(command);
+        pending = new LinkedBlockingDeque<>();
+
+        threads = new Thread[processes];
+        for (int i = 0; i < processes; i++) {
+            threads[i] = new Thread(this::serve, "shard-worker-" + i);
+            threads[i].setDaemon(true);
+            threads[i].start();
+        }
+    }
+
+    /**
+     * This method builds the command that starts a worker with the same Java and class path as this process.
+     * @return - the command
+     */
+    public static List<String> defaultCommand() {
+        return List.of(Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-cp", System.getProperty("java.class.path"), ShardWorker.class.getName());
+    }
+
+    /**
+     * This method splits a simulation into shards and queues them for the workers. Simulations can be submitted one
+     * after another without waiting, so the workers move on to the shards of the next simulation while the last shards
+     * of the one before are still being played.
+     * @param policySpec - the jail policy, as read by JailPolicy.parse
+     * @param rng - the random source of the simulation, the seed of every shard is split from it
+     * @param schedule - how many turns are played in total, and when the results are reported
+     * @return - the simulation, to be passed to report
+     */
+    public Run submit(String policySpec, RandomSource rng, CheckpointSchedule schedule) {
+        List<Long> checkpoints = new ArrayList<>();
+        for (long checkpoint = 0; checkpoint < schedule.total(); ) {
+            checkpoint = schedule.next(checkpoint);
+            checkpoints.add(checkpoint);
+        }
+
+        Run run = new Run(JailPolicy.parse(policySpec).name(), policySpec,
+                checkpoints.stream().mapToLong(Long::longValue).toArray(), shards);
+        for (int i = 0; i < shards; i++) {
+            //Splitting the turns as evenly as possible, the first shards play one extra turn if it does not divide
+            long[] shares = new long[run.checkpoints.length];
+            for (int c = 0; c < shares.length; c++) {
+                shares[c] = run.checkpoints[c] / shards + (i < run.checkpoints[c] % shards ? 1 : 0);
+            }
+            run.shards[i] = new Shard(run, i, rng.split().seed(), shares);
+        }
+        for (Shard shard : run.shards) {
+            pending.add(shard);
+        }
+        return run;
+    }
+
+    /**
+     * This method waits for every checkpoint of a simulation, sending the frequencies of all its shards added together
+     * to the sink as soon as every shard has reached the checkpoint.
+     * @param run - the simulation, from submit
+     * @param sink - where the results are sent
+     */
+    public void report(Run run, ResultSink sink) {
+        for (int c = 0; c < run.checkpoints.length; c++) {
+            CheckpointEvent event = CheckpointEvent.start();
+            long[] freq = new long[board.size];
+            synchronized (lock) {
+                while(failure == null && !run.reached(c)){
+                    try {
+                        lock.wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new RuntimeException(e);
+                    }
+                }
+                if(failure != null)
+                    throw failure;
+
+                //Adding the shards together, then letting go of their results as they are not needed again
+                for (Shard shard : run.shards) {
+                    for (int i = 0; i < freq.length; i++) {
+                        freq[i] += shard.results[c][i];
+                    }
+                    shard.results[c] = null;
+                }
+            }
+            event.reached(run.name, run.checkpoints[c]);
+            sink.accept(new Snapshot(run.name, run.checkpoints[c], freq));
+        }
+    }
+
+    /**
+     * This method runs on each worker thread, handing shards to its worker process until it is told to stop. If the
+     * process fails the shard is put back at the front of the queue and a new process is started for the next shard.
+     */
+    private void serve() {
+        Worker worker = null;
+        try {
+            while(true){
+                Shard shard = pending.take();
+                if(shard == STOP)
+                    return;
+                try {
+                    if(worker == null)
+                        worker = new Worker(command);
+                    worker.play(shard);
+                } catch (IOException e) {
+                    if(worker != null)
+                        worker.destroy();
+                    worker = null;
+                    synchronized (lock) {
+                        //The workers are stopped on purpose when the coordinator is closed early, and once a shard
+                        //has failed too many times nothing else is tried
+                        if(closed || failure != null)
+                            return;
+                    }
+                    retry(shard, e);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if(worker != null)
+                worker.close();
+        }
+    }
+
+    /**
+     * This method puts a shard whose worker failed back at the front of the queue, or stops the run if the shard has
+     * been started too many times.
+     */
+    private void retry(Shard shard, IOException e) {
+        synchronized (lock) {
+            if(++shard.attempts >= MAX_ATTEMPTS){
+                failure = new IllegalStateException("Shard " + shard.index + " of " + shard.run.name + " failed "
+                        + MAX_ATTEMPTS + " times", e);
+                lock.notifyAll();
+                return;
+            }
+        }
+        System.err.println("Worker failed (" + e.getMessage() + "), shard " + shard.index + " of " + shard.run.name
+                + " has been given to another worker");
+        pending.addFirst(shard);
+    }
+
+    /**
+     * This method keeps the frequencies a worker sent for a checkpoint of a shard. A shard that is played again after
+     * its worker failed sends the checkpoints it already sent once more, and those are skipped.
+     */
+    private void received(Shard shard, int checkpoint, long[] freq) {
+        synchronized (lock) {
+            if(checkpoint == shard.received){
+                shard.results[checkpoint] = freq;
+                shard.received++;
+                lock.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * This method stops every worker thread and closes the worker processes. Workers still playing a shard (if the
+     * coordinator is closed before every run was reported) are stopped straight away.
+     */
+    @Override
+    public void close() {
+        pending.clear();
+        for (int i = 0; i < threads.length; i++) {
+            pending.add(STOP);
+        }
+        synchronized (lock) {
+            closed = true;
+            for (Worker worker : new ArrayList<>(workers)) {
+                if(worker.busy)
+                    worker.destroy();
+            }
+        }
+        for (Thread thread : threads) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * This class is one simulation split into shards.
+     */
+    public static final class Run {
+
+        //The name of the jail policy, and the policy as read by JailPolicy.parse
+        private final String name;
+        private final String policySpec;
+
+        //The turns played by the whole simulation at every checkpoint
+        private final long[] checkpoints;
+
+        //The shards of the simulation
+        private final Shard[] shards;
+
+        private Run(String name, String policySpec, long[] checkpoints, int shards) {
+            this.name = name;
+            this.policySpec = policySpec;
+            this.checkpoints = checkpoints;
+            this.shards = new Shard[shards];
+        }
+
+        /**
+         * This method checks if every shard has sent its frequencies for a checkpoint.
+         */
+        private boolean reached(int checkpoint) {
+            for (Shard shard : shards) {
+                if(shard.received <= checkpoint)
+                    return false;
+            }
+            return true;
+        }
+    }
+
+    /**
+     * This class is one shard of a simulation, with the results received for it so far.
+     */
+    private static final class Shard {
+
+        //The simulation the shard belongs to, and its number in the simulation
+        private final Run run;
+        private final int index;
+
+        //The seed of the shard, and the turns it has played at every checkpoint
+        private final long seed;
+        private final long[] checkpoints;
+
+        //The frequencies received for every checkpoint that has not been reported yet, and the number of checkpoints
+        //received
+        private final long[][] results;
+        private int received;
+
+        //The number of times the shard has been given to a worker that failed
+        private int attempts;
+
+        private Shard(Run run, int index, long seed, long[] checkpoints) {
+            this.run = run;
+            this.index = index;
+            this.seed = seed;
+            this.checkpoints = checkpoints;
+            results = new long[checkpoints.length][];
+        }
+    }
+
+    /**
+     * This class is one worker process, and the pipes to it.
+     */
+    private final class Worker {
+
+        private final Process process;
+        private final DataInputStream in;
+        private final DataOutputStream out;
+
+        //True while the worker is playing a shard
+        private volatile boolean busy;
+
+        /**
+         * This method starts a worker process and checks that it is a ShardWorker.
+         */
+        private Worker(List<String> command) throws IOException {
+            process = new ProcessBuilder(command).redirectError(ProcessBuilder.Redirect.INHERIT).start();
+            in = new DataInputStream(new BufferedInputStream(process.getInputStream()));
+            out = new DataOutputStream(new BufferedOutputStream(process.getOutputStream()));
+            try {
+                if(in.readInt() != ShardWorker.MAGIC || in.readInt() != ShardWorker.VERSION)
+                    throw new IOException("worker command did not start a ShardWorker of this version");
+            } catch (EOFException e) {
+                destroy();
+                throw new EOFException("worker stopped before it started");
+            } catch (IOException e) {
+                destroy();
+                throw e;
+            }
+            synchronized (lock) {
+                workers.add(this);
+            }
+        }
+
+        /**
+         * This method sends a shard to the worker and keeps every checkpoint it sends back, until the shard is done.
+         */
+        private void play(Shard shard) throws IOException {
+            busy = true;
+            out.writeByte(ShardWorker.SHARD);
+            out.writeUTF(board.definition());
+            out.writeUTF(shard.run.policySpec);
+            out.writeUTF(algorithm);
+            out.writeLong(shard.seed);
+            out.writeInt(shard.checkpoints.length);
+            for (long checkpoint : shard.checkpoints) {
+                out.writeLong(checkpoint);
+            }
+            out.flush();
+
+            while(true){
+                int type = in.read();
+                if(type < 0)
+                    throw new EOFException("worker stopped");
+                if(type == ShardWorker.DONE){
+                    busy = false;
+                    return;
+                }
+                if(type != ShardWorker.CHECKPOINT)
+                    throw new IOException("message not valid: " + type);
+
+                int checkpoint = in.readInt();
+                long turns = in.readLong();
+                long[] freq = new long[in.readInt()];
+                for (int i = 0; i < freq.length; i++) {
+                    freq[i] = in.readLong();
+                }
+                if(checkpoint < 0 || checkpoint >= shard.checkpoints.length || turns != shard.checkpoints[checkpoint]
+                        || freq.length != board.size || Arrays.stream(freq).sum() != turns)
+                    throw new IOException("checkpoint not valid");
+                received(shard, checkpoint, freq);
+            }
+        }
+
+        /**
+         * This method closes the input of the worker, which tells it there are no more shards, and waits for it to
+         * stop.
+         */
+        private void close() {
+            synchronized (lock) {
+                workers.remove(this);
+            }
+            try {
+                out.close();
+                if(!process.waitFor(10, TimeUnit.SECONDS))
+                    process.destroyForcibly();
+            } catch (IOException e) {
+                process.destroyForcibly();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                process.destroyForcibly();
+            }
+        }
+
+        /**
+         * This method stops the worker straight away.
+         */
+        private void destroy() {
+            synchronized (lock) {
+                workers.remove(this);
+            }
+            process.destroyForcibly();
+        }
+    }
+}
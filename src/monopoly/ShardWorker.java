@@ -0,0 +1,108 @@
+package monopoly;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * This class is the worker process of a sharded run, started by a ShardCoordinator. It reads shards from its standard
+ * input and plays them one at a time, writing the frequencies of each shard at every checkpoint to its standard
+ * output, until the coordinator closes its standard input. Anything else the worker prints goes to standard error, so
+ * it can not get mixed in with the messages.
+ *
+ * The messages are written with DataOutputStream. The worker starts by writing the int MAGIC and the int VERSION. A
+ * shard is sent to it as
+ * - byte SHARD
+ * - UTF the board definition (see Board.definition), UTF the jail policy (see JailPolicy.parse)
+ * - UTF the random number generator, long the seed
+ * - int the number of checkpoints, then a long for each, the turns the shard has played at that checkpoint
+ * and the worker answers every checkpoint with
+ * - byte CHECKPOINT, int the number of the checkpoint, long the turns played, int the number of spaces, then a long
+ *   for the frequency of each space
+ * followed by byte DONE once the shard is finished.
+ *
+ * @author Timothy Blamires
+ * @version 10/17/26
+ */
+public final class ShardWorker {
+
+    //Marks the start of the messages of a worker ("MSW1"), and the version changes whenever the messages change
+    static final int MAGIC = 0x4D535731;
+    static final int VERSION = 1;
+
+    //The types of message
+    static final byte SHARD = 1;
+    static final byte CHECKPOINT = 2;
+    static final byte DONE = 3;
+
+    private ShardWorker() {
+    }
+
+    /**
+     * This method starts a worker that talks to its coordinator through standard input and standard output.
+     * @param args - not used
+     * @throws IOException - if the coordinator can not be reached
+     */
+    public static void main(String[] args) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(System.in));
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(FileDescriptor.out)));
+
+        //Anything printed by accident goes to standard error instead of in between the messages
+        System.setOut(System.err);
+
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.flush();
+        serve(in, out);
+    }
+
+    /**
+     * This method plays every shard read from the input, writing the results of each to the output, until the input
+     * ends.
+     * @param in - where the shards are read from
+     * @param out - where the results are written
+     * @throws IOException - if the input or output fails
+     */
+    static void serve(DataInputStream in, DataOutputStream out) throws IOException {
+        while(true){
+            //The coordinator closes the input once there are no more shards
+            int type = in.read();
+            if(type < 0)
+                return;
+            if(type != SHARD)
+                throw new IOException("Message not valid: " + type);
+
+            Board board = Board.parse("Shard", Arrays.asList(in.readUTF().split("\n")));
+            JailPolicy policy = JailPolicy.parse(in.readUTF());
+            RandomSource rng = new RandomSource(in.readUTF(), in.readLong());
+            long[] checkpoints = new long[in.readInt()];
+            for (int i = 0; i < checkpoints.length; i++) {
+                checkpoints[i] = in.readLong();
+            }
+
+            MonopolySimulation simulation = new MonopolySimulation(board, policy, rng);
+            long[] freq = new long[board.size];
+            for (int i = 0; i < checkpoints.length; i++) {
+                simulation.playUntil(checkpoints[i]);
+                Arrays.fill(freq, 0);
+                simulation.addFrequencies(freq);
+
+                out.writeByte(CHECKPOINT);
+                out.writeInt(i);
+                out.writeLong(checkpoints[i]);
+                out.writeInt(freq.length);
+                for (long f : freq) {
+                    out.writeLong(f);
+                }
+                out.flush();
+            }
+            out.writeByte(DONE);
+            out.flush();
+        }
+    }
+}
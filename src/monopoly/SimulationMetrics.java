@@ -0,0 +1,224 @@
+package monopoly;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * This class shows the progress of a running simulation through JMX (see SimulationMetricsMBean). The simulation does
+ * not update anything shared while it plays. Each MonopolySimulation keeps its own counts, and copies them into its own
+ * Source at the start of every segment (see MonopolySimulation.SEGMENT_TURNS) and whenever it stops playing. A copy is
+ * published with a single volatile write, so nothing is locked and no thread waits for another. Reading an attribute
+ * adds up the latest copy of every Source, so a parallel simulation shows the total of all its workers.
+ *
+ * One SimulationMetrics can be used for many simulations in a row, startRun clears it for the next one.
+ *
+ * @author Timothy Blamires
+ * @version 10/17/26
+ */
+public class SimulationMetrics implements SimulationMetricsMBean {
+
+    //The name the metrics are registered under
+    public static final String OBJECT_NAME = "monopoly:type=SimulationMetrics";
+
+    //The shortest time the turns per second are measured over
+    private static final long RATE_WINDOW = TimeUnit.SECONDS.toNanos(1);
+
+    //The name of the simulation being played
+    private volatile String name = "";
+
+    //The counts published by each simulation, or each worker of a parallel simulation
+    private final List<Source> sources = new CopyOnWriteArrayList<>();
+
+    /**
+     * This method registers these metrics with the platform MBean server, so they can be seen by JMX tools.
+     * @throws JMException - if the metrics can not be registered, for example if another SimulationMetrics already is
+     */
+    public void register() throws JMException {
+        ManagementFactory.getPlatformMBeanServer().registerMBean(this, new ObjectName(OBJECT_NAME));
+    }
+
+    /**
+     * This method clears the metrics before a new simulation starts.
+     * @param name - the name of the new simulation
+     */
+    public void startRun(String name) {
+        this.name = name;
+        sources.clear();
+    }
+
+    /**
+     * This method adds a source of counts, used by a simulation when the metrics are set.
+     * @return - the source
+     */
+    Source newSource() {
+        Source source = new Source();
+        sources.add(source);
+        return source;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public long getTurns() {
+        long total = 0;
+        for (Source source : sources) {
+            total += source.latest.turns;
+        }
+        return total;
+    }
+
+    @Override
+    public double getTurnsPerSecond() {
+        double total = 0;
+        for (Source source : sources) {
+            total += source.latest.turnsPerSecond;
+        }
+        return total;
+    }
+
+    @Override
+    public long getChanceDraws() {
+        long total = 0;
+        for (Source source : sources) {
+            total += source.latest.chanceDraws;
+        }
+        return total;
+    }
+
+    @Override
+    public long getCommunityChestDraws() {
+        long total = 0;
+        for (Source source : sources) {
+            total += source.latest.communityChestDraws;
+        }
+        return total;
+    }
+
+    @Override
+    public long getChanceReshuffles() {
+        long total = 0;
+        for (Source source : sources) {
+            total += source.latest.chanceReshuffles;
+        }
+        return total;
+    }
+
+    @Override
+    public long getCommunityChestReshuffles() {
+        long total = 0;
+        for (Source source : sources) {
+            total += source.latest.communityChestReshuffles;
+        }
+        return total;
+    }
+
+    @Override
+    public long getJailEntries() {
+        long total = 0;
+        for (Source source : sources) {
+            total += source.latest.jailEntries;
+        }
+        return total;
+    }
+
+    @Override
+    public long getJailExits() {
+        long total = 0;
+        for (Source source : sources) {
+            total += source.latest.jailExits;
+        }
+        return total;
+    }
+
+    @Override
+    public long[] getHistogram() {
+        long[] total = new long[0];
+        for (Source source : sources) {
+            long[] freq = source.latest.freq;
+            if(freq.length > total.length)
+                total = Arrays.copyOf(total, freq.length);
+            for (int i = 0; i < freq.length; i++) {
+                total[i] += freq[i];
+            }
+        }
+        return total;
+    }
+
+    /**
+     * This class holds the latest counts of one simulation. It is written by the simulation's thread only, and read by
+     * any thread.
+     */
+    static final class Source {
+
+        //The latest counts, replaced as a whole so that a reader never sees half of an update
+        private volatile Sample latest = new Sample();
+
+        //The time and turns at the start of the current rate window, only used by the simulation's thread. The window
+        //starts at the first publish, as a restored simulation does not start from turn 0
+        private boolean started;
+        private long windowNanos;
+        private long windowTurns;
+
+        private Source() {
+        }
+
+        /**
+         * This method publishes the counts of a simulation.
+         * @param turns - the number of turns played
+         * @param freq - the number of turns that ended on each space, copied by this method
+         * @param chance - the chance deck
+         * @param communityChest - the community chest deck
+         * @param jail - the jail
+         */
+        void publish(long turns, long[] freq, CardDeck chance, CardDeck communityChest, JailBoardObject jail) {
+            Sample previous = latest;
+            Sample sample = new Sample();
+            sample.turns = turns;
+            sample.freq = freq.clone();
+            sample.chanceDraws = chance.draws();
+            sample.communityChestDraws = communityChest.draws();
+            sample.chanceReshuffles = chance.reshuffles();
+            sample.communityChestReshuffles = communityChest.reshuffles();
+            sample.jailEntries = jail.entries();
+            sample.jailExits = jail.exits();
+
+            //The rate is only measured once at least RATE_WINDOW has passed, so it does not jump around
+            long now = System.nanoTime();
+            sample.turnsPerSecond = previous.turnsPerSecond;
+            if(!started){
+                started = true;
+                windowNanos = now;
+                windowTurns = turns;
+            }
+            else if(now - windowNanos >= RATE_WINDOW){
+                sample.turnsPerSecond = (turns - windowTurns) * 1e9 / (now - windowNanos);
+                windowNanos = now;
+                windowTurns = turns;
+            }
+            latest = sample;
+        }
+    }
+
+    /**
+     * This class holds the counts of one simulation at one moment. It is not changed once it is published.
+     */
+    private static final class Sample {
+        private long turns;
+        private double turnsPerSecond;
+        private long[] freq = new long[0];
+        private long chanceDraws;
+        private long communityChestDraws;
+        private long chanceReshuffles;
+        private long communityChestReshuffles;
+        private long jailEntries;
+        private long jailExits;
+    }
+}
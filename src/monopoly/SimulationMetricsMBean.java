@@ -0,0 +1,61 @@
+package monopoly;
+
+/**
+ * This interface lists what the SimulationMetrics show through JMX, so that a running simulation can be watched with
+ * tools such as JConsole or VisualVM. Every value is added up over all the threads of the simulation.
+ *
+ * @author Timothy Blamires
+ * @version 10/17/26
+ */
+public interface SimulationMetricsMBean {
+
+    /**
+     * @return - the name of the simulation being played, such as "Strategy a"
+     */
+    String getName();
+
+    /**
+     * @return - the number of turns played so far
+     */
+    long getTurns();
+
+    /**
+     * @return - the number of turns played each second, measured over about the last second
+     */
+    double getTurnsPerSecond();
+
+    /**
+     * @return - the number of Chance cards drawn
+     */
+    long getChanceDraws();
+
+    /**
+     * @return - the number of Community Chest cards drawn
+     */
+    long getCommunityChestDraws();
+
+    /**
+     * @return - the number of times the Chance deck was shuffled
+     */
+    long getChanceReshuffles();
+
+    /**
+     * @return - the number of times the Community Chest deck was shuffled
+     */
+    long getCommunityChestReshuffles();
+
+    /**
+     * @return - the number of times the player was sent to jail
+     */
+    long getJailEntries();
+
+    /**
+     * @return - the number of times the player left jail
+     */
+    long getJailExits();
+
+    /**
+     * @return - the number of turns that ended on each space
+     */
+    long[] getHistogram();
+}
@@ -0,0 +1,397 @@
+package monopoly;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * This class reads the command line arguments of the MonopolySimulationDriver. The first argument is the strategy
+ * ("a", "b" or "both") and the second is the number of simulations. Instead of a strategy, the first argument can also
+ * be a list of jail policies separated by commas, such as "a,pay-on-turn:2,hold-card" (see JailPolicy.parse). The
+ * options below can be given after them.
+ * "--parallel" will split the turns of every simulation across all the processors of the machine. The results are
+ * merged before they are printed, so the output looks the same as a normal run. With at least as many simulations as
+ * processors, whole simulations are played at once instead, giving the same results as a run without it.
+ * "--exact" will calculate the exact long run probability of ending a turn on every space using the MarkovChainSolver
+ * instead of simulating the game. The number of simulations is ignored, as the answer is the same every time.
+ * "--seed n" sets the seed of the random numbers, so that a run can be repeated exactly. Without it a random seed is
+ * chosen and printed.
+ * "--rng name" chooses the random number generator from java.util.random, for example "Xoshiro256PlusPlus" or
+ * "SplittableRandom". The default is "L64X128MixRandom".
+ * "--headless" prints the results to the console without copying them to the clipboard or pausing, so it can run on a
+ * machine without a desktop. The results are written by a background thread so the simulation never waits for them.
+ * "--output file" works like "--headless", but writes the results to the given file instead of the console.
+ * "--turns n" sets the number of turns each simulation plays, the default is 1,000,000.
+ * "--checkpoints spec" sets when the results are reported, see CheckpointSchedule.parse. The default is 1,000 turns
+ * and every power of 10 after that.
+ * "--tolerance t" keeps playing turns until the confidence interval of every space is within t (a fraction of turns,
+ * such as 0.0005) instead of following a schedule. "--turns" becomes the most turns that will be played, and must be at
+ * least 300,000 (30 batches of 10,000 turns).
+ * "--players n" plays a game with n players (2 - 8) that share the Chance and Community Chest decks. The frequencies are
+ * added up over all players, and every roll counts as a turn. A player who rolls doubles rolls again before the next
+ * player.
+ * "--games n" plays n independent single player games at the same time using the BatchSimulation, which is faster
+ * than playing them one after another. The frequencies are added up over all games.
+ * "--sweep squares" races all the jail policies of the first argument against each other using the PolicySweep, to find
+ * the one that lands on the given spaces (such as "16,18,19") most often. The number of simulations is ignored.
+ * "--paired" compares the two jail policies of the first argument (such as "both") by playing them with the same
+ * dice, and prints the difference in the chance of ending a turn on every space with its confidence interval. With
+ * "--tolerance" the pair plays until every difference is known to within the tolerance.
+ * "--save-distribution file" saves the final chance of ending a turn on every space of each policy to a file, from the
+ * simulation or from "--exact", so it can be used later with "--income".
+ * "--income file" reads the distributions saved with "--save-distribution" and prints the rent each color group is
+ * expected to earn at every number of houses, with its cost and break even time. Nothing is simulated. "--opponents n"
+ * sets the number of opponents (the default is 1), and "--properties file" reads a different rent table (see
+ * PropertyTable).
+ * "--cache folder" keeps the results of every simulation in the folder. Running the same simulation again (same policy,
+ * seed and random number generator) sends the stored results straight away, and a run with more turns carries on from
+ * where the stored run stopped. Only works with the normal single threaded simulation.
+ * "--snapshot file" saves the state of the simulation to the file every 60 seconds while it plays, and "--snapshot-every
+ * s" changes how many seconds there are between saves. "--resume file" carries on from a saved state, giving exactly
+ * the same results as a run that was never stopped. The other arguments (including "--seed") must be the same as the
+ * run that saved it, and the state keeps being saved to the same file unless "--snapshot" is given. Only works with the
+ * normal single threaded simulation.
+ * "--event-log file" records every turn (the dice, where it started, where the dice landed, where it ended and why) to
+ * a binary file, see EventLog. "--event-sample n" only records one turn of every n, and "--event-sample n:m" records m
+ * turns in a row out of every n. Works with the normal single threaded simulation and with "--tolerance".
+ * "--statistics file" also counts the turns from every space to every space, the spaces the dice landed on before a card
+ * or Go To Jail moved the player, and the number of turns with each cause (see TurnStatistics). A summary of the causes
+ * is printed after each simulation, and every count is written to the file. Works with the normal simulation,
+ * "--parallel" and "--tolerance".
+ * "--jmx" shows the progress of each simulation through JMX as the MBean "monopoly:type=SimulationMetrics" (turns, turns
+ * per second, card draws and reshuffles, trips to jail and the frequencies), so a long run can be watched with
+ * JConsole or VisualVM. Works with the normal simulation, "--parallel" and "--tolerance". Checkpoints and deck
+ * reshuffles are also Java Flight Recorder events, see CheckpointEvent and DeckReshuffleEvent.
+ * "--board file" plays on the board and rules read from the file instead of the standard board, for other editions,
+ * house rules or larger boards (see Board for the format). The board is checked and compiled before anything is
+ * played. Works with everything except "--income".
+ * "--shards n" splits the turns of every simulation into n shards that are played by separate worker processes (see
+ * ShardCoordinator) and added together, giving the same results as "--parallel" with n threads. "--processes n" sets
+ * the number of worker processes (the default is one for each processor, at most one for each shard), and
+ * "--worker-command cmd" sets the command that starts a worker (the words of cmd separated by spaces), for example to
+ * start each worker in a container. Only works with the normal simulation.
+ * "--horizon n" calculates the exact chance of ending turn n of a game that starts on GO on every space, and the
+ * expected number of the first n turns that end on every space, using the FiniteHorizonSolver instead of simulating.
+ * The number of simulations is ignored. With "--save-distribution" the share of the first n turns spent on every space
+ * is saved. Works with "--board".
+ * "--serve port" starts a SimulationServer on the port instead of simulating, which keeps the simulation warm and
+ * answers simulation requests sent as JSON to /simulate (see SimulationServer). The strategy and the number of
+ * simulations are ignored. The server only answers requests from the same machine unless "--serve-address addr" gives
+ * another address to listen on (such as 0.0.0.0 for every network), and "--max-turns n" sets the most turns a request
+ * can ask for (the default is 100,000,000). Only "--board" and "--rng" can also be given with it.
+ * "--confidence c" sets the confidence level used with "--tolerance" and by the summary of the replications, the default
+ * is 0.95.
+ * When more than one simulation is run for each strategy, the mean, standard deviation and confidence interval of the
+ * chance of ending a turn on every space over the simulations are printed once they have all finished (see
+ * ReplicationStatistics).
+ *
+ * @author Timothy Blamires
+ * @version 10/17/26
+ */
+final class SimulationOptions {
+
+    //The jail policies to simulate, "both" is strategy "a" then strategy "b", and the text each was read from
+    List<JailPolicy> policies;
+    List<String> policySpecs;
+
+    //The number of simulations to run for each strategy
+    int loops;
+
+    boolean parallel = false;
+    boolean exact = false;
+    long seed = ThreadLocalRandom.current().nextLong();
+    String algorithm = RandomSource.DEFAULT_ALGORITHM;
+    boolean headless = false;
+    Path output = null;
+
+    //0 means the schedule decides the number of turns
+    long turns = 0;
+    String checkpoints = null;
+
+    //0 means the simulation follows the checkpoint schedule instead of running until it converges
+    double tolerance = 0;
+    double confidence = 0.95;
+
+    //The number of players in the game
+    int players = 1;
+
+    //The number of games played together by the BatchSimulation, 0 means a normal simulation
+    int games = 0;
+
+    //Play two policies with the same dice and report the difference between them
+    boolean paired = false;
+
+    //Where the landing distributions are saved, or null to not save them
+    Path saveDistribution = null;
+
+    //The saved distributions to work out the rent income from, or null to simulate instead
+    Path income = null;
+    int opponents = 1;
+    Path properties = null;
+
+    //The folder of the result cache, or null to not use a cache
+    Path cache = null;
+
+    //Where the state is saved while the simulation plays, and the seconds between saves, or null to not save it
+    Path snapshot = null;
+    long snapshotEvery = 60;
+
+    //The saved state to carry on from, or null to start from the first turn
+    Path resume = null;
+
+    //Where every turn is recorded, and which turns are recorded, or null to not record them
+    Path eventLog = null;
+    long eventEvery = 1;
+    long eventLength = 1;
+
+    //Where the turn statistics are written, or null to not count them
+    Path statistics = null;
+
+    //Show the progress of each simulation through JMX
+    boolean jmx = false;
+
+    //The spaces a policy sweep tries to land on, or null to simulate the policies normally
+    int[] sweep = null;
+
+    //The board file to play on, or null to play on the standard board
+    Path board = null;
+
+    //The number of shards every simulation is split into, 0 to play in this process, the number of worker processes
+    //(0 for one per processor), and the command that starts a worker (null for the same Java as this process)
+    int shards = 0;
+    int processes = 0;
+    List<String> workerCommand = null;
+
+    //The number of turns of a game the FiniteHorizonSolver calculates, 0 to simulate instead
+    int horizon = 0;
+
+    //The port to serve simulation requests on, or -1 to simulate from the command line
+    int serve = -1;
+    InetAddress serveAddress = InetAddress.getLoopbackAddress();
+    long maxTurns = SimulationServer.DEFAULT_MAX_TURNS;
+    boolean serveOptions = false;
+
+    private SimulationOptions() {
+    }
+
+    /**
+     * This method reads the command line arguments. If no arguments are provided the arguments "both 2" are used.
+     * @param args - the command line arguments
+     * @return - the options
+     */
+    static SimulationOptions parse(String[] args) {
+
+        //If no arguments are provided then use the arguments both and 2
+        if(args.length == 0)
+            args = new String[]{"both", "2"};
+
+        //Checking for illegal arguments
+        if(args.length < 2)
+            throw new IllegalArgumentException("Must provide valid arguments");
+        if(Integer.parseInt(args[1]) < 1)
+            throw new IllegalArgumentException("Second argument not valid");
+
+        SimulationOptions options = new SimulationOptions();
+        String first = args[0].equals("both") ? "a,b" : args[0];
+        options.policies = new ArrayList<>();
+        options.policySpecs = new ArrayList<>();
+        for (String spec : first.split(",")) {
+            options.policies.add(JailPolicy.parse(spec.trim()));
+            options.policySpecs.add(spec.trim());
+        }
+        options.loops = Integer.parseInt(args[1]);
+
+        //Reading the options
+        for(int i = 2; i < args.length; i++){
+            boolean hasValue = i + 1 < args.length;
+            if(args[i].equals("--parallel"))
+                options.parallel = true;
+            else if(args[i].equals("--exact"))
+                options.exact = true;
+            else if(args[i].equals("--seed") && hasValue)
+                options.seed = Long.parseLong(args[++i]);
+            else if(args[i].equals("--rng") && hasValue)
+                options.algorithm = args[++i];
+            else if(args[i].equals("--headless"))
+                options.headless = true;
+            else if(args[i].equals("--output") && hasValue)
+                options.output = Path.of(args[++i]);
+            else if(args[i].equals("--turns") && hasValue)
+                options.turns = Long.parseLong(args[++i].replace("_", ""));
+            else if(args[i].equals("--checkpoints") && hasValue)
+                options.checkpoints = args[++i];
+            else if(args[i].equals("--tolerance") && hasValue)
+                options.tolerance = Double.parseDouble(args[++i]);
+            else if(args[i].equals("--confidence") && hasValue)
+                options.confidence = Double.parseDouble(args[++i]);
+            else if(args[i].equals("--players") && hasValue)
+                options.players = Integer.parseInt(args[++i]);
+            else if(args[i].equals("--games") && hasValue)
+                options.games = Integer.parseInt(args[++i]);
+            else if(args[i].equals("--save-distribution") && hasValue)
+                options.saveDistribution = Path.of(args[++i]);
+            else if(args[i].equals("--income") && hasValue)
+                options.income = Path.of(args[++i]);
+            else if(args[i].equals("--opponents") && hasValue)
+                options.opponents = Integer.parseInt(args[++i]);
+            else if(args[i].equals("--properties") && hasValue)
+                options.properties = Path.of(args[++i]);
+            else if(args[i].equals("--cache") && hasValue)
+                options.cache = Path.of(args[++i]);
+            else if(args[i].equals("--snapshot") && hasValue)
+                options.snapshot = Path.of(args[++i]);
+            else if(args[i].equals("--snapshot-every") && hasValue)
+                options.snapshotEvery = Long.parseLong(args[++i]);
+            else if(args[i].equals("--resume") && hasValue)
+                options.resume = Path.of(args[++i]);
+            else if(args[i].equals("--event-log") && hasValue)
+                options.eventLog = Path.of(args[++i]);
+            else if(args[i].equals("--event-sample") && hasValue){
+                String[] sample = args[++i].split(":");
+                options.eventEvery = Long.parseLong(sample[0]);
+                options.eventLength = sample.length > 1 ? Long.parseLong(sample[1]) : 1;
+            }
+            else if(args[i].equals("--statistics") && hasValue)
+                options.statistics = Path.of(args[++i]);
+            else if(args[i].equals("--jmx"))
+                options.jmx = true;
+            else if(args[i].equals("--paired"))
+                options.paired = true;
+            else if(args[i].equals("--board") && hasValue)
+                options.board = Path.of(args[++i]);
+            else if(args[i].equals("--shards") && hasValue)
+                options.shards = Integer.parseInt(args[++i]);
+            else if(args[i].equals("--processes") && hasValue)
+                options.processes = Integer.parseInt(args[++i]);
+            else if(args[i].equals("--worker-command") && hasValue)
+                options.workerCommand = Arrays.asList(args[++i].trim().split("\\s+"));
+            else if(args[i].equals("--horizon") && hasValue)
+                options.horizon = Integer.parseInt(args[++i].replace("_", ""));
+            else if(args[i].equals("--serve") && hasValue)
+                options.serve = Integer.parseInt(args[++i]);
+            else if(args[i].equals("--serve-address") && hasValue){
+                options.serveAddress = address(args[++i]);
+                options.serveOptions = true;
+            }
+            else if(args[i].equals("--max-turns") && hasValue){
+                options.maxTurns = Long.parseLong(args[++i].replace("_", ""));
+                options.serveOptions = true;
+            }
+            else if(args[i].equals("--sweep") && hasValue)
+                options.sweep = Arrays.stream(args[++i].split(",")).mapToInt(s -> Integer.parseInt(s.trim())).toArray();
+            else
+                throw new IllegalArgumentException("Option not valid: " + args[i]);
+        }
+        if(options.turns < 0)
+            throw new IllegalArgumentException("Number of turns not valid");
+        if(options.tolerance < 0 || !(options.confidence > 0 && options.confidence < 1))
+            throw new IllegalArgumentException("Tolerance or confidence not valid");
+        if(options.tolerance > 0 && options.turns > 0
+                && options.turns < MonopolySimulation.BATCH_SIZE * MonopolySimulation.MIN_BATCHES)
+            throw new IllegalArgumentException("--turns must be at least "
+                    + MonopolySimulation.BATCH_SIZE * MonopolySimulation.MIN_BATCHES + " with --tolerance, as the turns"
+                    + " are played in " + MonopolySimulation.MIN_BATCHES + " or more batches of "
+                    + MonopolySimulation.BATCH_SIZE);
+        if(options.tolerance > 0 && options.parallel)
+            throw new IllegalArgumentException("--tolerance can not be used with --parallel");
+        if(options.players != 1 && (options.players < MultiPlayerSimulation.MIN_PLAYERS
+                || options.players > MultiPlayerSimulation.MAX_PLAYERS))
+            throw new IllegalArgumentException("Number of players not valid");
+        if(options.players > 1 && (options.parallel || options.tolerance > 0 || options.exact))
+            throw new IllegalArgumentException("--players can not be used with --parallel, --tolerance or --exact");
+        if(options.games < 0)
+            throw new IllegalArgumentException("Number of games not valid");
+        if(options.games > 0 && (options.parallel || options.tolerance > 0 || options.exact || options.players > 1))
+            throw new IllegalArgumentException("--games can not be used with --parallel, --tolerance, --exact or --players");
+        if(options.sweep != null && (options.parallel || options.tolerance > 0 || options.exact || options.players > 1
+                || options.games > 0))
+            throw new IllegalArgumentException("--sweep can not be used with --parallel, --tolerance, --exact, --players or --games");
+        if(options.opponents < 1)
+            throw new IllegalArgumentException("Number of opponents not valid");
+        if(options.income != null && options.saveDistribution != null)
+            throw new IllegalArgumentException("--income can not be used with --save-distribution");
+        if(options.saveDistribution != null && options.sweep != null)
+            throw new IllegalArgumentException("--save-distribution can not be used with --sweep");
+        if(options.cache != null && (options.parallel || options.tolerance > 0 || options.exact || options.players > 1
+                || options.games > 0 || options.sweep != null || options.paired || options.income != null))
+            throw new IllegalArgumentException("--cache only works with the normal simulation");
+        if(options.snapshotEvery < 0)
+            throw new IllegalArgumentException("Seconds between snapshots not valid");
+        if(options.resume != null && options.snapshot == null)
+            options.snapshot = options.resume;
+        if(options.snapshot != null && (options.parallel || options.tolerance > 0 || options.exact || options.players > 1
+                || options.games > 0 || options.sweep != null || options.paired || options.income != null
+                || options.cache != null))
+            throw new IllegalArgumentException("--snapshot and --resume only work with the normal simulation");
+        if(options.eventEvery < 1 || options.eventLength < 1 || options.eventLength > options.eventEvery)
+            throw new IllegalArgumentException("Event sample not valid");
+        if(options.eventLog != null && (options.parallel || options.exact || options.players > 1 || options.games > 0
+                || options.sweep != null || options.paired || options.income != null || options.cache != null))
+            throw new IllegalArgumentException("--event-log only works with the normal simulation and --tolerance");
+        if(options.statistics != null && (options.exact || options.players > 1 || options.games > 0
+                || options.sweep != null || options.paired || options.income != null || options.cache != null))
+            throw new IllegalArgumentException("--statistics only works with the normal simulation, --parallel and --tolerance");
+        if(options.jmx && (options.exact || options.players > 1 || options.games > 0 || options.sweep != null
+                || options.paired || options.income != null || options.cache != null))
+            throw new IllegalArgumentException("--jmx only works with the normal simulation, --parallel and --tolerance");
+        if(options.board != null && options.income != null)
+            throw new IllegalArgumentException("--board can not be used with --income");
+        if(options.paired && options.policies.size() != 2)
+            throw new IllegalArgumentException("--paired needs exactly two jail policies, such as \"both\"");
+        if(options.paired && (options.parallel || options.exact || options.players > 1 || options.games > 0
+                || options.sweep != null))
+            throw new IllegalArgumentException("--paired can not be used with --parallel, --exact, --players, --games or --sweep");
+        if(options.shards < 0 || options.processes < 0)
+            throw new IllegalArgumentException("Number of shards or processes not valid");
+        if(options.shards == 0 && (options.processes > 0 || options.workerCommand != null))
+            throw new IllegalArgumentException("--processes and --worker-command need --shards");
+        if(options.shards > 0 && (options.parallel || options.tolerance > 0 || options.exact || options.players > 1
+                || options.games > 0 || options.sweep != null || options.paired || options.income != null
+                || options.cache != null || options.snapshot != null || options.eventLog != null
+                || options.statistics != null || options.jmx))
+            throw new IllegalArgumentException("--shards only works with the normal simulation");
+        if(options.horizon < 0)
+            throw new IllegalArgumentException("Horizon not valid");
+        if(options.horizon > 0 && (options.parallel || options.exact || options.tolerance > 0 || options.players > 1
+                || options.games > 0 || options.sweep != null || options.paired || options.income != null
+                || options.cache != null || options.snapshot != null || options.eventLog != null
+                || options.statistics != null || options.jmx || options.shards > 0))
+            throw new IllegalArgumentException("--horizon only works with --board and --save-distribution");
+        if(options.serve > 65535 || options.serve < -1)
+            throw new IllegalArgumentException("Port not valid");
+        if(options.maxTurns < 1)
+            throw new IllegalArgumentException("Most turns of a request not valid");
+        if(options.serve < 0 && options.serveOptions)
+            throw new IllegalArgumentException("--serve-address and --max-turns need --serve");
+        if(options.serve >= 0 && (options.parallel || options.exact || options.headless || options.output != null
+                || options.turns > 0 || options.checkpoints != null || options.tolerance > 0 || options.players > 1
+                || options.games > 0 || options.sweep != null || options.paired || options.saveDistribution != null
+                || options.income != null || options.cache != null || options.snapshot != null
+                || options.eventLog != null || options.statistics != null || options.jmx || options.shards > 0
+                || options.horizon > 0))
+            throw new IllegalArgumentException("--serve can only be used with --board and --rng");
+        return options;
+    }
+
+    /**
+     * This method reads the address the server listens on.
+     */
+    private static InetAddress address(String host) {
+        try {
+            return InetAddress.getByName(host);
+        } catch (UnknownHostException e) {
+            throw new IllegalArgumentException("Address not valid: " + host);
+        }
+    }
+
+    /**
+     * @return - the checkpoint schedule described by the "--turns" and "--checkpoints" options
+     */
+    CheckpointSchedule schedule() {
+        return CheckpointSchedule.parse(checkpoints, turns);
+    }
+}
@@ -0,0 +1,463 @@
+package monopoly;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This class keeps the simulation running in one process and answers simulation requests over HTTP, so that short
+ * questions do not pay for starting a JVM and compiling the turn loop every time. The JIT is warmed up before the
+ * server starts listening. A request is a JSON object sent with POST to /simulate, such as
+ * {"policy": "b", "turns": 100000, "seed": 42}
+ * - policy, the jail policy (see JailPolicy.parse), required
+ * - turns, the number of turns to play, 1,000,000 if it is not given, and at most the limit the server was started
+ *   with
+ * - seed, the seed of the random numbers. The answer is the same as the first simulation of the command line with the
+ *   same seed, policy and number of turns. A random seed is chosen if it is not given
+ * - rng, the random number generator, the one the server was started with if it is not given
+ * - exact, true to answer with the MarkovChainSolver instead of simulating
+ * The answer is a JSON object with the name of the policy, the board, the seed, the turns, the frequency and the
+ * probability of every space, and how long it took. GET /stats answers with the number of requests, the simulations
+ * run, and the requests that joined a simulation that was already running.
+ *
+ * Requests with the same policy, seed and generator (after filling in the defaults) share one simulation while it is
+ * running, as long as it has not played past the turns they ask for. The simulation is played to the most turns asked
+ * for, stopping at the turns of every request on the way to answer it, so a burst of requests for 100,000, 1,000,000
+ * and 10,000,000 turns costs one run of 10,000,000. Requests without a seed are the same as each other, as any seed is
+ * an equally good answer. Simulations are run on a pool with one thread for each processor and a bounded
+ * queue, and requests that do not fit in the queue are turned away with 503 instead of piling up. Java 17 has no
+ * virtual threads, so the HTTP requests are handled by a fixed pool of threads that wait for the simulations.
+ *
+ * Anyone who can reach the server can use it, and nothing checks who they are, so it should only listen on the
+ * loopback address (the default of the driver) unless the network it is on is trusted. The turns a request can ask
+ * for are limited, by default to DEFAULT_MAX_TURNS which takes a couple of seconds, so that one request can not keep a
+ * processor busy for hours.
+ *
+ * @author Timothy Blamires
+ * @version 10/18/26
+ */
+public final class SimulationServer implements AutoCloseable {
+
+    //The turns played when a request does not give a number, and the most a request can ask for by default
+    static final long DEFAULT_TURNS = 1_000_000;
+    static final long DEFAULT_MAX_TURNS = 100_000_000;
+
+    //The simulations waiting for a thread, beyond this requests are turned away
+    private static final int QUEUE = 32;
+
+    //The longest request that is read, a request only needs a few short values
+    private static final int MAX_REQUEST_BYTES = 1 << 16;
+
+    //The turns played by each of the original strategies before the server starts, so the turn loop is compiled
+    private static final long WARM_UP_TURNS = 20_000_000;
+
+    //The board every request is played on, and the random number generator used when a request does not choose one
+    private final Board board;
+    private final String algorithm;
+
+    //The most turns a request can ask for
+    private final long maxTurns;
+
+    //The HTTP server, the threads that handle its requests, and the threads that run the simulations
+    private final HttpServer server;
+    private final ExecutorService handlers;
+    private final ThreadPoolExecutor simulations;
+
+    //The simulations that are running, by every value of the request but the turns, so that requests can share them
+    private final ConcurrentHashMap<String, SharedRun> running = new ConcurrentHashMap<>();
+
+    //The number of requests, of simulations run, and of requests that joined a running simulation
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong runs = new AtomicLong();
+    private final AtomicLong shared = new AtomicLong();
+
+    /**
+     * This method builds a SimulationServer, warms up the JIT, and starts listening.
+     * @param board - the board every request is played on
+     * @param algorithm - the random number generator used when a request does not choose one
+     * @param address - the address to listen on, such as InetAddress.getLoopbackAddress() to only answer requests
+     * from the same machine
+     * @param port - the port to listen on, 0 for any free port
+     * @param maxTurns - the most turns a request can ask for
+     * @throws IOException - if the server can not listen on the port
+     */
+    public SimulationServer(Board board, String algorithm, InetAddress address, int port, long maxTurns)
+            throws IOException {
+        if(maxTurns < 1)
+            throw new IllegalArgumentException("Most turns of a request must be at least 1");
+        this.board = board;
+        this.algorithm = algorithm;
+        this.maxTurns = maxTurns;
+        int threads = Runtime.getRuntime().availableProcessors();
+        simulations = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(QUEUE));
+        handlers = Executors.newFixedThreadPool(4 * threads);
+
+        warmUp();
+
+        server = HttpServer.create(new InetSocketAddress(address, port), 0);
+        server.createContext("/simulate", this::simulate);
+        server.createContext("/stats", this::stats);
+        server.setExecutor(handlers);
+        server.start();
+    }
+
+    /**
+     * @return - the port the server is listening on
+     */
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * This method plays both of the original strategies for a while, so that the turn loop is compiled before the first
+     * request arrives.
+     */
+    private void warmUp() {
+        for (JailPolicy policy : new JailPolicy[]{JailPolicy.payImmediately(), JailPolicy.rollForDoubles()}) {
+            new MonopolySimulation(board, policy, new RandomSource(algorithm, 0)).playUntil(WARM_UP_TURNS);
+        }
+    }
+
+    /**
+     * This method handles a simulation request.
+     */
+    private void simulate(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        try {
+            if(!exchange.getRequestMethod().equals("POST")){
+                send(exchange, 405, error("Simulation requests must be sent with POST"));
+                return;
+            }
+            byte[] bytes;
+            try (InputStream in = exchange.getRequestBody()) {
+                bytes = in.readNBytes(MAX_REQUEST_BYTES + 1);
+            }
+            if(bytes.length > MAX_REQUEST_BYTES){
+                send(exchange, 413, error("Request is longer than " + MAX_REQUEST_BYTES + " bytes"));
+                return;
+            }
+            String body = new String(bytes, StandardCharsets.UTF_8);
+            Request request = Request.parse(Json.parseObject(body), algorithm, maxTurns);
+            send(exchange, 200, answer(request));
+        } catch (IllegalArgumentException e) {
+            send(exchange, 400, error(e.getMessage()));
+        } catch (RejectedExecutionException e) {
+            send(exchange, 503, error("Too many simulations waiting, try again later"));
+        } catch (RuntimeException e) {
+            send(exchange, 500, error(String.valueOf(e)));
+        }
+    }
+
+    /**
+     * This method finds the answer to a request, joining a running simulation of the same policy, seed and generator if
+     * it has not yet played past the turns of the request.
+     * @param request - the request, with its defaults filled in
+     * @return - the answer, as JSON
+     */
+    String answer(Request request) {
+        String key = request.runKey();
+        CompletableFuture<String> future;
+        while(true){
+            SharedRun run = running.get(key);
+            if(run != null){
+                future = run.join(request.turns);
+                if(future != null){
+                    shared.incrementAndGet();
+                    break;
+                }
+            }
+
+            //There is no run to join, so start one, unless another request has just started one first
+            SharedRun created = new SharedRun(request);
+            future = created.join(request.turns);
+            if(run == null ? running.putIfAbsent(key, created) == null : running.replace(key, run, created)){
+                try {
+                    simulations.execute(created);
+                } catch (RejectedExecutionException e) {
+                    running.remove(key, created);
+                    throw e;
+                }
+                break;
+            }
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            if(e.getCause() instanceof RuntimeException)
+                throw (RuntimeException) e.getCause();
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    /**
+     * This method builds the answer to a request.
+     * @param policy - the policy played
+     * @param request - the request that started the run, which gives the seed and generator
+     * @param turns - the turns played, 0 for an exact answer
+     * @param freq - the frequency of every space, null for an exact answer
+     * @param probabilities - the probability of every space
+     * @param start - the time the run started, from System.nanoTime()
+     * @return - the answer, as JSON
+     */
+    private String json(JailPolicy policy, Request request, long turns, long[] freq, double[] probabilities,
+                        long start) {
+        StringBuilder sb = new StringBuilder("{\"policy\":").append(Json.quote(policy.name()))
+                .append(",\"board\":").append(Json.quote(board.name()));
+        if(freq != null){
+            sb.append(",\"rng\":").append(Json.quote(request.rng))
+                    .append(",\"seed\":").append(request.seed)
+                    .append(",\"turns\":").append(turns)
+                    .append(",\"frequencies\":[");
+            for (int i = 0; i < freq.length; i++) {
+                sb.append(i == 0 ? "" : ",").append(freq[i]);
+            }
+            sb.append(']');
+        }
+        sb.append(",\"probabilities\":[");
+        for (int i = 0; i < probabilities.length; i++) {
+            sb.append(i == 0 ? "" : ",").append(probabilities[i]);
+        }
+        sb.append("],\"millis\":").append((System.nanoTime() - start) / 1_000_000).append('}');
+        return sb.toString();
+    }
+
+    /**
+     * This method handles a request for the counts of the server.
+     */
+    private void stats(HttpExchange exchange) throws IOException {
+        send(exchange, 200, "{\"requests\":" + requests.get() + ",\"simulations\":" + runs.get()
+                + ",\"shared\":" + shared.get() + ",\"running\":" + running.size()
+                + ",\"waiting\":" + simulations.getQueue().size() + "}");
+    }
+
+    /**
+     * This method builds the answer to a request that can not be answered.
+     */
+    private static String error(String message) {
+        return "{\"error\":" + Json.quote(message == null ? "Request not valid" : message) + "}";
+    }
+
+    /**
+     * This method sends an answer as JSON.
+     */
+    private static void send(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * This method stops listening, and stops the threads once the simulations that are running have finished.
+     */
+    @Override
+    public void close() {
+        server.stop(1);
+        handlers.shutdown();
+        simulations.shutdown();
+    }
+
+    /**
+     * This class is one simulation that answers every request for the same policy, seed and generator that arrives
+     * before it has played past the turns of the request. The turns asked for are checkpoints, and the simulation is
+     * played from one to the next, answering the requests at each, so a request for 100,000 turns that arrives while a
+     * run of 1,000,000 is at 50,000 costs nothing. Playing to a checkpoint and on from it gives the same frequencies as
+     * playing straight to the end, so every answer is the same as a run of its own.
+     */
+    private final class SharedRun implements Runnable {
+
+        private final Request request;
+
+        //The answers still to give, by turns, and the turns being played to, before which it is too late to join
+        private final TreeMap<Long, CompletableFuture<String>> checkpoints = new TreeMap<>();
+        private long playingTo;
+        private boolean finished;
+
+        SharedRun(Request request) {
+            this.request = request;
+        }
+
+        /**
+         * This method adds a checkpoint to the run, if it has not played past it.
+         * @param turns - the turns of the request
+         * @return - the answer at those turns once it is played, or null if the run is finished or past them
+         */
+        synchronized CompletableFuture<String> join(long turns) {
+            if(finished || turns < playingTo)
+                return null;
+            return checkpoints.computeIfAbsent(turns, t -> new CompletableFuture<>());
+        }
+
+        /**
+         * This method plays the run to every checkpoint in order, until none are left.
+         */
+        @Override
+        public void run() {
+            runs.incrementAndGet();
+            long start = System.nanoTime();
+            try {
+                JailPolicy policy = JailPolicy.parse(request.policy);
+                if(request.exact){
+                    String answer = json(policy, request, 0, null, new MarkovChainSolver(board, policy).solve(), start);
+                    answerNext(0, answer);
+                    return;
+                }
+
+                //The simulation's random source is split from the seed, just like the first simulation of the driver
+                MonopolySimulation simulation = new MonopolySimulation(board, policy,
+                        new RandomSource(request.rng, request.seed).split());
+                while(true){
+                    long turns;
+                    synchronized (this) {
+                        if(checkpoints.isEmpty()){
+                            finished = true;
+                            return;
+                        }
+                        turns = checkpoints.firstKey();
+                        playingTo = turns;
+                    }
+                    simulation.playUntil(turns);
+                    long[] freq = new long[board.size];
+                    simulation.addFrequencies(freq);
+                    double[] probabilities = new double[freq.length];
+                    for (int i = 0; i < freq.length; i++) {
+                        probabilities[i] = (double) freq[i] / turns;
+                    }
+                    answerNext(turns, json(policy, request, turns, freq, probabilities, start));
+                }
+            } catch (Throwable e) {
+                synchronized (this) {
+                    finished = true;
+                    for (CompletableFuture<String> future : checkpoints.values()) {
+                        future.completeExceptionally(e);
+                    }
+                    checkpoints.clear();
+                }
+            } finally {
+                running.remove(request.runKey(), this);
+            }
+        }
+
+        /**
+         * This method gives the answer at a checkpoint to every request waiting for it.
+         */
+        private void answerNext(long turns, String answer) {
+            CompletableFuture<String> future;
+            synchronized (this) {
+                future = checkpoints.remove(turns);
+                //An exact answer has a single checkpoint, and nothing can join after it
+                if(request.exact)
+                    finished = true;
+            }
+            future.complete(answer);
+        }
+    }
+
+    /**
+     * This class is one simulation request, with every default filled in.
+     */
+    static final class Request {
+
+        private final String policy;
+        private final long turns;
+        private final long seed;
+        private final boolean randomSeed;
+        private final String rng;
+        private final boolean exact;
+
+        private Request(String policy, long turns, long seed, boolean randomSeed, String rng, boolean exact) {
+            this.policy = policy;
+            this.turns = turns;
+            this.seed = seed;
+            this.randomSeed = randomSeed;
+            this.rng = rng;
+            this.exact = exact;
+        }
+
+        /**
+         * This method reads a request from its JSON values, checking every value.
+         * @param values - the values of the JSON object
+         * @param algorithm - the random number generator used if the request does not choose one
+         * @param maxTurns - the most turns the request can ask for
+         * @return - the request
+         */
+        static Request parse(Map<String, Object> values, String algorithm, long maxTurns) {
+            for (String name : values.keySet()) {
+                if(!name.equals("policy") && !name.equals("turns") && !name.equals("seed") && !name.equals("rng")
+                        && !name.equals("exact"))
+                    throw new IllegalArgumentException("Unknown request value: " + name);
+            }
+            if(!(values.get("policy") instanceof String))
+                throw new IllegalArgumentException("Request must give the policy as a string");
+            String policy = (String) values.get("policy");
+            JailPolicy.parse(policy);
+
+            boolean exact = Boolean.TRUE.equals(values.get("exact"));
+            long turns = number(values, "turns", DEFAULT_TURNS);
+            if(turns < 1 || turns > maxTurns)
+                throw new IllegalArgumentException("Turns must be 1 - " + maxTurns);
+            boolean randomSeed = values.get("seed") == null;
+            long seed = randomSeed ? ThreadLocalRandom.current().nextLong() : number(values, "seed", 0);
+            Object rng = values.getOrDefault("rng", algorithm);
+            if(!(rng instanceof String))
+                throw new IllegalArgumentException("Request must give the rng as a string");
+            new RandomSource((String) rng, 0);
+
+            //The solver does not use the turns, seed or generator
+            if(exact)
+                return new Request(policy, 0, 0, false, "", true);
+            return new Request(policy, turns, seed, randomSeed, (String) rng, false);
+        }
+
+        /**
+         * This method reads a whole number value.
+         */
+        private static long number(Map<String, Object> values, String name, long defaultValue) {
+            Object value = values.get(name);
+            if(value == null)
+                return defaultValue;
+            if(!(value instanceof BigDecimal))
+                throw new IllegalArgumentException("Request must give the " + name + " as a number");
+            try {
+                return ((BigDecimal) value).longValueExact();
+            } catch (ArithmeticException e) {
+                throw new IllegalArgumentException("Request must give the " + name + " as a whole number");
+            }
+        }
+
+        /**
+         * @return - text that is the same for two requests exactly when they can share a simulation, which is every
+         * value but the turns
+         */
+        String runKey() {
+            return policy + "|" + (randomSeed ? "random" : Long.toString(seed)) + "|" + rng + "|" + exact;
+        }
+    }
+}
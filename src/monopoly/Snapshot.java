@@ -0,0 +1,76 @@
+package monopoly;
+
+/**
+ * This class is an immutable copy of the results of a simulation at a checkpoint. Snapshots are handed to result sinks,
+ * which may keep them or pass them to other threads while the simulation carries on.
+ *
+ * @author Timothy Blamires
+ * @version 10/17/26
+ */
+public final class Snapshot {
+
+    //The name of the simulation, such as "Strategy a"
+    private final String name;
+
+    //The number of turns the frequencies were recorded over
+    private final long turns;
+
+    //The number of times each space on the board was landed on, never changed after the snapshot is built
+    private final long[] freq;
+
+    /**
+     * This method builds a Snapshot. The array is not copied, so it must not be changed after it is passed in.
+     * @param name - the name of the simulation
+     * @param turns - the number of turns the frequencies were recorded over
+     * @param freq - the number of times each space on the board was landed on
+     */
+    Snapshot(String name, long turns, long[] freq) {
+        this.name = name;
+        this.turns = turns;
+        this.freq = freq;
+    }
+
+    /**
+     * @return - the name of the simulation, such as "Strategy a"
+     */
+    public String name() {
+        return name;
+    }
+
+    /**
+     * @return - the number of turns the frequencies were recorded over
+     */
+    public long turns() {
+        return turns;
+    }
+
+    /**
+     * @return - the number of spaces on the board
+     */
+    public int size() {
+        return freq.length;
+    }
+
+    /**
+     * @param square - a position on the board
+     * @return - the number of times the space was landed on
+     */
+    public long frequency(int square) {
+        return freq[square];
+    }
+
+    /**
+     * @param square - a position on the board
+     * @return - the fraction of turns that ended on the space
+     */
+    public double probability(int square) {
+        return turns == 0 ? 0 : (double) freq[square] / turns;
+    }
+
+    /**
+     * @return - a copy of the number of times each space on the board was landed on
+     */
+    public long[] frequencies() {
+        return freq.clone();
+    }
+}
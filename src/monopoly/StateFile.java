@@ -0,0 +1,256 @@
+package monopoly;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * This class saves the state of a running MonopolySimulation to a file every so often, so that a very long run that is
+ * stopped (or crashes) can be carried on from the last saved state instead of starting again. The state can only be
+ * saved at the start of a segment (see MonopolySimulation.SEGMENT_TURNS), so the simulation asks this class at the
+ * start of every segment, and the state is saved if enough time has passed since the last save. Saving the state only
+ * copies about a kilobyte, the file is written by a background thread so the simulation does not wait for the disk.
+ * If the disk is slower than the saves, a save that has not been written yet is replaced by the newer one.
+ *
+ * Because the dice are seeded again at the start of every segment, a simulation restored from the file gives exactly
+ * the same results as one that was never stopped.
+ *
+ * The file is written to a temporary file then moved into place, so a crash while writing leaves the last complete
+ * file. The format is
+ * - int magic number, int version
+ * - int number of the run, counting every simulation started by the driver from 0
+ * - the key of the simulation (see ResultCache.key), used to check that the file is resumed with the same settings
+ * - int length of the saved state, then the saved state
+ * - int number of summaries, then the summary of the replications of every simulation that finished before the run
+ *   (see ReplicationStatistics.write), so a resumed run summarizes the replications played before it was stopped
+ *
+ * @author Timothy Blamires
+ * @version 10/18/26
+ */
+final class StateFile implements AutoCloseable {
+
+    //Marks the start of a state file ("MSS1")
+    private static final int MAGIC = 0x4D535331;
+
+    //Changed whenever the format changes, so old files are not resumed
+    private static final int VERSION = 3;
+
+    //The file the state is saved to
+    private final Path path;
+
+    //The shortest time between two saves
+    private final long intervalNanos;
+
+    //A single thread so that the files are written in order
+    private final ExecutorService writer;
+
+    //The newest save that has not been written yet, or null if there is none
+    private final AtomicReference<Saved> pending = new AtomicReference<>();
+
+    //The run being played, the summaries of the replications before it, and the time of its last save
+    private int run;
+    private String key;
+    private byte[] summaries;
+    private long lastSave;
+
+    //The first error thrown while writing, reported when this is closed
+    private volatile IOException error;
+
+    /**
+     * This method builds a StateFile.
+     * @param path - the file the state is saved to
+     * @param intervalSeconds - the shortest time between two saves, 0 to save at the start of every segment
+     */
+    StateFile(Path path, long intervalSeconds) {
+        if(intervalSeconds < 0)
+            throw new IllegalArgumentException("Interval between saves not valid");
+        this.path = path;
+        this.intervalNanos = TimeUnit.SECONDS.toNanos(intervalSeconds);
+        writer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "state-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * This method is called before a simulation starts, so the saves that follow are marked with its run number. The
+     * state at the start of the run is always saved, so runs that have finished are not played again when resuming.
+     * @param run - the number of the run, counting every simulation started by the driver from 0
+     * @param key - the key of the simulation (see ResultCache.key)
+     * @param finished - the summary of the replications of every simulation that finished before the run, they are
+     * copied as they do not change until the run has finished
+     */
+    void startRun(int run, String key, List<ReplicationStatistics> finished) {
+        this.run = run;
+        this.key = key;
+        int length = Integer.BYTES;
+        for (ReplicationStatistics summary : finished) {
+            length += summary.bytes();
+        }
+        ByteBuffer out = ByteBuffer.allocate(length).putInt(finished.size());
+        for (ReplicationStatistics summary : finished) {
+            summary.write(out);
+        }
+        summaries = out.array();
+        lastSave = Long.MIN_VALUE;
+    }
+
+    /**
+     * This method is called by the simulation at the start of every segment, and saves its state if enough time has
+     * passed since the last save.
+     * @param simulation - the simulation, which must be at the start of a segment
+     */
+    void segmentStarted(MonopolySimulation simulation) {
+        long now = System.nanoTime();
+        if(lastSave != Long.MIN_VALUE && now - lastSave < intervalNanos)
+            return;
+        lastSave = now;
+
+        //The state is copied here, so the simulation can carry on while it is written. A new write is only needed if
+        //the last one has started, otherwise it will pick up this save instead
+        if(pending.getAndSet(new Saved(run, key, simulation.saveState(), summaries)) == null)
+            writer.execute(this::writePending);
+    }
+
+    /**
+     * This method writes the newest save on the background thread.
+     */
+    private void writePending() {
+        Saved saved = pending.getAndSet(null);
+        try {
+            write(saved);
+        } catch (IOException e) {
+            if(error == null)
+                error = e;
+        }
+    }
+
+    /**
+     * This method waits for every save to be written. If any of them failed the error is thrown here.
+     */
+    @Override
+    public void close() {
+        writer.shutdown();
+        try {
+            writer.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+        if(error != null)
+            throw new UncheckedIOException(error);
+    }
+
+    /**
+     * This method writes the file, first to a temporary file which is then moved over the old file.
+     */
+    private void write(Saved saved) throws IOException {
+        byte[] key = saved.key.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer out = ByteBuffer.allocate(5 * Integer.BYTES + key.length + saved.state.length
+                + saved.summaries.length);
+        out.putInt(MAGIC).putInt(VERSION).putInt(saved.run).putInt(key.length).put(key)
+                .putInt(saved.state.length).put(saved.state).put(saved.summaries);
+        out.flip();
+
+        Path parent = path.toAbsolutePath().getParent();
+        Path temporary = Files.createTempFile(parent, "state", ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+            while(out.hasRemaining()){
+                channel.write(out);
+            }
+            channel.force(false);
+        }
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * This method reads a file written by a StateFile.
+     * @param path - the file to read
+     * @return - the run, key, state and summaries in the file
+     * @throws IOException - if the file can not be read
+     */
+    static Saved read(Path path) throws IOException {
+        ByteBuffer in = ByteBuffer.wrap(Files.readAllBytes(path));
+        if(in.remaining() < 3 * Integer.BYTES || in.getInt() != MAGIC || in.getInt() != VERSION)
+            throw new IllegalArgumentException(path + " is not a saved simulation state");
+        int run = in.getInt();
+        byte[] key = new byte[in.getInt()];
+        in.get(key);
+        byte[] state = new byte[in.getInt()];
+        in.get(state);
+        byte[] summaries = new byte[in.remaining()];
+        in.get(summaries);
+        return new Saved(run, new String(key, StandardCharsets.UTF_8), state, summaries);
+    }
+
+    /**
+     * This class holds one save, either waiting to be written or read from a state file.
+     */
+    static final class Saved {
+
+        private final int run;
+        private final String key;
+        private final byte[] state;
+        private final byte[] summaries;
+
+        private Saved(int run, String key, byte[] state, byte[] summaries) {
+            this.run = run;
+            this.key = key;
+            this.state = state;
+            this.summaries = summaries;
+        }
+
+        /**
+         * @return - the number of the run that was being played
+         */
+        int run() {
+            return run;
+        }
+
+        /**
+         * @return - the key of the simulation (see ResultCache.key)
+         */
+        String key() {
+            return key;
+        }
+
+        /**
+         * @return - the saved state of the simulation
+         */
+        ByteBuffer state() {
+            return ByteBuffer.wrap(state);
+        }
+
+        /**
+         * @return - the summary of the replications of every simulation that finished before the run
+         */
+        List<ReplicationStatistics> summaries() {
+            ByteBuffer in = ByteBuffer.wrap(summaries);
+            List<ReplicationStatistics> finished = new ArrayList<>();
+            for (int i = in.getInt(); i > 0; i--) {
+                finished.add(ReplicationStatistics.read(in));
+            }
+            return finished;
+        }
+
+        /**
+         * @return - the number of turns played when the state was saved, which is the first thing in the state
+         */
+        long turns() {
+            return ByteBuffer.wrap(state).getLong();
+        }
+    }
+}
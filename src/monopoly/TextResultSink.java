@@ -0,0 +1,46 @@
+package monopoly;
+
+import java.io.PrintStream;
+
+/**
+ * This class is a ResultSink that writes the results as text to a PrintStream, such as the console or a file.
+ *
+ * @author Timothy Blamires
+ * @version 10/17/26
+ */
+class TextResultSink implements ResultSink {
+
+    //Where the results are written
+    private final PrintStream out;
+
+    //Whether the stream should be closed with the sink, the console should not be
+    private final boolean closeStream;
+
+    /**
+     * This method builds a TextResultSink.
+     * @param out - where the results are written
+     * @param closeStream - true if the stream should be closed when the sink is closed
+     */
+    TextResultSink(PrintStream out, boolean closeStream) {
+        this.out = out;
+        this.closeStream = closeStream;
+    }
+
+    @Override
+    public void accept(Snapshot snapshot) {
+        out.println(ResultSink.format(snapshot));
+        out.flush();
+    }
+
+    @Override
+    public void summary(String text) {
+        out.println(text);
+        out.flush();
+    }
+
+    @Override
+    public void close() {
+        if(closeStream)
+            out.close();
+    }
+}
@@ -0,0 +1,211 @@
+package monopoly;
+
+import java.util.Arrays;
+
+/**
+ * This class counts more about each turn than the frequencies of a simulation do. It keeps the number of turns that
+ * went from each space to each other space (a 40 x 40 transition matrix on the standard board), the number of times
+ * the dice landed on each space before any card or Go To Jail moved the player (turns where the player did not move,
+ * staying in jail or rolling a third double, are not landings), and the number of turns with each cause (see the
+ * EventLog constants), such as Chance moving the player or three doubles in a row. These can be compared with the
+ * MarkovChainSolver, and explain where the frequencies come from.
+ *
+ * Every count is a long, and nothing is allocated while counting. Each simulation needs its own TurnStatistics, as it
+ * is not thread safe, and the statistics of several simulations (such as the workers of a ParallelMonopolySimulation)
+ * are added together with merge.
+ *
+ * @author Timothy Blamires
+ * @version 10/17/26
+ */
+public final class TurnStatistics {
+
+    //The number of causes, the causes are the EventLog constants 0 - 7
+    public static final int CAUSES = 8;
+
+    //The names of the causes, indexed by cause
+    private static final String[] CAUSE_NAMES = {"None", "Chance", "Community Chest", "Jail", "Go To Jail",
+            "Triple doubles", "Stayed in jail", "Left jail"};
+
+    //The number of spaces on the board
+    private final int size;
+
+    //The number of turns from each space to each space, the turns from space a to space b are at a * size + b
+    private final long[] transitions;
+
+    //The number of times the dice landed on each space, before any card or Go To Jail moved the player. Turns where the
+    //player did not move are not counted
+    private final long[] landings;
+
+    //The number of turns with each cause
+    private final long[] causes;
+
+    /**
+     * This method builds a TurnStatistics for the standard board with every count at 0.
+     */
+    public TurnStatistics() {
+        this(Board.STANDARD);
+    }
+
+    /**
+     * This method builds a TurnStatistics for the given board with every count at 0.
+     * @param board - the board the counted simulations are played on
+     */
+    public TurnStatistics(Board board) {
+        size = board.size;
+        transitions = new long[size * size];
+        landings = new long[size];
+        causes = new long[CAUSES];
+    }
+
+    /**
+     * This method counts one turn.
+     * @param start - the space the turn started on
+     * @param landing - the space the dice took the player to, which is not counted if the player stayed in jail or
+     * rolled a third double as they did not move
+     * @param end - the space the turn ended on
+     * @param cause - what moved the player from the landing space to the final space
+     */
+    void record(int start, int landing, int end, byte cause) {
+        transitions[start * size + end]++;
+        if(cause != EventLog.TRIPLE_DOUBLES && cause != EventLog.STAYED_IN_JAIL)
+            landings[landing]++;
+        causes[cause]++;
+    }
+
+    /**
+     * This method adds the counts of other statistics to these, so that the statistics of several simulations can be
+     * put together.
+     * @param other - the statistics to add, which are not changed
+     */
+    public void merge(TurnStatistics other) {
+        if(other.size != size)
+            throw new IllegalArgumentException("Statistics are from boards of different sizes");
+        for (int i = 0; i < transitions.length; i++) {
+            transitions[i] += other.transitions[i];
+        }
+        for (int i = 0; i < landings.length; i++) {
+            landings[i] += other.landings[i];
+        }
+        for (int i = 0; i < causes.length; i++) {
+            causes[i] += other.causes[i];
+        }
+    }
+
+    /**
+     * This method sets every count back to 0.
+     */
+    public void clear() {
+        Arrays.fill(transitions, 0);
+        Arrays.fill(landings, 0);
+        Arrays.fill(causes, 0);
+    }
+
+    /**
+     * @return - the number of turns counted
+     */
+    public long turns() {
+        long turns = 0;
+        for (long count : causes) {
+            turns += count;
+        }
+        return turns;
+    }
+
+    /**
+     * @param from - the space a turn started on
+     * @param to - the space a turn ended on
+     * @return - the number of turns that started on the first space and ended on the second
+     */
+    public long transitions(int from, int to) {
+        return transitions[from * size + to];
+    }
+
+    /**
+     * @param from - the space a turn started on
+     * @param to - the space a turn ended on
+     * @return - the fraction of the turns starting on the first space that ended on the second, 0 if no turn started
+     * on the first space
+     */
+    public double transitionProbability(int from, int to) {
+        long total = 0;
+        for (int i = 0; i < size; i++) {
+            total += transitions[from * size + i];
+        }
+        return total == 0 ? 0 : (double) transitions[from * size + to] / total;
+    }
+
+    /**
+     * @param square - a position on the board
+     * @return - the number of times the dice landed on the space, before any card or Go To Jail moved the player. This
+     * adds up to the turns less the turns spent in jail and the third doubles, as the player does not move on those
+     */
+    public long landings(int square) {
+        return landings[square];
+    }
+
+    /**
+     * @param square - a position on the board
+     * @return - the number of turns that ended on the space, the same as the frequency of the space
+     */
+    public long ends(int square) {
+        long ends = 0;
+        for (int from = 0; from < size; from++) {
+            ends += transitions[from * size + square];
+        }
+        return ends;
+    }
+
+    /**
+     * @param cause - one of the EventLog constants
+     * @return - the number of turns with the cause
+     */
+    public long causes(byte cause) {
+        return causes[cause];
+    }
+
+    /**
+     * @param cause - one of the EventLog constants
+     * @return - the name of the cause, such as "Triple doubles"
+     */
+    public static String causeName(byte cause) {
+        return CAUSE_NAMES[cause];
+    }
+
+    /**
+     * This method builds a short summary of the causes, with the number of turns and the fraction of turns for each.
+     * @return - the summary, as text
+     */
+    public String summary() {
+        long turns = turns();
+        StringBuilder sb = new StringBuilder();
+        for (byte cause = 0; cause < CAUSES; cause++) {
+            sb.append(String.format("%-16s %,15d %10.7f%n", causeName(cause), causes[cause],
+                    turns == 0 ? 0 : (double) causes[cause] / turns));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * This method writes every count as text, first the causes, then the landings and ends of every space, then the
+     * transition matrix with one row for each starting space. Values are separated by commas.
+     * @return - the counts, as text
+     */
+    public String format() {
+        StringBuilder sb = new StringBuilder("#cause,turns\n");
+        for (byte cause = 0; cause < CAUSES; cause++) {
+            sb.append(causeName(cause)).append(',').append(causes[cause]).append('\n');
+        }
+        sb.append("#square,landings,ends\n");
+        for (int square = 0; square < size; square++) {
+            sb.append(square).append(',').append(landings[square]).append(',').append(ends(square)).append('\n');
+        }
+        sb.append("#transitions, one row for each starting space\n");
+        for (int from = 0; from < size; from++) {
+            for (int to = 0; to < size; to++) {
+                sb.append(to == 0 ? "" : ",").append(transitions[from * size + to]);
+            }
+            sb.append('\n');
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,56 @@
+package monopoly;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * This class checks the checkpoints reported by a BatchSimulation, where every game moves at once so the turns can
+ * pass a checkpoint by up to one turn per game.
+ *
+ * @author Timothy Blamires
+ * @version 10/18/26
+ */
+class BatchSimulationTest {
+
+    /**
+     * This method checks that checkpoints passed on the way to an earlier one are skipped. With 100,000 games the first
+     * step already passes 1,000 , 10,000 and 100,000 turns, so they are reported once as 100,000.
+     */
+    @Test
+    void skipsCheckpointsAlreadyPassed() {
+        List<Long> turns = run(100_000, CheckpointSchedule.STANDARD);
+        assertEquals(List.of(100_000L, 1_000_000L), turns);
+    }
+
+    /**
+     * This method checks that with a few games every checkpoint is reported once, within one turn per game after it.
+     */
+    @Test
+    void reportsEveryCheckpointOnce() {
+        long[] checkpoints = {1_000, 10_000, 100_000, 1_000_000};
+        List<Long> turns = run(7, CheckpointSchedule.explicit(checkpoints));
+        assertEquals(checkpoints.length, turns.size());
+        for (int i = 0; i < checkpoints.length; i++) {
+            assertTrue(turns.get(i) >= checkpoints[i] && turns.get(i) < checkpoints[i] + 7, "turns " + turns.get(i));
+        }
+    }
+
+    /**
+     * This method plays a BatchSimulation to the end of the schedule.
+     * @return - the turns of every checkpoint reported
+     */
+    private static List<Long> run(int games, CheckpointSchedule schedule) {
+        BatchSimulation simulation = new BatchSimulation(games, JailPolicy.parse("b"),
+                new RandomSource("L64X128MixRandom", 4));
+        List<Long> turns = new ArrayList<>();
+        simulation.setResultSink(snapshot -> turns.add(snapshot.turns()));
+        simulation.setSchedule(schedule);
+        simulation.run();
+        return turns;
+    }
+}
@@ -0,0 +1,150 @@
+package monopoly;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * This class checks that Board reads valid board files, and rejects board files that are not valid before anything is
+ * played.
+ *
+ * @author Timothy Blamires
+ * @version 10/18/26
+ */
+class BoardTest {
+
+    //The standard board written as a board file
+    private static final List<String> STANDARD = List.of(
+            "# The standard US board",
+            "name = Standard",
+            "size = 40",
+            "jail = 10",
+            "go-to-jail = 30",
+            "chance = 7, 22, 36",
+            "community-chest = 2, 17, 33",
+            "railroads = 5, 15, 25, 35",
+            "utilities = 12, 28",
+            "chance-cards = nothing x5, 0, 5, 11, 24, 39, get-out-of-jail, go-to-jail, back 3, railroad x2, utility",
+            "community-chest-cards = nothing x13, 0, get-out-of-jail, go-to-jail");
+
+    /**
+     * This method checks that the standard board file gives the same board as Board.STANDARD.
+     */
+    @Test
+    void standardFileMatchesStandardBoard() {
+        Board board = Board.parse("file", STANDARD);
+        assertEquals(Board.STANDARD.definition(), board.definition());
+        assertEquals("Standard", board.name());
+        assertEquals(40, board.size());
+        assertEquals(10, board.jail());
+    }
+
+    /**
+     * This method checks that a board saved with definition can be read again.
+     */
+    @Test
+    void definitionCanBeReadAgain() {
+        Board board = Board.parse("house", with("doubles-to-jail = 0", "dice = 1, 1, 1, 1, 1, 2",
+                "speed-die = 1, 2, 3, 0, 0, 0"));
+        Board again = Board.parse("again", board.definition().lines().toList());
+        assertEquals(board.definition(), again.definition());
+    }
+
+    @Test
+    void rejectsBoardTooSmall() {
+        assertRejected(replace("size = 40", "size = 11"), "spaces");
+    }
+
+    @Test
+    void rejectsBoardTooLarge() {
+        assertRejected(replace("size = 40", "size = 128"), "spaces");
+    }
+
+    @Test
+    void rejectsSpaceOffTheBoard() {
+        assertRejected(replace("chance = 7, 22, 36", "chance = 7, 22, 40"), "not on the board");
+    }
+
+    @Test
+    void rejectsTwoActionsOnOneSpace() {
+        assertRejected(replace("chance = 7, 22, 36", "chance = 7, 22, 33"), "already has an action");
+    }
+
+    @Test
+    void rejectsChanceSpacesWithoutCards() {
+        List<String> lines = new ArrayList<>(STANDARD);
+        lines.removeIf(line -> line.startsWith("chance-cards"));
+        assertRejected(lines, "no chance cards");
+    }
+
+    @Test
+    void rejectsDeckOfOnlyGetOutOfJailCard() {
+        assertRejected(replace(STANDARD.get(10), "community-chest-cards = get-out-of-jail"),
+                "besides the get out of jail free card");
+    }
+
+    @Test
+    void rejectsDiceThatGoAroundTheBoard() {
+        assertRejected(replace("size = 40", "size = 20", "dice = 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1"), "Dice");
+    }
+
+    @Test
+    void rejectsUnknownSetting() {
+        assertRejected(with("colour = blue"), "colour");
+    }
+
+    @Test
+    void rejectsSettingGivenTwice() {
+        assertRejected(with("jail = 10"), "given twice");
+    }
+
+    @Test
+    void rejectsLineWithoutValue() {
+        assertRejected(with("jail 10"), "not valid");
+    }
+
+    @Test
+    void rejectsNegativeDoublesToJail() {
+        assertRejected(with("doubles-to-jail = -1"), "Doubles to jail");
+    }
+
+    @Test
+    void rejectsNoTurnsInJail() {
+        assertRejected(with("turns-in-jail = 0"), "Turns in jail");
+    }
+
+    /**
+     * This method checks that the lines of a board file are rejected with a message that mentions the problem.
+     * @param lines - the lines of the board file
+     * @param message - part of the message the error must have
+     */
+    private static void assertRejected(List<String> lines, String message) {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> Board.parse("bad", lines));
+        assertTrue(e.getMessage().contains(message), () -> "Message was: " + e.getMessage());
+    }
+
+    /**
+     * @return - the standard board file with the given lines added
+     */
+    private static List<String> with(String... extra) {
+        List<String> lines = new ArrayList<>(STANDARD);
+        lines.addAll(List.of(extra));
+        return lines;
+    }
+
+    /**
+     * @return - the standard board file with one line replaced by the given lines
+     */
+    private static List<String> replace(String line, String... replacement) {
+        List<String> lines = new ArrayList<>(STANDARD);
+        int index = lines.indexOf(line);
+        lines.remove(index);
+        lines.addAll(index, List.of(replacement));
+        return lines;
+    }
+}
@@ -0,0 +1,102 @@
+package monopoly;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * This class checks that a CardDeck deals every card once before shuffling, and keeps the get out of jail free card
+ * out of the deck while it is held.
+ *
+ * @author Timothy Blamires
+ * @version 10/18/26
+ */
+class CardDeckTest {
+
+    private static final CardTable CHANCE = Board.STANDARD.chance;
+
+    /**
+     * This method checks that every card is drawn once between shuffles while the get out of jail free card is
+     * returned as soon as it is drawn.
+     */
+    @Test
+    void everyCardIsDrawnOncePerShuffle() {
+        CardDeck deck = new CardDeck(CHANCE, new RandomSource("L64X128MixRandom", 1));
+        for (int shuffle = 1; shuffle <= 5; shuffle++) {
+            int[] drawn = new int[CHANCE.cards()];
+            for (int i = 0; i < CHANCE.cards(); i++) {
+                int card = deck.draw();
+                drawn[card]++;
+                if(card == CHANCE.getOutOfJailCard)
+                    deck.returnGetOutOfJailCard();
+            }
+            for (int card = 0; card < drawn.length; card++) {
+                assertEquals(1, drawn[card], "card " + card);
+            }
+            assertEquals(shuffle, deck.reshuffles());
+        }
+        assertEquals(5L * CHANCE.cards(), deck.draws());
+    }
+
+    /**
+     * This method checks that the get out of jail free card is not drawn again while it is held, even after the deck
+     * is shuffled, and comes back once it is returned.
+     */
+    @Test
+    void heldCardStaysOutOfTheDeck() {
+        CardDeck deck = new CardDeck(CHANCE, new RandomSource("L64X128MixRandom", 2));
+        int card;
+        do {
+            card = deck.draw();
+        } while(card != CHANCE.getOutOfJailCard);
+
+        for (int i = 0; i < 10 * CHANCE.cards(); i++) {
+            assertNotEquals(CHANCE.getOutOfJailCard, deck.draw());
+        }
+
+        deck.returnGetOutOfJailCard();
+        assertThrows(IllegalStateException.class, deck::returnGetOutOfJailCard);
+        boolean drawnAgain = false;
+        for (int i = 0; i < 2 * CHANCE.cards() && !drawnAgain; i++) {
+            drawnAgain = deck.draw() == CHANCE.getOutOfJailCard;
+        }
+        assertTrue(drawnAgain);
+    }
+
+    /**
+     * This method checks that the card can not be returned before it is drawn.
+     */
+    @Test
+    void cardCanNotBeReturnedBeforeItIsDrawn() {
+        CardDeck deck = new CardDeck(CHANCE, new RandomSource("L64X128MixRandom", 3));
+        assertThrows(IllegalStateException.class, deck::returnGetOutOfJailCard);
+    }
+
+    /**
+     * This method checks that a deck restored while the card is held deals the same cards as the deck it was saved
+     * from.
+     */
+    @Test
+    void restoredDeckDealsTheSameCards() {
+        CardDeck deck = new CardDeck(CHANCE, new RandomSource("L64X128MixRandom", 4));
+        while(deck.draw() != CHANCE.getOutOfJailCard){
+            //Drawing until the card is held
+        }
+        ByteBuffer state = ByteBuffer.allocate((3 + CHANCE.cards()) * Integer.BYTES);
+        deck.writeState(state);
+        state.flip();
+
+        CardDeck restored = new CardDeck(CHANCE, new RandomSource("L64X128MixRandom", 4));
+        restored.readState(state);
+        for (int i = 0; i < CHANCE.cards() - 1; i++) {
+            assertEquals(deck.draw(), restored.draw());
+        }
+        deck.returnGetOutOfJailCard();
+        restored.returnGetOutOfJailCard();
+    }
+}
@@ -0,0 +1,78 @@
+package monopoly;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * This class checks that the alias table of the DiceTable rolls every outcome with its exact chance.
+ *
+ * @author Timothy Blamires
+ * @version 10/18/26
+ */
+class DiceTableTest {
+
+    private static final int ROLLS = 2_000_000;
+
+    @Test
+    void fairDice() {
+        assertFrequencies(DiceTable.STANDARD);
+    }
+
+    @Test
+    void loadedDice() {
+        assertFrequencies(new DiceTable(new int[]{1, 1, 1, 1, 1, 2}, new int[0]));
+    }
+
+    @Test
+    void unevenDiceWithSpeedDie() {
+        assertFrequencies(new DiceTable(new int[]{3, 0, 1, 1, 5, 1, 1}, new int[]{1, 2, 3, 0, 0, 0}));
+    }
+
+    /**
+     * This method checks that the outcomes of two dice match the value of each die.
+     */
+    @Test
+    void outcomesMatchDice() {
+        DiceTable dice = DiceTable.STANDARD;
+        double total = 0;
+        for (int outcome = 0; outcome < dice.outcomes(); outcome++) {
+            assertEquals(dice.die1[outcome] + dice.die2[outcome], dice.steps[outcome]);
+            assertEquals(dice.die1[outcome] == dice.die2[outcome] ? 1 : 0, dice.doubles[outcome]);
+            total += dice.probabilities[outcome];
+        }
+        assertEquals(1, total, 1e-12);
+        assertEquals(12, dice.maxSteps);
+        assertTrue(dice.isStandard());
+    }
+
+    @Test
+    void rejectsDiceThatCanNotRoll() {
+        assertThrows(IllegalArgumentException.class, () -> new DiceTable(new int[]{0, 0}, new int[0]));
+        assertThrows(IllegalArgumentException.class, () -> new DiceTable(new int[13], new int[0]));
+        assertThrows(IllegalArgumentException.class, () -> new DiceTable(new int[]{1, -1}, new int[0]));
+    }
+
+    /**
+     * This method rolls the dice many times and checks that every outcome comes up within 5 standard deviations of its
+     * expected count, and that outcomes that can not happen never come up.
+     */
+    private static void assertFrequencies(DiceTable dice) {
+        RandomSource rng = new RandomSource("L64X128MixRandom", 3);
+        long[] counts = new long[dice.outcomes()];
+        for (int i = 0; i < ROLLS; i++) {
+            counts[dice.roll(rng)]++;
+        }
+        for (int outcome = 0; outcome < counts.length; outcome++) {
+            double p = dice.probabilities[outcome];
+            if(p == 0){
+                assertEquals(0, counts[outcome], "outcome " + outcome);
+                continue;
+            }
+            double z = (counts[outcome] - ROLLS * p) / Math.sqrt(ROLLS * p * (1 - p));
+            assertTrue(Math.abs(z) < 5, "outcome " + outcome + " z = " + z);
+        }
+    }
+}
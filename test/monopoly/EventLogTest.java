@@ -0,0 +1,116 @@
+package monopoly;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * This class checks that every record written to an EventLog is read back unchanged and in order, including when the
+ * ring buffer wraps around many times and the last chunk is only partly full.
+ *
+ * @author Timothy Blamires
+ * @version 10/18/26
+ */
+class EventLogTest {
+
+    //More than 3 times the ring buffer, and not a whole number of chunks
+    private static final int RECORDS = 200_123;
+
+    @TempDir
+    Path directory;
+
+    /**
+     * This method writes records of two runs and reads them back.
+     */
+    @Test
+    void recordsRoundTrip() throws IOException {
+        Path path = directory.resolve("turns.bin");
+        try (EventLog log = new EventLog(path)) {
+            log.startRun(0);
+            for (int i = 0; i < RECORDS; i++) {
+                if(i == RECORDS / 2)
+                    log.startRun(513);
+                write(log, i);
+            }
+        }
+
+        List<EventLog.Event> events = read(path);
+        assertEquals(RECORDS, events.size());
+        for (int i = 0; i < RECORDS; i++) {
+            EventLog.Event event = events.get(i);
+            assertEquals(turn(i), event.turn());
+            assertEquals(i % 6 + 1, event.die1());
+            assertEquals(i / 6 % 6 + 1, event.die2());
+            assertEquals(i % 127, event.start());
+            assertEquals((i + 7) % 127, event.landing());
+            assertEquals((i + 11) % 127, event.end());
+            assertEquals(i % TurnStatistics.CAUSES, event.cause());
+            assertEquals(i < RECORDS / 2 ? 0 : 513, event.run());
+        }
+    }
+
+    /**
+     * This method checks that a sample only keeps the first turns of every sample.
+     */
+    @Test
+    void sampleKeepsFirstTurns() throws IOException {
+        Path path = directory.resolve("sample.bin");
+        try (EventLog log = new EventLog(path, 1000, 20)) {
+            log.startRun(0);
+            for (int i = 0; i < RECORDS; i++) {
+                write(log, i);
+            }
+        }
+
+        List<EventLog.Event> events = read(path);
+        int sampled = 0;
+        for (int i = 0; i < RECORDS; i++) {
+            if(turn(i) % 1000 < 20)
+                assertEquals(turn(i), events.get(sampled++).turn());
+        }
+        assertEquals(sampled, events.size());
+    }
+
+    @Test
+    void rejectsOtherFiles() throws IOException {
+        Path path = directory.resolve("other.bin");
+        Files.write(path, new byte[64]);
+        assertThrows(IllegalArgumentException.class, () -> EventLog.read(path, event -> { }));
+        assertThrows(IllegalArgumentException.class, () -> new EventLog(directory.resolve("x.bin"), 10, 11));
+        try (EventLog log = new EventLog(directory.resolve("y.bin"))) {
+            assertThrows(IllegalArgumentException.class, () -> log.startRun(-1));
+        }
+    }
+
+    /**
+     * This method records the turn of record i, where every field is worked out from i.
+     */
+    private static void write(EventLog log, int i) {
+        log.record(turn(i), i % 6 + 1, i / 6 % 6 + 1, i % 127, (i + 7) % 127, (i + 11) % 127,
+                (byte) (i % TurnStatistics.CAUSES));
+    }
+
+    /**
+     * @return - the turn of record i, which starts again at 0 for the second run
+     */
+    private static long turn(int i) {
+        return i < RECORDS / 2 ? i : i - RECORDS / 2;
+    }
+
+    /**
+     * @return - every record in the file, in order
+     */
+    private static List<EventLog.Event> read(Path path) throws IOException {
+        List<EventLog.Event> events = new ArrayList<>();
+        EventLog.read(path, events::add);
+        return events;
+    }
+}
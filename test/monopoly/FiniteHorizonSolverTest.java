@@ -0,0 +1,74 @@
+package monopoly;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * This class checks that the FiniteHorizonSolver agrees with short games played by the simulation, and settles on the
+ * long run chances of the MarkovChainSolver once the game is long enough.
+ *
+ * @author Timothy Blamires
+ * @version 10/18/26
+ */
+class FiniteHorizonSolverTest {
+
+    /**
+     * This method checks that the FiniteHorizonSolver settles on the long run chances after many turns, and that the
+     * expected landings add up to the number of turns. Late in the game "stay-in-after" never uses a get out of jail
+     * free card, so the chance of holding one only settles slowly and many turns are needed.
+     */
+    @Test
+    void reachesLongRun() {
+        for (String policy : List.of("a", "b", "stay-in-after:50")) {
+            JailPolicy jailPolicy = JailPolicy.parse(policy);
+            FiniteHorizonSolver solver = new FiniteHorizonSolver(jailPolicy, 5000);
+            double[] longRun = new MarkovChainSolver(jailPolicy).solve();
+            double[] last = solver.distribution(5000);
+            for (int i = 0; i < longRun.length; i++) {
+                assertEquals(longRun[i], last[i], 1e-9, policy + " space " + i);
+            }
+
+            double total = 0;
+            for (double landings : solver.expectedLandings(150)) {
+                total += landings;
+            }
+            assertEquals(150, total, 1e-9);
+            assertEquals(1, solver.distribution(0)[0]);
+        }
+    }
+
+    /**
+     * This method checks that the FiniteHorizonSolver agrees with many short games played from GO.
+     */
+    @Test
+    void agreesWithShortGames() {
+        int turns = 30;
+        int games = 100_000;
+        JailPolicy policy = JailPolicy.parse("b");
+        double[] expected = new FiniteHorizonSolver(policy, turns).expectedLandings(turns);
+
+        long[] totals = new long[Board.STANDARD.size];
+        RandomSource rng = new RandomSource("L64X128MixRandom", 5);
+        for (int game = 0; game < games; game++) {
+            MonopolySimulation simulation = new MonopolySimulation(Board.STANDARD, policy, rng.split());
+            simulation.playUntil(turns);
+            simulation.addFrequencies(totals);
+        }
+        for (int i = 0; i < totals.length; i++) {
+            assertEquals(expected[i], (double) totals[i] / games, 0.015, "space " + i);
+        }
+    }
+
+    @Test
+    void rejectsTurnsNotCalculated() {
+        FiniteHorizonSolver solver = new FiniteHorizonSolver(JailPolicy.parse("a"), 10);
+        assertEquals(10, solver.horizon());
+        assertThrows(IllegalArgumentException.class, () -> solver.distribution(11));
+        assertThrows(IllegalArgumentException.class,
+                () -> new FiniteHorizonSolver(JailPolicy.parse("a"), 0));
+    }
+}
@@ -0,0 +1,69 @@
+package monopoly;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * This class checks that Json reads the flat objects sent to the SimulationServer, and rejects anything else with an
+ * IllegalArgumentException so the server can answer 400.
+ *
+ * @author Timothy Blamires
+ * @version 10/18/26
+ */
+class JsonTest {
+
+    @Test
+    void readsFlatObject() {
+        Map<String, Object> values = Json.parseObject(
+                " { \"policy\" : \"b\", \"turns\": 100000, \"seed\": -9223372036854775808, \"x\": 1.5e3,"
+                        + " \"headless\": true, \"clip\": false, \"rng\": null, \"s\": \"a\\\"\\\\\\n\\u0041\" } ");
+        assertEquals("b", values.get("policy"));
+        assertEquals(new BigDecimal("100000"), values.get("turns"));
+        assertEquals(Long.MIN_VALUE, ((BigDecimal) values.get("seed")).longValueExact());
+        assertEquals(new BigDecimal("1.5e3"), values.get("x"));
+        assertEquals(Boolean.TRUE, values.get("headless"));
+        assertEquals(Boolean.FALSE, values.get("clip"));
+        assertNull(values.get("rng"));
+        assertEquals("a\"\\\nA", values.get("s"));
+        assertEquals(Map.of(), Json.parseObject("{}"));
+    }
+
+    @Test
+    void quoteIsReadBack() {
+        String text = "tab\there \"quoted\" back\\slash \u0001";
+        assertEquals(text, Json.parseObject("{\"v\": " + Json.quote(text) + "}").get("v"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "",
+            "[]",
+            "{",
+            "{\"a\": 1",
+            "{\"a\" 1}",
+            "{a: 1}",
+            "{\"a\": }",
+            "{\"a\": 1,}",
+            "{\"a\": 1 \"b\": 2}",
+            "{\"a\": {\"b\": 1}}",
+            "{\"a\": [1]}",
+            "{\"a\": 1}}",
+            "{\"a\": 1} x",
+            "{\"a\": 1, \"a\": 2}",
+            "{\"a\": \"open}",
+            "{\"a\": \"bad \\u12\"}",
+            "{\"a\": \"bad \\uzzzz\"}",
+            "{\"a\": 1-2}",
+            "{\"a\": tru}"})
+    void rejectsTextThatIsNotValid(String text) {
+        assertThrows(IllegalArgumentException.class, () -> Json.parseObject(text));
+    }
+}
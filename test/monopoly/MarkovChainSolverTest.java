@@ -0,0 +1,79 @@
+package monopoly;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * This class checks that the MarkovChainSolver agrees with the simulation. The solver treats every card in a deck as
+ * equally likely to be drawn while the simulation plays the deck in order, so the simulation is only expected to be
+ * close to the long run chances, not exactly on them.
+ *
+ * @author Timothy Blamires
+ * @version 10/18/26
+ */
+class MarkovChainSolverTest {
+
+    //The number of turns simulated, and how far the chance of a space may be from the solver
+    private static final long TURNS = 4_000_000;
+    private static final double TOLERANCE = 0.0015;
+
+    //A house rule board with loaded dice, a speed die and no doubles rule
+    private static final Board HOUSE = Board.parse("house", (Board.STANDARD.definition()
+            .replace("doubles-to-jail = 3", "doubles-to-jail = 0")
+            + "dice = 1, 1, 1, 1, 1, 2\nspeed-die = 1, 2, 3, 0, 0, 0\n").lines().toList());
+
+    @Test
+    void solverAgreesWithSimulationForPayingAtOnce() {
+        assertAgrees(Board.STANDARD, "a");
+    }
+
+    @Test
+    void solverAgreesWithSimulationForRollingForDoubles() {
+        assertAgrees(Board.STANDARD, "b");
+    }
+
+    @Test
+    void solverAgreesWithSimulationForHoldingTheCard() {
+        assertAgrees(Board.STANDARD, "hold-card");
+    }
+
+    @Test
+    void solverAgreesWithSimulationOnHouseRules() {
+        assertAgrees(HOUSE, "pay-on-turn:2");
+    }
+
+    /**
+     * This method checks that the chance of ending a turn on every space adds up to 1.
+     */
+    @Test
+    void solutionIsADistribution() {
+        for (Board board : List.of(Board.STANDARD, HOUSE)) {
+            double total = 0;
+            for (double p : new MarkovChainSolver(board, JailPolicy.parse("b")).solve()) {
+                assertTrue(p >= 0);
+                total += p;
+            }
+            assertEquals(1, total, 1e-9);
+        }
+    }
+
+    /**
+     * This method simulates a policy on a board and checks every space against the solver.
+     */
+    private static void assertAgrees(Board board, String policy) {
+        JailPolicy jailPolicy = JailPolicy.parse(policy);
+        double[] exact = new MarkovChainSolver(board, jailPolicy).solve();
+
+        MonopolySimulation simulation = new MonopolySimulation(board, jailPolicy,
+                new RandomSource("L64X128MixRandom", 11));
+        simulation.playUntil(TURNS);
+        Snapshot snapshot = simulation.snapshot();
+        for (int i = 0; i < exact.length; i++) {
+            assertEquals(exact[i], snapshot.probability(i), TOLERANCE, policy + " space " + i);
+        }
+    }
+}
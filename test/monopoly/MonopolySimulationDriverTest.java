@@ -0,0 +1,56 @@
+package monopoly;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * This class checks that "--parallel" with many replications plays whole replications at once and reports the same
+ * results as a run without it, with a summary that only differs by rounding.
+ *
+ * @author Timothy Blamires
+ * @version 10/18/26
+ */
+class MonopolySimulationDriverTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void parallelReplicationsMatchSerialRun() throws IOException {
+        List<String> serial = run("serial.txt", false);
+        List<String> parallel = run("parallel.txt", true);
+        assertEquals(serial.size(), parallel.size());
+
+        //The results are the same, and the merged summary is within rounding of the one added up one at a time
+        boolean summary = false;
+        for (int i = 0; i < serial.size(); i++) {
+            summary |= serial.get(i).startsWith("Mean of");
+            if(!summary || !serial.get(i).matches("\\d.*"))
+                assertEquals(serial.get(i), parallel.get(i), "line " + (i + 1));
+            else
+                assertEquals(Double.parseDouble(serial.get(i).split(" ")[0]),
+                        Double.parseDouble(parallel.get(i).split(" ")[0]), 2e-7, "line " + (i + 1));
+        }
+        assertTrue(summary);
+    }
+
+    /**
+     * This method runs 8 replications of both strategies with the same seed.
+     * @return - the lines written to the output file
+     */
+    private List<String> run(String name, boolean parallel) throws IOException {
+        Path output = directory.resolve(name);
+        String arguments = "both 8 --seed 5 --turns 100000 --headless --output " + output
+                + (parallel ? " --parallel" : "");
+        MonopolySimulationDriver.main(arguments.split(" "));
+        return Files.readAllLines(output);
+    }
+}
@@ -0,0 +1,65 @@
+package monopoly;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * This class checks when a MonopolySimulation run until its frequencies converge stops, and that runs capped below the
+ * fewest turns that can converge are rejected instead of playing nothing.
+ *
+ * @author Timothy Blamires
+ * @version 10/18/26
+ */
+class MonopolySimulationTest {
+
+    //The fewest turns that can converge
+    private static final long MIN_TURNS = MonopolySimulation.BATCH_SIZE * MonopolySimulation.MIN_BATCHES;
+
+    @Test
+    void rejectsMaximumBelowMinimumBatches() {
+        MonopolySimulation simulation = simulation();
+        assertThrows(IllegalArgumentException.class, () -> simulation.runUntilConverged(0.01, 0.95, MIN_TURNS - 1));
+        assertThrows(IllegalArgumentException.class, () -> simulation.runUntilConverged(0.01, 0.95, 5_000));
+        assertEquals(0, simulation.turns());
+
+        PairedSimulation paired = new PairedSimulation(JailPolicy.parse("a"), JailPolicy.parse("b"),
+                new RandomSource("L64X128MixRandom", 1));
+        assertThrows(IllegalArgumentException.class, () -> paired.runUntilConverged(0.01, 0.95, MIN_TURNS - 1));
+    }
+
+    @Test
+    void rejectsToleranceRunWithTooFewTurns() {
+        assertThrows(IllegalArgumentException.class, () -> SimulationOptions.parse(
+                new String[]{"b", "1", "--tolerance", "0.01", "--turns", "5000"}));
+    }
+
+    /**
+     * This method checks that a loose tolerance stops after the fewest batches, and a tight one at the maximum.
+     */
+    @Test
+    void stopsAtToleranceOrMaximum() {
+        MonopolySimulation loose = simulation();
+        BatchMeans batchMeans = loose.runUntilConverged(0.01, 0.95, Long.MAX_VALUE);
+        assertEquals(MonopolySimulation.MIN_BATCHES, batchMeans.batches());
+        assertEquals(MIN_TURNS, loose.turns());
+        assertTrue(batchMeans.maxHalfWidth(0.95) <= 0.01);
+
+        MonopolySimulation tight = simulation();
+        batchMeans = tight.runUntilConverged(1e-9, 0.95, MIN_TURNS + 5 * MonopolySimulation.BATCH_SIZE / 2);
+        assertEquals(MonopolySimulation.MIN_BATCHES + 2, batchMeans.batches());
+        assertEquals(MIN_TURNS + 2 * MonopolySimulation.BATCH_SIZE, tight.turns());
+    }
+
+    /**
+     * @return - a simulation of strategy "b" whose results are thrown away
+     */
+    private static MonopolySimulation simulation() {
+        MonopolySimulation simulation = new MonopolySimulation(Board.STANDARD, JailPolicy.parse("b"),
+                new RandomSource("L64X128MixRandom", 1));
+        simulation.setResultSink(snapshot -> { });
+        return simulation;
+    }
+}
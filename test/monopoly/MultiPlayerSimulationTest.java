@@ -0,0 +1,103 @@
+package monopoly;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * This class checks the order of play of a MultiPlayerSimulation. The games are played on a board without cards with
+ * dice that always roll 3 and 3, so every turn is known ahead of time.
+ *
+ * @author Timothy Blamires
+ * @version 10/18/26
+ */
+class MultiPlayerSimulationTest {
+
+    /**
+     * This method builds a board without cards, where the dice always roll double 3s.
+     * @param goToJail - the Go To Jail space
+     * @param doublesToJail - the number of doubles in a row that sends the player to jail, 0 to never send them
+     * @return - the board
+     */
+    private static Board doublesBoard(int goToJail, int doublesToJail) {
+        return Board.parse("doubles", List.of("size = 40", "jail = 10", "go-to-jail = " + goToJail,
+                "doubles-to-jail = " + doublesToJail, "dice = 0, 0, 1, 0, 0, 0"));
+    }
+
+    /**
+     * This method checks that a player who rolls doubles rolls again. Without a doubles rule the first player never
+     * stops rolling, so only their spaces are counted.
+     */
+    @Test
+    void doublesRollAgain() {
+        MultiPlayerSimulation simulation = new MultiPlayerSimulation(doublesBoard(31, 0), 2, JailPolicy.parse("b"),
+                new RandomSource("L64X128MixRandom", 1));
+        long[] expected = new long[40];
+        for (int square = 6; square <= 30; square += 6) {
+            expected[square] = 1;
+        }
+        assertArrayEquals(expected, play(simulation, 5).frequencies());
+    }
+
+    /**
+     * This method checks that play passes once a player is sent to jail, even though the roll was doubles. Each player
+     * rolls 6, 12 and then 18, which is Go To Jail.
+     */
+    @Test
+    void jailEndsTheTurn() {
+        MultiPlayerSimulation simulation = new MultiPlayerSimulation(doublesBoard(18, 0), 2, JailPolicy.parse("b"),
+                new RandomSource("L64X128MixRandom", 1));
+        Snapshot snapshot = play(simulation, 4);
+        assertEquals(2, snapshot.frequency(6));
+        assertEquals(1, snapshot.frequency(12));
+        assertEquals(1, snapshot.frequency(10));
+    }
+
+    /**
+     * This method checks that the third double in a row sends the player to jail and passes play on. The first two
+     * players roll 6, 12 and then a third double, and the last player has rolled once.
+     */
+    @Test
+    void thirdDoubleEndsTheTurn() {
+        MultiPlayerSimulation simulation = new MultiPlayerSimulation(doublesBoard(31, 3), 3, JailPolicy.parse("b"),
+                new RandomSource("L64X128MixRandom", 1));
+        Snapshot snapshot = play(simulation, 7);
+        assertEquals(3, snapshot.frequency(6));
+        assertEquals(2, snapshot.frequency(12));
+        assertEquals(2, snapshot.frequency(10));
+    }
+
+    /**
+     * This method checks that the jail policy is told the number of turns the player in jail has played, not the total
+     * of every player. Each player rolls 6, 12 and 18 (Go To Jail), rolls doubles to leave jail on their 4th turn, then
+     * goes around to 18 again on their 11th turn.
+     */
+    @Test
+    void policyIsToldThePlayersOwnTurns() {
+        List<Long> turns = new ArrayList<>();
+        JailPolicy recording = (attempt, holdsCard, turn) -> {
+            turns.add(turn);
+            return JailPolicy.Action.ROLL;
+        };
+        MultiPlayerSimulation simulation = new MultiPlayerSimulation(doublesBoard(18, 0), 2, recording,
+                new RandomSource("L64X128MixRandom", 1));
+        play(simulation, 24);
+        assertEquals(List.of(3L, 3L, 11L, 11L), turns);
+    }
+
+    /**
+     * This method plays a simulation for the given number of turns.
+     * @return - the results at the end
+     */
+    private static Snapshot play(MultiPlayerSimulation simulation, long turns) {
+        List<Snapshot> results = new ArrayList<>();
+        simulation.setResultSink(results::add);
+        simulation.setSchedule(CheckpointSchedule.explicit(turns));
+        simulation.run();
+        return results.get(results.size() - 1);
+    }
+}
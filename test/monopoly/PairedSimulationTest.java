@@ -0,0 +1,57 @@
+package monopoly;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * This class checks that the PairedSimulation plays both policies with the same dice and cards, and measures how much
+ * that helped.
+ *
+ * @author Timothy Blamires
+ * @version 10/18/26
+ */
+class PairedSimulationTest {
+
+    /**
+     * This method pairs a policy with itself under another name, so the two games must stay together for good and the
+     * difference must be exactly 0.
+     */
+    @Test
+    void samePolicyGivesNoDifference() {
+        PairedSimulation simulation = new PairedSimulation(JailPolicy.parse("b"), JailPolicy.parse("pay-on-turn:3"),
+                new RandomSource("L64X128MixRandom", 1));
+        List<Snapshot> results = new ArrayList<>();
+        simulation.setResultSink(results::add);
+        simulation.setSchedule(CheckpointSchedule.explicit(500_000));
+        BatchMeans difference = simulation.run();
+
+        assertEquals(2, results.size());
+        for (int i = 0; i < difference.squares(); i++) {
+            assertEquals(results.get(0).frequency(i), results.get(1).frequency(i));
+            assertEquals(0, difference.mean(i));
+        }
+        assertEquals(0, simulation.varianceRatio());
+    }
+
+    /**
+     * This method checks that strategies "a" and "b" are measured as only a little better than two separate runs, as
+     * their paths split on most trips to jail.
+     */
+    @Test
+    void measuresVarianceRatio() {
+        PairedSimulation simulation = new PairedSimulation(JailPolicy.parse("a"), JailPolicy.parse("b"),
+                new RandomSource("L64X128MixRandom", 2));
+        simulation.setResultSink(snapshot -> { });
+        simulation.setSchedule(CheckpointSchedule.explicit(2_000_000));
+        assertTrue(Double.isNaN(simulation.varianceRatio()));
+        simulation.run();
+
+        double ratio = simulation.varianceRatio();
+        assertTrue(ratio > 0.8 && ratio < 1.1, "ratio " + ratio);
+    }
+}
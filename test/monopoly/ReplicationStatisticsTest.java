@@ -0,0 +1,90 @@
+package monopoly;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * This class checks that ReplicationStatistics keeps the mean and standard deviation of its replications, and that
+ * merging summaries gives what one summary of all their replications would have given.
+ *
+ * @author Timothy Blamires
+ * @version 10/18/26
+ */
+class ReplicationStatisticsTest {
+
+    private static final int SQUARES = 40;
+
+    /**
+     * This method adds replications to parts of different sizes (including an empty one) and checks that merging the
+     * parts matches adding every replication to one summary.
+     */
+    @Test
+    void mergingMatchesAddingEverySnapshot() {
+        SplittableRandom random = new SplittableRandom(5);
+        ReplicationStatistics all = new ReplicationStatistics("x", SQUARES);
+        ReplicationStatistics[] parts = new ReplicationStatistics[4];
+        for (int part = 0; part < parts.length; part++) {
+            parts[part] = new ReplicationStatistics("x", SQUARES);
+        }
+
+        //Part 0 gets most of the replications, part 3 gets none
+        for (int i = 0; i < 1000; i++) {
+            Snapshot snapshot = snapshot(random);
+            all.add(snapshot);
+            parts[i % 5 == 0 ? 1 : i % 7 == 0 ? 2 : 0].add(snapshot);
+        }
+
+        ReplicationStatistics merged = new ReplicationStatistics("x", SQUARES);
+        for (ReplicationStatistics part : parts) {
+            merged.merge(part);
+        }
+
+        assertEquals(all.count(), merged.count());
+        for (int i = 0; i < SQUARES; i++) {
+            assertEquals(all.mean(i), merged.mean(i), 1e-12 * all.mean(i));
+            assertEquals(all.standardDeviation(i), merged.standardDeviation(i), 1e-9 * all.standardDeviation(i));
+            assertEquals(all.halfWidth(i, 0.95), merged.halfWidth(i, 0.95), 1e-9 * all.halfWidth(i, 0.95));
+        }
+    }
+
+    /**
+     * This method checks the mean and standard deviation of a few replications worked out by hand.
+     */
+    @Test
+    void meanAndStandardDeviation() {
+        ReplicationStatistics statistics = new ReplicationStatistics("x", 2);
+        assertEquals(0, statistics.standardDeviation(0));
+        assertEquals(Double.POSITIVE_INFINITY, statistics.halfWidth(0, 0.95));
+
+        statistics.add(new Snapshot("x", 10, new long[]{2, 8}));
+        statistics.add(new Snapshot("x", 10, new long[]{4, 6}));
+        statistics.add(new Snapshot("x", 10, new long[]{6, 4}));
+        assertEquals(3, statistics.count());
+        assertEquals(0.4, statistics.mean(0), 1e-15);
+        assertEquals(0.6, statistics.mean(1), 1e-15);
+        assertEquals(0.2, statistics.standardDeviation(0), 1e-15);
+        assertEquals(0.2, statistics.standardDeviation(1), 1e-15);
+    }
+
+    @Test
+    void rejectsDifferentBoards() {
+        ReplicationStatistics statistics = new ReplicationStatistics("x", SQUARES);
+        assertThrows(IllegalArgumentException.class, () -> statistics.add(new Snapshot("x", 1, new long[12])));
+        assertThrows(IllegalArgumentException.class, () -> statistics.merge(new ReplicationStatistics("x", 12)));
+    }
+
+    /**
+     * @return - the results of a replication of 40,000,000 turns with made up frequencies
+     */
+    private static Snapshot snapshot(SplittableRandom random) {
+        long[] freq = new long[SQUARES];
+        for (int i = 0; i < SQUARES; i++) {
+            freq[i] = 1_000_000 + random.nextInt(5000);
+        }
+        return new Snapshot("x", 40_000_000L, freq);
+    }
+}
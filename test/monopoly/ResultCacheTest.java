@@ -0,0 +1,97 @@
+package monopoly;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * This class checks that the ResultCache gives the same results as playing the simulation directly, both when every
+ * checkpoint is stored and when a longer run carries on from the stored state.
+ *
+ * @author Timothy Blamires
+ * @version 10/18/26
+ */
+class ResultCacheTest {
+
+    private static final long SEGMENT = MonopolySimulation.SEGMENT_TURNS;
+
+    @TempDir
+    Path directory;
+
+    /**
+     * This method runs a short simulation through the cache, then a longer one, and checks that the longer one only
+     * plays the turns after the stored state and matches a simulation played directly.
+     */
+    @Test
+    void extendedRunMatchesDirectRun() throws IOException {
+        Board board = Board.STANDARD;
+        JailPolicy policy = JailPolicy.parse("a");
+        ResultCache cache = new ResultCache(directory);
+
+        CheckpointSchedule shortSchedule = CheckpointSchedule.every(SEGMENT / 2, SEGMENT + SEGMENT / 2);
+        CheckpointSchedule longSchedule = CheckpointSchedule.every(SEGMENT / 2, 3 * SEGMENT);
+
+        List<Snapshot> first = new ArrayList<>();
+        assertEquals(shortSchedule.total(), cache.run(board, policy, rng(), shortSchedule, first::add));
+
+        //The stored state is at the start of the last segment of the short run
+        List<Snapshot> extended = new ArrayList<>();
+        assertEquals(longSchedule.total() - SEGMENT, cache.run(board, policy, rng(), longSchedule, extended::add));
+
+        //Every checkpoint is now stored, so nothing is played
+        List<Snapshot> stored = new ArrayList<>();
+        assertEquals(0, cache.run(board, policy, rng(), longSchedule, stored::add));
+
+        MonopolySimulation simulation = new MonopolySimulation(board, policy, rng());
+        List<Snapshot> direct = new ArrayList<>();
+        simulation.setResultSink(direct::add);
+        simulation.setSchedule(longSchedule);
+        simulation.run();
+
+        assertSame(direct.subList(0, first.size()), first);
+        assertSame(direct, extended);
+        assertSame(direct, stored);
+    }
+
+    /**
+     * This method checks that simulations with a different seed, policy or board are stored separately.
+     */
+    @Test
+    void keyDependsOnConfiguration() {
+        String key = ResultCache.key(Board.STANDARD, JailPolicy.parse("a"), rng());
+        assertEquals(key, ResultCache.key(Board.STANDARD, JailPolicy.parse("a"), rng()));
+        assertNotEquals(key, ResultCache.key(Board.STANDARD, JailPolicy.parse("b"), rng()));
+        assertNotEquals(key, ResultCache.key(Board.STANDARD, JailPolicy.parse("a"),
+                new RandomSource("L64X128MixRandom", 8)));
+        String definition = Board.STANDARD.definition().replace("doubles-to-jail = 3", "doubles-to-jail = 0");
+        Board house = Board.parse("house", definition.lines().toList());
+        assertNotEquals(key, ResultCache.key(house, JailPolicy.parse("a"), rng()));
+    }
+
+    /**
+     * @return - the random source of every simulation in these tests
+     */
+    private static RandomSource rng() {
+        return new RandomSource("L64X128MixRandom", 7);
+    }
+
+    /**
+     * This method checks that two lists of results have the same checkpoints and frequencies.
+     */
+    private static void assertSame(List<Snapshot> expected, List<Snapshot> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).name(), actual.get(i).name());
+            assertEquals(expected.get(i).turns(), actual.get(i).turns());
+            assertArrayEquals(expected.get(i).frequencies(), actual.get(i).frequencies());
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package monopoly;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.net.URISyntaxException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * This class checks that a simulation split into shards played by worker processes gives exactly the same results as
+ * a ParallelMonopolySimulation with the same number of workers, as both split the seed of every part the same way.
+ *
+ * @author Timothy Blamires
+ * @version 10/18/26
+ */
+class ShardCoordinatorTest {
+
+    private static final String ALGORITHM = "L64X128MixRandom";
+
+    private static final int SHARDS = 3;
+
+    /**
+     * This method plays two policies on a board with a speed die both ways and compares every checkpoint.
+     */
+    @Test
+    void shardedRunMatchesParallelRun() throws Exception {
+        Board board = Board.parse("speed", (Board.STANDARD.definition() + "speed-die = 1, 2, 3, 0, 0, 0\n")
+                .lines().toList());
+        CheckpointSchedule schedule = CheckpointSchedule.parse(null, 2_000_000);
+        String[] policies = {"a", "pay-on-turn:2"};
+
+        List<Snapshot> parallel = new ArrayList<>();
+        RandomSource rng = new RandomSource(ALGORITHM, 99);
+        ExecutorService pool = Executors.newFixedThreadPool(SHARDS);
+        try {
+            for (String policy : policies) {
+                ParallelMonopolySimulation simulation = new ParallelMonopolySimulation(board, JailPolicy.parse(policy),
+                        pool, SHARDS, rng.split());
+                simulation.setResultSink(parallel::add);
+                simulation.setSchedule(schedule);
+                simulation.run();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        List<Snapshot> sharded = new ArrayList<>();
+        rng = new RandomSource(ALGORITHM, 99);
+        try (ShardCoordinator coordinator = new ShardCoordinator(board, ALGORITHM, SHARDS, 2, workerCommand())) {
+            List<ShardCoordinator.Run> runs = new ArrayList<>();
+            for (String policy : policies) {
+                runs.add(coordinator.submit(policy, rng.split(), schedule));
+            }
+            for (ShardCoordinator.Run run : runs) {
+                coordinator.report(run, sharded::add);
+            }
+        }
+
+        assertEquals(parallel.size(), sharded.size());
+        for (int i = 0; i < parallel.size(); i++) {
+            assertEquals(parallel.get(i).name(), sharded.get(i).name());
+            assertEquals(parallel.get(i).turns(), sharded.get(i).turns());
+            assertArrayEquals(parallel.get(i).frequencies(), sharded.get(i).frequencies());
+        }
+    }
+
+    /**
+     * This method builds the command that starts a worker from the compiled classes, as the class path of the test
+     * may not be usable by another process.
+     * @return - the command
+     */
+    private static List<String> workerCommand() throws URISyntaxException {
+        Path classes = Path.of(ShardWorker.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        return List.of(Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-cp", classes.toString(), ShardWorker.class.getName());
+    }
+}
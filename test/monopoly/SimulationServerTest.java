@@ -0,0 +1,96 @@
+package monopoly;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * This class checks that a SimulationServer shares one simulation between requests that only differ in their turns,
+ * and that every answer is the same as a run of its own.
+ *
+ * @author Timothy Blamires
+ * @version 10/18/26
+ */
+class SimulationServerTest {
+
+    private static final String ALGORITHM = "L64X128MixRandom";
+
+    /**
+     * This method sends a request for 20,000,000 turns, then one for more turns that joins it while it runs, then one
+     * for fewer turns than it played, which has to start a run of its own.
+     */
+    @Test
+    void requestsForMoreTurnsJoinTheRun() throws Exception {
+        try (SimulationServer server = new SimulationServer(Board.STANDARD, ALGORITHM, InetAddress.getLoopbackAddress(),
+                0, SimulationServer.DEFAULT_MAX_TURNS)) {
+            CompletableFuture<String> first = CompletableFuture.supplyAsync(
+                    () -> server.answer(request(20_000_000)));
+            while(!get(server, "/stats").contains("\"running\":1")){
+                Thread.sleep(1);
+            }
+            String more = server.answer(request(30_000_000));
+            String fewer = server.answer(request(1_000));
+
+            assertEquals(frequencies(20_000_000), field(first.get(), "frequencies"));
+            assertEquals(frequencies(30_000_000), field(more, "frequencies"));
+            assertEquals(frequencies(1_000), field(fewer, "frequencies"));
+            String stats = get(server, "/stats");
+            assertTrue(stats.contains("\"simulations\":2,\"shared\":1"), stats);
+        }
+    }
+
+    /**
+     * @return - a request for strategy "b" with seed 42
+     */
+    private static SimulationServer.Request request(long turns) {
+        return SimulationServer.Request.parse(Json.parseObject(
+                "{\"policy\": \"b\", \"seed\": 42, \"turns\": " + turns + "}"), ALGORITHM, Long.MAX_VALUE);
+    }
+
+    /**
+     * This method plays a run of its own, just like the server does.
+     * @return - the frequencies as they are written in an answer
+     */
+    private static String frequencies(long turns) {
+        MonopolySimulation simulation = new MonopolySimulation(Board.STANDARD, JailPolicy.parse("b"),
+                new RandomSource(ALGORITHM, 42).split());
+        simulation.playUntil(turns);
+        long[] freq = new long[Board.STANDARD.size];
+        simulation.addFrequencies(freq);
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < freq.length; i++) {
+            sb.append(i == 0 ? "" : ",").append(freq[i]);
+        }
+        return sb.append(']').toString();
+    }
+
+    /**
+     * @return - the array of the given name in an answer
+     */
+    private static String field(String answer, String name) {
+        int start = answer.indexOf("\"" + name + "\":") + name.length() + 3;
+        return answer.substring(start, answer.indexOf(']', start) + 1);
+    }
+
+    /**
+     * @return - the body of a GET request to the server
+     */
+    private static String get(SimulationServer server, String path) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL("http://localhost:" + server.port() + path)
+                .openConnection();
+        try (InputStream in = connection.getInputStream()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } finally {
+            connection.disconnect();
+        }
+    }
+}
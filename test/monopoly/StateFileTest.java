@@ -0,0 +1,122 @@
+package monopoly;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * This class checks that a simulation resumed from a StateFile gives exactly the same results as a simulation that was
+ * never stopped.
+ *
+ * @author Timothy Blamires
+ * @version 10/18/26
+ */
+class StateFileTest {
+
+    private static final long SEGMENT = MonopolySimulation.SEGMENT_TURNS;
+
+    //Reports at the end of every segment, for 3 segments
+    private static final CheckpointSchedule SCHEDULE = CheckpointSchedule.every(SEGMENT, 3 * SEGMENT);
+
+    @TempDir
+    Path directory;
+
+    /**
+     * This method stops a simulation part way through its third segment, resumes it from the file, and checks that
+     * every checkpoint after the saved state matches the run that was never stopped.
+     */
+    @Test
+    void resumedRunMatchesUninterruptedRun() throws IOException {
+        Board board = Board.STANDARD;
+        JailPolicy policy = JailPolicy.parse("b");
+        Path path = directory.resolve("state.bin");
+
+        //Playing into the third segment with a save at the start of every segment, then stopping
+        MonopolySimulation stopped = new MonopolySimulation(board, policy, new RandomSource("L64X128MixRandom", 42));
+        try (StateFile stateFile = new StateFile(path, 0)) {
+            stateFile.startRun(3, ResultCache.key(board, policy, new RandomSource("L64X128MixRandom", 42)), List.of());
+            stopped.setStateFile(stateFile);
+            stopped.playUntil(2 * SEGMENT + 12_345);
+        }
+
+        StateFile.Saved saved = StateFile.read(path);
+        assertEquals(3, saved.run());
+        assertEquals(2 * SEGMENT, saved.turns());
+        assertEquals(ResultCache.key(board, policy, new RandomSource("L64X128MixRandom", 42)), saved.key());
+
+        MonopolySimulation resumed = new MonopolySimulation(board, policy, new RandomSource("L64X128MixRandom", 42));
+        resumed.restoreState(saved.state());
+        List<Snapshot> resumedResults = run(resumed);
+
+        List<Snapshot> uninterrupted = run(new MonopolySimulation(board, policy,
+                new RandomSource("L64X128MixRandom", 42)));
+
+        //Only the checkpoint after the saved state is reported again
+        assertEquals(1, resumedResults.size());
+        assertEquals(3, uninterrupted.size());
+        assertEquals(uninterrupted.get(2).turns(), resumedResults.get(0).turns());
+        assertArrayEquals(uninterrupted.get(2).frequencies(), resumedResults.get(0).frequencies());
+    }
+
+    /**
+     * This method checks that the summaries of the replications that finished before the run are saved with its state,
+     * so a resumed run can summarize every replication.
+     */
+    @Test
+    void savesSummariesOfFinishedReplications() throws IOException {
+        Board board = Board.STANDARD;
+        JailPolicy policy = JailPolicy.parse("b");
+        ReplicationStatistics summary = new ReplicationStatistics("Strategy b", board.size);
+        for (int seed = 0; seed < 3; seed++) {
+            List<Snapshot> results = run(new MonopolySimulation(board, policy,
+                    new RandomSource("L64X128MixRandom", seed)));
+            summary.add(results.get(results.size() - 1));
+        }
+
+        Path path = directory.resolve("summaries.bin");
+        try (StateFile stateFile = new StateFile(path, 0)) {
+            MonopolySimulation simulation = new MonopolySimulation(board, policy,
+                    new RandomSource("L64X128MixRandom", 3));
+            stateFile.startRun(3, ResultCache.key(board, policy, new RandomSource("L64X128MixRandom", 3)),
+                    List.of(summary));
+            simulation.setStateFile(stateFile);
+            simulation.playUntil(SEGMENT + 1);
+        }
+
+        List<ReplicationStatistics> saved = StateFile.read(path).summaries();
+        assertEquals(1, saved.size());
+        assertEquals("Strategy b", saved.get(0).name());
+        assertEquals(summary.format(0.95), saved.get(0).format(0.95));
+    }
+
+    /**
+     * This method checks that a file that was not written by a StateFile is not resumed.
+     */
+    @Test
+    void rejectsOtherFiles() throws IOException {
+        Path path = directory.resolve("other.bin");
+        Files.write(path, new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12});
+        assertThrows(IllegalArgumentException.class, () -> StateFile.read(path));
+    }
+
+    /**
+     * This method plays a simulation to the end of the schedule.
+     * @return - the results sent at every checkpoint
+     */
+    private static List<Snapshot> run(MonopolySimulation simulation) {
+        List<Snapshot> results = new ArrayList<>();
+        simulation.setResultSink(results::add);
+        simulation.setSchedule(SCHEDULE);
+        simulation.run();
+        return results;
+    }
+}
@@ -0,0 +1,79 @@
+package monopoly;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * This class checks that TurnStatistics and the EventLog agree with the frequencies of the simulation, and that turns
+ * where the player did not move are not counted as landings.
+ *
+ * @author Timothy Blamires
+ * @version 10/18/26
+ */
+class TurnStatisticsTest {
+
+    private static final long TURNS = 1_000_000;
+
+    @TempDir
+    Path directory;
+
+    /**
+     * This method plays a simulation with both the statistics and the event log, and checks the landings of each.
+     */
+    @Test
+    void turnsWithoutMovingAreNotLandings() throws IOException {
+        Board board = Board.STANDARD;
+        TurnStatistics statistics = new TurnStatistics(board);
+        Path path = directory.resolve("turns.bin");
+        MonopolySimulation simulation = new MonopolySimulation(board, JailPolicy.parse("b"),
+                new RandomSource("L64X128MixRandom", 6));
+        try (EventLog eventLog = new EventLog(path)) {
+            eventLog.startRun(0);
+            simulation.setStatistics(statistics);
+            simulation.setEventLog(eventLog);
+            simulation.playUntil(TURNS);
+        }
+
+        //The transitions end where the frequencies do, and every turn has a cause
+        long[] freq = new long[board.size];
+        simulation.addFrequencies(freq);
+        assertEquals(TURNS, statistics.turns());
+        long landings = 0;
+        for (int square = 0; square < board.size; square++) {
+            assertEquals(freq[square], statistics.ends(square));
+            landings += statistics.landings(square);
+        }
+
+        //Only the turns where the player moved are landings
+        long stayed = statistics.causes(EventLog.STAYED_IN_JAIL);
+        long thirdDoubles = statistics.causes(EventLog.TRIPLE_DOUBLES);
+        assertTrue(stayed > 0 && thirdDoubles > 0);
+        assertEquals(TURNS - stayed - thirdDoubles, landings);
+
+        //The log gives the start space as the landing of a turn without moving, and the same landings otherwise
+        long[] logged = new long[board.size];
+        long[] count = new long[1];
+        EventLog.read(path, event -> {
+            count[0]++;
+            if(event.cause() == EventLog.TRIPLE_DOUBLES || event.cause() == EventLog.STAYED_IN_JAIL){
+                assertEquals(event.start(), event.landing());
+                assertEquals(board.jail(), event.end());
+            }
+            else
+                logged[event.landing()]++;
+        });
+        assertEquals(TURNS, count[0]);
+        long[] counted = new long[board.size];
+        for (int square = 0; square < board.size; square++) {
+            counted[square] = statistics.landings(square);
+        }
+        assertArrayEquals(counted, logged);
+    }
+}